@@ -0,0 +1,101 @@
+package System;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackorderBookTest {
+
+    private Inventory inv;
+    private StockManager sm;
+    private OrderService service;
+    private BackorderBook book;
+    private Product hammer;
+
+    @BeforeEach
+    void setup() {
+        inv = new Inventory();
+        hammer = new Product("P-001", "Hammer", "Tools", 25.0, 3, 0, 100);
+        inv.addProduct(hammer);
+        sm = new StockManager(inv);
+        book = new BackorderBook();
+        sm.setBackorderBook(book);
+        service = new OrderService(sm);
+    }
+
+    private Order order(String id, int qty) {
+        Order o = new Order(id);
+        o.addItem(hammer, qty);
+        return o;
+    }
+
+    @Test
+    void shortLine_isPartlyServed_andRestParked() {
+        List<Backorder> parked = service.placeOrderWithBackorders(order("O-1", 5));
+
+        assertEquals(1, parked.size());
+        assertEquals(2, parked.get(0).getRemainingQuantity());
+        assertEquals(0, sm.getStock("P-001"));
+        assertEquals(2, book.getWaitingQuantity("p-001"));
+    }
+
+    @Test
+    void restock_fillsWaitingLinesInArrivalOrder() {
+        service.placeOrderWithBackorders(order("O-1", 5)); // 2 waiting
+        service.placeOrderWithBackorders(order("O-2", 4)); // 4 waiting
+
+        List<String> filled = new ArrayList<>();
+        book.addListener((b, qty) -> filled.add(b.getOrderId() + ":" + qty));
+
+        sm.increaseStock("P-001", 3);
+        assertEquals(List.of("O-1:2", "O-2:1"), filled);
+        assertEquals(0, sm.getStock("P-001"));
+        assertEquals(3, book.getWaitingQuantity("P-001"));
+
+        sm.increaseStock("P-001", 10);
+        assertFalse(book.hasWaiting("P-001"));
+        assertEquals(7, sm.getStock("P-001"));
+    }
+
+    @Test
+    void newDemand_queuesBehindWaitingLines() {
+        service.placeOrderWithBackorders(order("O-1", 5)); // 2 waiting
+        sm.setStock("P-001", 1);                           // bypasses backorders
+
+        List<Backorder> parked = service.placeOrderWithBackorders(order("O-2", 1));
+        assertEquals(1, parked.size());
+        assertEquals(1, sm.getStock("P-001"));
+    }
+
+    @Test
+    void failedFill_leavesTheLineQueuedUnchanged() {
+        book.park("O-1", "P-001", 4);
+        book.park("O-2", "P-001", 2);
+
+        assertThrows(IllegalStateException.class, () -> book.fulfil("P-001", 5, (b, qty) -> {
+            if (b.getOrderId().equals("O-2")) throw new IllegalStateException("no stock");
+        }));
+
+        List<Backorder> waiting = book.getWaiting("P-001");
+        assertEquals(1, waiting.size());
+        assertEquals("O-2", waiting.get(0).getOrderId());
+        assertEquals(2, waiting.get(0).getRemainingQuantity());
+    }
+
+    @Test
+    void backorderPlacement_isTimedAsOrderPlace() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        service.setMetrics(metrics);
+
+        service.placeOrderWithBackorders(order("O-1", 5));
+        assertThrows(IllegalStateException.class, () -> service.placeOrderWithBackorders(new Order("O-2")));
+
+        OperationMetrics place = metrics.operation("order.place");
+        assertEquals(2L, place.getCount());
+        assertEquals(1L, place.getFailureCount());
+    }
+}
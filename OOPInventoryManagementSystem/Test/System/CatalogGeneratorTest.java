@@ -0,0 +1,64 @@
+package System;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogGeneratorTest {
+
+    private static CatalogGenerator generator(long seed) {
+        CatalogGenerator g = new CatalogGenerator(seed, 5_000);
+        g.setSupplierCount(10);
+        g.setSkusPerSupplier(300);
+        g.setToday(LocalDate.of(2026, 1, 1));
+        return g;
+    }
+
+    @Test
+    void sameSeed_sameCatalogAndOrders() {
+        List<String> a = new ArrayList<>();
+        List<String> b = new ArrayList<>();
+        generator(7).forEachProduct(p -> a.add(p.toString()));
+        generator(7).forEachProduct(p -> b.add(p.toString()));
+        assertEquals(a, b);
+
+        Iterator<CatalogGenerator.GeneratedOrder> x = generator(7).orders(100);
+        Iterator<CatalogGenerator.GeneratedOrder> y = generator(7).orders(100);
+        while (x.hasNext()) {
+            CatalogGenerator.GeneratedOrder o1 = x.next();
+            CatalogGenerator.GeneratedOrder o2 = y.next();
+            assertEquals(o1.getSku(0), o2.getSku(0));
+        }
+        assertFalse(y.hasNext());
+    }
+
+    @Test
+    void populate_mixesPerishables_andLinksSuppliers() {
+        Inventory inv = new Inventory();
+        assertEquals(5_000, generator(1).populate(inv));
+
+        int perishables = inv.getExpiryIndex().size();
+        assertTrue(perishables > 1_000 && perishables < 2_000, "about 30% perishable: " + perishables);
+        assertEquals(10, inv.getAllSuppliers().size());
+        assertEquals(300, inv.getAllSuppliers().get(0).getSuppliedProductSkus().size());
+    }
+
+    @Test
+    void orders_areZipfSkewed() {
+        Map<String, Integer> counts = new HashMap<>();
+        Iterator<CatalogGenerator.GeneratedOrder> it = generator(3).orders(20_000);
+        while (it.hasNext()) {
+            CatalogGenerator.GeneratedOrder o = it.next();
+            counts.merge(o.getSku(0), 1, Integer::sum);
+        }
+        int top = counts.values().stream().max(Integer::compare).orElse(0);
+        assertTrue(top > 20_000 / 20, "most popular SKU should take several percent: " + top);
+    }
+}
@@ -0,0 +1,107 @@
+package System;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DemandVelocityTrackerTest {
+
+    /** Clock whose time the test moves by hand. */
+    private static final class ManualClock extends Clock {
+        long millis;
+
+        ManualClock(long millis) { this.millis = millis; }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return Instant.ofEpochMilli(millis); }
+        @Override public long millis() { return millis; }
+    }
+
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 24 * HOUR;
+
+    private ManualClock clock;
+    private DemandVelocityTracker tracker;
+    private StockManager stock;
+
+    @BeforeEach
+    void setup() {
+        Inventory inventory = new Inventory();
+        inventory.addProduct(new Product("P-001", "Hammer", "Tools", 25.0, 100, 3, 1_000));
+        inventory.addProduct(new Product("P-002", "Drill", "Tools", 80.0, 60, 3, 1_000));
+        clock = new ManualClock(1_000_000);
+        tracker = new DemandVelocityTracker(clock);
+        stock = new StockManager(inventory);
+        stock.addStockListener(tracker);
+    }
+
+    @Test
+    void rates_decayWithTheirTimeConstants() {
+        stock.decreaseStock("P-001", 10, "O-1");
+
+        DemandVelocityTracker.Snapshot s = tracker.getStats("P-001");
+        assertEquals(10.0, s.getUnitsPerHour(), 1e-9);
+        assertEquals(10.0, s.getUnitsPerDay(), 1e-9);
+
+        clock.millis += HOUR;
+        s = tracker.getStats("P-001");
+        assertEquals(10.0 / Math.E, s.getUnitsPerHour(), 1e-9);
+        assertEquals(10.0 * Math.exp(-1.0 / 24), s.getUnitsPerDay(), 1e-9);
+
+        clock.millis += DAY - HOUR;
+        assertEquals(10.0 / Math.E, tracker.getStats("P-001").getUnitsPerDay(), 1e-9);
+    }
+
+    @Test
+    void variance_sumsSquaredOrderSizes() {
+        stock.decreaseStock("P-001", 3, "O-1");
+        stock.decreaseStock("P-001", 4, "O-2");
+
+        DemandVelocityTracker.Snapshot s = tracker.getStats("P-001");
+        assertEquals(7.0, s.getUnitsPerDay(), 1e-9);
+        assertEquals(25.0, s.getDailyVariance(), 1e-9);
+        assertEquals(5.0, s.getDailyStdDev(), 1e-9);
+    }
+
+    @Test
+    void adjustments_areNotDemand() {
+        stock.decreaseStock("P-001", 5);       // manual, no order id
+        assertNull(tracker.getStats("P-001"));
+        assertEquals(0, tracker.trackedSkuCount());
+    }
+
+    @Test
+    void coverIndex_findsLowCover_andFollowsDecayAndRestocks() {
+        stock.decreaseStock("P-001", 10, "O-1"); // 90 left at 10/day: 9 days
+        stock.decreaseStock("P-002", 50, "O-2"); // 10 left at 50/day: 0.2 days
+
+        List<DemandVelocityTracker.Snapshot> low = tracker.getSkusWithCoverBelow(1);
+        assertEquals(1, low.size());
+        assertEquals("P-002", low.get(0).getSku());
+        assertEquals(0.2, low.get(0).getDaysOfCover(), 1e-9);
+
+        List<DemandVelocityTracker.Snapshot> belowTen = tracker.getSkusWithCoverBelow(10);
+        assertEquals(2, belowTen.size());
+        assertEquals("P-002", belowTen.get(0).getSku());
+        assertEquals("P-001", belowTen.get(1).getSku());
+
+        // three quiet days: rates decay, so cover grows
+        clock.millis += 3 * DAY;
+        belowTen = tracker.getSkusWithCoverBelow(10);
+        assertEquals(1, belowTen.size());
+        assertEquals(10 / (50 * Math.exp(-3)), belowTen.get(0).getDaysOfCover(), 1e-9);
+        assertTrue(tracker.getSkusWithCoverBelow(1).isEmpty());
+
+        stock.increaseStock("P-002", 500);       // a restock moves it out of the window
+        assertTrue(tracker.getSkusWithCoverBelow(10).isEmpty());
+        assertEquals(510, tracker.getStats("P-002").getQuantity());
+    }
+}
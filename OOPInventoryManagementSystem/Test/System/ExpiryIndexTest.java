@@ -0,0 +1,115 @@
+package System;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiryIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    private Inventory inv;
+    private PerishableProduct milk;
+    private PerishableProduct yogurt;
+    private PerishableProduct cheese;
+
+    @BeforeEach
+    void setup() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        inv = new Inventory(clock);
+        milk = new PerishableProduct("F-001", "Milk", "Dairy", 2.0, 10, 0, 100, TODAY.minusDays(1));
+        yogurt = new PerishableProduct("F-002", "Yogurt", "Dairy", 1.0, 10, 0, 100, TODAY);
+        cheese = new PerishableProduct("F-003", "Cheese", "Dairy", 10.0, 10, 0, 100, TODAY.plusDays(3));
+        inv.addProduct(milk);
+        inv.addProduct(yogurt);
+        inv.addProduct(cheese);
+        inv.addProduct(new Product("P-001", "Hammer", "Tools", 25.0, 10, 3, 100));
+    }
+
+    @Test
+    void rangeQueries_matchPerishableChecks() {
+        ExpiryIndex idx = inv.getExpiryIndex();
+
+        assertEquals(1, idx.expired().size());
+        assertSame(milk, idx.expired().get(0));
+        assertSame(yogurt, idx.expiringToday().get(0));
+        assertEquals(1, idx.expiringWithin(2).size());
+        assertEquals(2, idx.expiringWithin(3).size());
+    }
+
+    @Test
+    void removeAndChangeExpiry_keepBucketsCurrent() {
+        ExpiryIndex idx = inv.getExpiryIndex();
+
+        idx.changeExpiry(cheese, TODAY.minusDays(5));
+        assertEquals(2, idx.expired().size());
+
+        inv.removeBySku("F-001");
+        assertEquals(1, idx.expired().size());
+        assertEquals(2, idx.size());
+    }
+
+    @Test
+    void sweep_discountsOncePerExpiryDate() {
+        ExpirySweeper sweeper = new ExpirySweeper(inv.getExpiryIndex(), 3, 50);
+
+        assertEquals(2, sweeper.sweep());
+        assertEquals(5.0, cheese.getUnitPrice());
+        assertEquals(2.0, milk.getUnitPrice()); // expired, not discounted
+
+        assertEquals(0, sweeper.sweep());
+        assertEquals(5.0, cheese.getUnitPrice());
+    }
+
+    @Test
+    void sweep_holdsStockManagerLockWhilePricesChange() throws InterruptedException {
+        StockManager stockManager = new StockManager(inv);
+        ExpirySweeper sweeper = new ExpirySweeper(inv.getExpiryIndex(), 3, 10);
+        sweeper.setStockManager(stockManager);
+
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                synchronized (stockManager) {
+                    cheese.setUnitPrice(10.0 + i % 7);
+                    // a new expiry date makes cheese eligible for another discount
+                    inv.getExpiryIndex().changeExpiry(cheese, TODAY.plusDays(1 + i % 3));
+                }
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            sweeper.sweep();
+        }
+        writer.join();
+
+        double expected = 0;
+        for (Product p : inv.getAllProducts()) {
+            expected += p.getUnitPrice() * p.getQuantity();
+        }
+        assertEquals(expected, inv.getTotalInventoryValue(), 1e-6);
+        assertEquals(4, inv.getProductsInPriceRange(0, 1_000).size());
+        assertEquals(1, inv.getProductsInPriceRange(cheese.getUnitPrice(), cheese.getUnitPrice()).size());
+    }
+
+    @Test
+    void scheduledSweep_countsFailuresInsteadOfThrowing() {
+        Clock broken = new Clock() {
+            @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+            @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+            @Override public Instant instant() { throw new IllegalStateException("clock unavailable"); }
+        };
+        ExpirySweeper sweeper = new ExpirySweeper(inv.getExpiryIndex(), broken, 3, 50);
+
+        sweeper.runScheduledSweep();
+        sweeper.runScheduledSweep();
+
+        assertEquals(2L, sweeper.getFailedSweepCount());
+        assertEquals("clock unavailable", sweeper.getLastFailure().getMessage());
+    }
+}
@@ -0,0 +1,71 @@
+package System;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+    @Test
+    void stockOrderAndCsvEvents_areRecorded() throws Exception {
+        Path dir = Files.createTempDirectory("jfr-test");
+        Path csv = dir.resolve("products.csv");
+        Path jfr = dir.resolve("events.jfr");
+
+        Inventory inv = new Inventory();
+        inv.addProduct(new Product("P-001", "Hammer", "Tools", 25.0, 5, 0, 100));
+        StockManager stock = new StockManager(inv);
+        OrderService orders = new OrderService(stock);
+
+        try (Recording recording = new Recording()) {
+            recording.enable("oopinventory.StockChange").withThreshold(Duration.ZERO);
+            recording.enable("oopinventory.OrderPlacement");
+            recording.enable("oopinventory.CsvIo");
+            recording.start();
+
+            stock.increaseStock("P-001", 3);
+            Order ok = new Order("O-1");
+            ok.addItem(inv.findBySku("P-001"), 2);
+            orders.placeOrder(ok);
+            Order tooBig = new Order("O-2");
+            tooBig.addItem(inv.findBySku("P-001"), 50);
+            assertThrows(IllegalStateException.class, () -> orders.placeOrder(tooBig));
+            CsvStore.saveProducts(csv.toString(), inv);
+
+            recording.stop();
+            recording.dump(jfr);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+        RecordedEvent increase = find(events, "oopinventory.StockChange", "operation", "increase");
+        assertEquals(5, increase.getInt("before"));
+        assertEquals(8, increase.getInt("after"));
+
+        assertNotNull(find(events, "oopinventory.OrderPlacement", "outcome", "PLACED"));
+        assertEquals("O-2", find(events, "oopinventory.OrderPlacement", "outcome", "INSUFFICIENT_STOCK").getString("orderId"));
+
+        RecordedEvent save = find(events, "oopinventory.CsvIo", "operation", "save");
+        assertEquals(1, save.getLong("rows"));
+        assertEquals(Files.size(csv), save.getLong("bytes"));
+
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(jfr);
+        Files.deleteIfExists(dir);
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String type, String field, String value) {
+        for (RecordedEvent e : events) {
+            if (e.getEventType().getName().equals(type) && value.equals(e.getString(field))) return e;
+        }
+        fail("No " + type + " with " + field + "=" + value);
+        return null;
+    }
+}
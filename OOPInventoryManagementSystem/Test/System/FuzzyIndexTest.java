@@ -0,0 +1,67 @@
+package System;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuzzyIndexTest {
+
+    private static String randomWord(Random rnd) {
+        // small alphabet so that many words are within a few edits of each other
+        int len = 2 + rnd.nextInt(6);
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; i++) sb.append((char) ('a' + rnd.nextInt(5)));
+        return sb.toString();
+    }
+
+    @Test
+    void distance_isLevenshtein() {
+        assertEquals(0, FuzzyIndex.distance("drill", "drill"));
+        assertEquals(1, FuzzyIndex.distance("drill", "dril"));
+        assertEquals(1, FuzzyIndex.distance("drill", "grill"));
+        assertEquals(2, FuzzyIndex.distance("hammer", "hmamer"));
+        assertEquals(3, FuzzyIndex.distance("", "saw"));
+        assertEquals(3, FuzzyIndex.distance("kitten", "sitting"));
+    }
+
+    @Test
+    void search_matchesBruteForceLevenshtein() {
+        Random rnd = new Random(7);
+        FuzzyIndex index = new FuzzyIndex();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            StringBuilder name = new StringBuilder(randomWord(rnd));
+            for (int w = rnd.nextInt(3); w > 0; w--) name.append(' ').append(randomWord(rnd));
+            Product p = new Product(String.format("P-%04d", i), name.toString(), "Misc", 1.0, 1, 0, 10);
+            products.add(p);
+            index.onProductAdded(p);
+        }
+
+        for (int q = 0; q < 200; q++) {
+            String query = randomWord(rnd);
+            int k = q % 3;
+
+            // oracle: smallest distance to any name word, or to the SKU
+            Map<Product, Integer> expected = new HashMap<>();
+            for (Product p : products) {
+                int best = FuzzyIndex.distance(query, p.getSku().toLowerCase());
+                for (String word : FuzzyIndex.words(p.getName())) {
+                    best = Math.min(best, FuzzyIndex.distance(query, word));
+                }
+                if (best <= k) expected.put(p, best);
+            }
+
+            Map<Product, Integer> actual = new HashMap<>();
+            for (FuzzyIndex.Match m : index.search(query, k, Integer.MAX_VALUE)) {
+                actual.put(m.getProduct(), m.getDistance());
+            }
+            assertEquals(expected, actual, "query '" + query + "' within " + k);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package System;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHitterTrackerTest {
+
+    /** Clock whose time the test moves by hand. */
+    private static final class ManualClock extends Clock {
+        long millis;
+
+        ManualClock(long millis) { this.millis = millis; }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return Instant.ofEpochMilli(millis); }
+        @Override public long millis() { return millis; }
+    }
+
+    private ManualClock clock;
+    private HeavyHitterTracker tracker;
+
+    @BeforeEach
+    void setup() {
+        clock = new ManualClock(0);
+        // 60 s window in 6 slices of 10 s, no refresh delay
+        tracker = new HeavyHitterTracker(4, Duration.ofSeconds(60), 6, Duration.ZERO, clock);
+    }
+
+    private static String skus(List<SpaceSavingSummary.Entry> entries) {
+        StringBuilder sb = new StringBuilder();
+        for (SpaceSavingSummary.Entry e : entries) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(e.getSku());
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void topCurrentWindow_ordersByUnitsSold() {
+        tracker.record("A", 3);
+        tracker.record("B", 10);
+        tracker.record("C", 1);
+        tracker.record("A", 2);
+
+        assertEquals("B,A", skus(tracker.topCurrentWindow(2)));
+        assertEquals(5, tracker.topCurrentWindow(2).get(1).getCount());
+    }
+
+    @Test
+    void tumblingWindow_rollsIntoPrevious() {
+        tracker.record("A", 5);
+        clock.millis = 60_000;
+        tracker.record("B", 1);
+
+        assertEquals("B", skus(tracker.topCurrentWindow(4)));
+        assertEquals("A", skus(tracker.topPreviousWindow(4)));
+
+        clock.millis = 200_000; // idle for more than a window
+        assertTrue(tracker.topCurrentWindow(4).isEmpty());
+        assertTrue(tracker.topPreviousWindow(4).isEmpty());
+    }
+
+    @Test
+    void slidingWindow_dropsExpiredSlices() {
+        tracker.record("A", 10);     // slice 0
+        clock.millis = 30_000;
+        tracker.record("B", 4);      // slice 3
+        tracker.record("A", 1);
+        assertEquals("A,B", skus(tracker.topSliding(4)));
+        assertEquals(11, tracker.topSliding(4).get(0).getCount());
+
+        clock.millis = 65_000;       // slice 0 has left the window
+        assertEquals("B,A", skus(tracker.topSliding(4)));
+        assertEquals(1, tracker.topSliding(4).get(1).getCount());
+    }
+
+    @Test
+    void onOrderPlaced_countsEveryLine() {
+        Product hammer = new Product("P-001", "Hammer", "Tools", 25.0, 10, 3, 100);
+        Product drill = new Product("P-002", "Drill", "Tools", 80.0, 10, 3, 100);
+        Order order = new Order("O-1");
+        order.addItem(hammer, 2);
+        order.addItem(drill, 7);
+
+        tracker.onOrderPlaced(order);
+        assertEquals("P-002,P-001", skus(tracker.topSliding(2)));
+    }
+}
@@ -0,0 +1,85 @@
+package System;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryEventBusTest {
+
+    private InventoryEventBus bus;
+    private Inventory inv;
+
+    @BeforeEach
+    void setup() {
+        bus = new InventoryEventBus();
+        inv = new Inventory();
+        inv.setEventBus(bus);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    void mutations_arePublishedInOrder() throws Exception {
+        List<InventoryEvent> seen = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe("audit", seen::addAll);
+
+        Product p = new Product("P-001", "Hammer", "Tools", 25.0, 10, 3, 100);
+        inv.addProduct(p);
+        inv.addSupplier(new Supplier("SUP-1", "Acme"));
+        inv.assignSupplierToProduct("SUP-1", "P-001");
+        new StockManager(inv).decreaseStock("P-001", 4);
+        inv.updateProductPrice("P-001", 30.0);
+        inv.removeBySku("P-001");
+
+        assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+        List<InventoryEvent.Type> types = new ArrayList<>();
+        for (InventoryEvent e : seen) types.add(e.getType());
+        assertEquals(List.of(
+                InventoryEvent.Type.PRODUCT_ADDED,
+                InventoryEvent.Type.SUPPLIER_LINKED,
+                InventoryEvent.Type.QUANTITY_CHANGED,
+                InventoryEvent.Type.PRICE_CHANGED,
+                InventoryEvent.Type.PRODUCT_REMOVED,
+                InventoryEvent.Type.SUPPLIER_UNLINKED), types);
+
+        InventoryEvent qty = seen.get(2);
+        assertEquals(10, qty.getQuantityBefore());
+        assertEquals(6, qty.getQuantityAfter());
+        assertEquals(30.0, seen.get(3).getPriceAfter(), 0.0001);
+        assertEquals(seen.get(0).getSequence() + 5, seen.get(5).getSequence());
+    }
+
+    @Test
+    void slowSubscriber_dropsInsteadOfBlockingWriter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        InventoryEventBus.Subscription slow = bus.subscribe("slow", events -> {
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }, 4, 2);
+
+        Product p = new Product("P-001", "Hammer", "Tools", 25.0, 0, 0, 10_000);
+        inv.addProduct(p);
+        for (int i = 0; i < 100; i++) {
+            p.increaseQuantity(1);      // writer never waits
+        }
+        assertTrue(slow.getDroppedCount() > 0);
+
+        release.countDown();
+        assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(101, slow.getDeliveredCount() + slow.getDroppedCount());
+    }
+}
@@ -0,0 +1,64 @@
+package System;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryHealthReportTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 6, 10);
+
+    @Test
+    void valueByCategory_groupsCategoriesIgnoringCase() {
+        Inventory inv = new Inventory();
+        inv.addProduct(new Product("P-001", "Apple", "Food", 1.0, 10, 1, 100));
+        inv.addProduct(new Product("P-002", "Pear", "food ", 2.0, 5, 1, 100));
+        inv.addProduct(new Product("P-003", "Hammer", "Tools", 25.0, 2, 1, 100));
+
+        Map<String, Double> byCategory = InventoryHealthReport.build(inv, TODAY).getValueByCategory();
+        assertEquals(2, byCategory.size());
+        assertEquals(20.0, byCategory.get("food"), 0.0001);
+        assertEquals(50.0, byCategory.get("tools"), 0.0001);
+    }
+
+    @Test
+    void lists_keepCatalogOrderAcrossChunks() {
+        Inventory inv = new Inventory();
+        for (int i = 0; i < 10_000; i++) {
+            // every third product is low on stock, every seventh is out of stock
+            int qty = (i % 7 == 0) ? 0 : (i % 3 == 0) ? 2 : 50;
+            inv.addProduct(new Product(String.format("P-%05d", i), "Item " + i, "Cat" + (i % 5), 1.0, qty, 5, 100));
+        }
+
+        List<Product> expectedLow = new ArrayList<>();
+        List<Product> expectedOut = new ArrayList<>();
+        for (Product p : inv.getAllProducts()) {
+            if (p.isLowStock()) expectedLow.add(p);
+            if (p.getQuantity() == 0) expectedOut.add(p);
+        }
+
+        InventoryHealthReport report = InventoryHealthReport.build(inv, TODAY);
+        assertEquals(10_000, report.getProductCount());
+        assertEquals(expectedLow, report.getLowStock());
+        assertEquals(expectedOut, report.getOutOfStock());
+    }
+
+    @Test
+    void perishables_areBucketedByDaysToExpiry() {
+        Inventory inv = new Inventory();
+        inv.addProduct(new PerishableProduct("F-001", "Milk", "Food", 1.5, 10, 1, 100, TODAY.minusDays(1)));
+        inv.addProduct(new PerishableProduct("F-002", "Bread", "Food", 2.0, 10, 1, 100, TODAY));
+        inv.addProduct(new PerishableProduct("F-003", "Cheese", "Food", 6.0, 10, 1, 100, TODAY.plusDays(20)));
+
+        InventoryHealthReport report = InventoryHealthReport.build(inv, TODAY);
+        assertEquals(1, report.getExpiryBucket(InventoryHealthReport.ExpiryBucket.EXPIRED).size());
+        assertEquals(1, report.getExpiryBucket(InventoryHealthReport.ExpiryBucket.TODAY).size());
+        assertEquals(1, report.getExpiryBucket(InventoryHealthReport.ExpiryBucket.WITHIN_30_DAYS).size());
+        assertTrue(report.getExpiryBucket(InventoryHealthReport.ExpiryBucket.LATER).isEmpty());
+    }
+}
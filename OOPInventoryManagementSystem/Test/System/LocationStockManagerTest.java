@@ -0,0 +1,116 @@
+package System;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationStockManagerTest {
+
+    private Inventory inventory;
+    private StockManager stockManager;
+    private LocationStockManager locations;
+
+    @BeforeEach
+    void setup() {
+        inventory = new Inventory();
+        inventory.addProduct(new Product("P-001", "Hammer", "Tools", 25.0, 10, 3, 1_000));
+        stockManager = new StockManager(inventory);
+        locations = new LocationStockManager(inventory, stockManager);
+        locations.addLocation("WH-1");
+        locations.addLocation("STORE-1");
+        locations.addLocation("STORE-2");
+    }
+
+    @Test
+    void totals_followLocationMovesAndTransfers() {
+        assertEquals(10, locations.getStock("P-001", "WH-1")); // existing stock starts in the default location
+
+        locations.increaseStock("P-001", "STORE-1", 5);
+        locations.transfer("P-001", "WH-1", "STORE-2", 4);
+        locations.decreaseStock("P-001", "STORE-2", 1);
+
+        assertEquals(6, locations.getStock("P-001", "WH-1"));
+        assertEquals(5, locations.getStock("P-001", "STORE-1"));
+        assertEquals(3, locations.getStock("P-001", "STORE-2"));
+        assertEquals(14, locations.getStock("P-001"));
+        assertEquals(14, inventory.findBySku("P-001").getQuantity());
+        assertEquals(5, locations.getLocationTotal("STORE-1"));
+        assertThrows(IllegalStateException.class, () -> locations.decreaseStock("P-001", "STORE-2", 4));
+        assertThrows(IllegalStateException.class, () -> locations.transfer("P-001", "STORE-1", "WH-1", 6));
+    }
+
+    @Test
+    void orderLines_areAllocatedByPolicy() {
+        locations.increaseStock("P-001", "STORE-1", 30);
+
+        // most stock: STORE-1 (30) covers the whole line
+        List<StockAllocation> a = locations.allocate("P-001", 12, "ORD-1");
+        assertEquals(1, a.size());
+        assertEquals("STORE-1", a.get(0).getLocation());
+
+        // stores before the warehouse; the line spills over to the next location
+        locations.setAllocationPolicy(new PriorityAllocationPolicy(List.of("STORE-2", "STORE-1", "WH-1")));
+        List<StockAllocation> b = locations.allocate("P-001", 20, "ORD-2");
+        assertEquals(2, b.size());
+        assertEquals("STORE-1", b.get(0).getLocation());
+        assertEquals(18, b.get(0).getQuantity());
+        assertEquals("WH-1", b.get(1).getLocation());
+        assertEquals(2, b.get(1).getQuantity());
+        assertEquals(8, locations.getStock("P-001"));
+
+        assertThrows(IllegalStateException.class, () -> locations.allocate("P-001", 9, "ORD-3"));
+        assertEquals(8, locations.getStock("P-001", "WH-1"));
+    }
+
+    @Test
+    void allocate_policyFallsShort_takesNothing() {
+        locations.increaseStock("P-001", "STORE-1", 5);
+        // a policy that keeps naming STORE-1 (id 1), even once it is empty
+        locations.setAllocationPolicy(new AllocationPolicy() {
+            @Override public void onLocationAdded(int locationId, String code) { }
+            @Override public void onQuantityChanged(String sku, int locationId, int before, int after) { }
+            @Override public int choose(String sku, int quantity) { return 1; }
+        });
+
+        assertThrows(IllegalStateException.class, () -> locations.allocate("P-001", 8, "ORD-1"));
+        assertEquals(5, locations.getStock("P-001", "STORE-1"));
+        assertEquals(10, locations.getStock("P-001", "WH-1"));
+        assertEquals(15, inventory.findBySku("P-001").getQuantity());
+        assertEquals(5, locations.allocate("P-001", 5, "ORD-2").get(0).getQuantity());
+    }
+
+    @Test
+    void decreaseStock_nonPositiveQuantity_isAnArgumentError() {
+        assertThrows(IllegalArgumentException.class, () -> locations.decreaseStock("P-001", "WH-1", 0));
+        assertEquals(10, locations.getStock("P-001", "WH-1"));
+    }
+
+    @Test
+    void orderService_placesThroughLocations() {
+        OrderService service = new OrderService(stockManager);
+        service.setStockOperations(locations);
+        locations.transfer("P-001", "WH-1", "STORE-2", 7);
+
+        Order order = new Order("ORD-7");
+        order.addItem(inventory.findBySku("P-001"), 5);
+        service.placeOrder(order);
+
+        assertEquals(2, locations.getStock("P-001", "STORE-2"));
+        assertEquals(3, locations.getStock("P-001", "WH-1"));
+        assertEquals(5, inventory.findBySku("P-001").getQuantity());
+    }
+
+    @Test
+    void backorderFills_comeOutOfTheReceivingLocation() {
+        stockManager.setBackorderBook(new BackorderBook());
+        stockManager.reserveOrBackorder("P-001", 14, "ORD-8"); // takes 10, parks 4
+        locations.increaseStock("P-001", "STORE-1", 6);
+
+        assertEquals(2, locations.getStock("P-001"));
+        assertEquals(2, locations.getStock("P-001", "STORE-1"));
+        assertEquals(0, locations.getStock("P-001", "WH-1"));
+    }
+}
@@ -0,0 +1,158 @@
+package System;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LotTrackerTest {
+
+    /** Clock whose date the test moves by hand. */
+    private static final class ManualClock extends Clock {
+        LocalDate today;
+
+        ManualClock(LocalDate today) { this.today = today; }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return today.atStartOfDay(ZoneOffset.UTC).toInstant(); }
+    }
+
+    private static final LocalDate JUNE_10 = LocalDate.of(2030, 6, 10);
+
+    private ManualClock clock;
+    private LotTracker lots;
+
+    @BeforeEach
+    void setup() {
+        clock = new ManualClock(JUNE_10);
+        lots = new LotTracker(clock);
+    }
+
+    @Test
+    void allocate_takesFirstExpiringFirst_thenReceiptOrder() {
+        lots.receive("F-001", "L1", LocalDate.of(2030, 7, 1), 5);
+        lots.receive("f-001", "L2", LocalDate.of(2030, 6, 15), 3);
+        lots.receive("F-001", "L3", LocalDate.of(2030, 6, 15), 2);
+
+        assertEquals(4, lots.allocate("F-001", 4));
+
+        List<StockLot> left = lots.getLots("F-001");
+        assertEquals(2, left.size());
+        assertEquals("L3", left.get(0).getLotId());
+        assertEquals(1, left.get(0).getQuantity());
+        assertEquals("L1", left.get(1).getLotId());
+        assertEquals(6, lots.getLotQuantity("F-001"));
+    }
+
+    @Test
+    void allocate_returnsWhatTheLotsHold_whenShort() {
+        lots.receive("F-001", "L1", LocalDate.of(2030, 7, 1), 5);
+
+        assertEquals(5, lots.allocate("F-001", 8));
+        assertEquals(0, lots.getLotQuantity("F-001"));
+        assertEquals(0, lots.allocate("F-002", 1));
+    }
+
+    @Test
+    void removeExpired_dropsOnlyLotsPastTheirDate() {
+        lots.receive("F-001", "OLD", LocalDate.of(2030, 6, 9), 4);
+        lots.receive("F-001", "TODAY", JUNE_10, 2);
+        lots.receive("F-001", "NEW", LocalDate.of(2030, 6, 20), 6);
+
+        List<StockLot> expired = lots.removeExpired("F-001");
+        assertEquals(1, expired.size());
+        assertEquals("OLD", expired.get(0).getLotId());
+        assertEquals(8, lots.getLotQuantity("F-001"));
+
+        clock.today = LocalDate.of(2030, 6, 11);
+        assertEquals(1, lots.removeExpired("F-001").size());
+        assertEquals(6, lots.getLotQuantity("F-001"));
+    }
+
+    @Test
+    void stockLot_validatesAndCapsTakes() {
+        assertThrows(IllegalArgumentException.class, () -> new StockLot("L1", "F-001", JUNE_10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new StockLot(" ", "F-001", JUNE_10, 1));
+
+        StockLot lot = new StockLot("L1", " f-001 ", JUNE_10, 3);
+        assertEquals("F-001", lot.getSku());
+        assertEquals(3, lot.take(5));
+        assertEquals(0, lot.getQuantity());
+        assertEquals(3, lot.getReceivedQuantity());
+        assertTrue(lot.isExpired(JUNE_10.plusDays(1)));
+        assertFalse(lot.isExpired(JUNE_10));
+    }
+
+    /* =========================
+       With StockManager
+       ========================= */
+
+    private Inventory inventory;
+    private StockManager stock;
+
+    private void withStockManager(int unlottedQuantity) {
+        inventory = new Inventory();
+        inventory.addProduct(new Product("F-001", "Milk", "Food", 1.5, unlottedQuantity, 0, 1_000));
+        stock = new StockManager(inventory);
+        stock.setLotTracker(lots);
+    }
+
+    @Test
+    void decrease_usesLotsFirst_thenStockReceivedWithoutLots() {
+        withStockManager(5);
+        stock.receiveLot("F-001", "L1", LocalDate.of(2030, 6, 20), 3);
+
+        stock.decreaseStock("F-001", 6);
+        assertEquals(2, stock.getStock("F-001"));
+        assertEquals(0, lots.getLotQuantity("F-001"));
+    }
+
+    @Test
+    void decrease_afterQuantityChangedBehindStockManager_trimsLotsThenDeducts() {
+        withStockManager(0);
+        stock.receiveLot("F-001", "L1", LocalDate.of(2030, 6, 20), 6);
+        inventory.findBySku("F-001").setQuantity(4); // not through the StockManager
+
+        stock.decreaseStock("F-001", 3);
+        assertEquals(1, stock.getStock("F-001"));
+        assertEquals(1, lots.getLotQuantity("F-001"));
+    }
+
+    @Test
+    void setStock_belowLots_trimsLotsFirstExpiringFirst() {
+        withStockManager(0);
+        stock.receiveLot("F-001", "L1", LocalDate.of(2030, 6, 20), 6);
+        stock.receiveLot("F-001", "L2", LocalDate.of(2030, 6, 30), 4);
+
+        stock.setStock("F-001", 4);      // 6 units gone: all of L1
+        assertEquals(4, lots.getLotQuantity("F-001"));
+        assertEquals(1, lots.getLots("F-001").size());
+        assertEquals("L2", lots.getLots("F-001").get(0).getLotId());
+    }
+
+    @Test
+    void sweeper_writesOffExpiredLots_withoutTheSkuBeingTouched() {
+        withStockManager(0);
+        stock.receiveLot("F-001", "L1", LocalDate.of(2030, 6, 12), 7);
+        stock.receiveLot("F-001", "L2", LocalDate.of(2030, 6, 30), 4);
+
+        ExpirySweeper sweeper = new ExpirySweeper(inventory.getExpiryIndex(), clock, 3, 10);
+        sweeper.setStockManager(stock);
+
+        sweeper.sweep();
+        assertEquals(11, inventory.findBySku("F-001").getQuantity());
+
+        clock.today = LocalDate.of(2030, 6, 13);
+        sweeper.sweep();
+        assertEquals(4, inventory.findBySku("F-001").getQuantity());
+        assertEquals(7, sweeper.getLotUnitsWrittenOff());
+    }
+}
@@ -0,0 +1,59 @@
+package System;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationMetricsTest {
+
+    @Test
+    void buckets_stayWithinThreePercent() {
+        for (long v : new long[]{0, 1, 63, 64, 100, 1_000, 12_345, 999_999, 1L << 35}) {
+            long reported = LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(v));
+            assertTrue(reported >= v && reported <= v + v / 32 + 1, v + " -> " + reported);
+        }
+    }
+
+    @Test
+    void largestValue_landsInTheLastBucket() {
+        assertEquals(1_152, LatencyHistogram.BUCKETS);
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void percentiles_countsAndFailures() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        OperationMetrics m = registry.operation("test.op");
+
+        for (int i = 1; i <= 1_000; i++) {
+            m.record(i * 1_000L, false);                   // 1us .. 1000us
+        }
+        Thread other = new Thread(() -> m.record(5_000_000L, true));
+        other.start();
+        other.join();
+
+        assertEquals(1_001, m.getCount());
+        assertEquals(1, m.getFailureCount());
+        assertEquals(500, m.getP50Micros(), 500 * 0.04);
+        assertEquals(990, m.getP99Micros(), 990 * 0.04);
+        assertEquals(5_000, m.getMaxMicros(), 5_000 * 0.04);
+
+        m.reset();
+        assertEquals(0, m.getCount());
+    }
+
+    @Test
+    void instrumentedStockOperations_countsInsufficientStockAsFailure() {
+        Inventory inv = new Inventory();
+        inv.addProduct(new Product("P-001", "Hammer", "Tools", 25.0, 2, 0, 100));
+        MetricsRegistry registry = new MetricsRegistry();
+        StockOperations ops = new InstrumentedStockOperations(new StockManager(inv), registry);
+
+        ops.decreaseStock("P-001", 1);
+        assertThrows(IllegalStateException.class, () -> ops.decreaseStock("P-001", 5));
+
+        OperationMetrics decrease = registry.operation("stock.decrease");
+        assertEquals(2, decrease.getCount());
+        assertEquals(1, decrease.getFailureCount());
+    }
+}
@@ -0,0 +1,94 @@
+package System;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderIdGeneratorTest {
+
+    /** Clock whose time the test moves by hand. */
+    private static final class ManualClock extends Clock {
+        long millis;
+
+        ManualClock(long millis) { this.millis = millis; }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return Instant.ofEpochMilli(millis); }
+        @Override public long millis() { return millis; }
+    }
+
+    @Test
+    void ids_areIncreasing_andCarryNodeAndTime() {
+        ManualClock clock = new ManualClock(OrderIdGenerator.EPOCH_MILLIS + 5_000);
+        OrderIdGenerator gen = new OrderIdGenerator(7, clock);
+
+        long a = gen.nextId();
+        long b = gen.nextId();
+        assertTrue(b > a);
+        assertEquals(7, OrderIdGenerator.nodeOf(a));
+        assertEquals(clock.millis, OrderIdGenerator.timestampOf(a));
+    }
+
+    @Test
+    void clockRegression_neverRepeatsOrGoesBackwards() {
+        ManualClock clock = new ManualClock(OrderIdGenerator.EPOCH_MILLIS + 10_000);
+        OrderIdGenerator gen = new OrderIdGenerator(1, clock);
+
+        long before = gen.nextId();
+        clock.millis -= 2_000;
+        long after = gen.nextId();
+
+        assertTrue(after > before);
+        assertEquals(1, gen.getClockRegressions());
+    }
+
+    @Test
+    void sequenceOverflow_borrowsNextMillisecond() {
+        ManualClock clock = new ManualClock(OrderIdGenerator.EPOCH_MILLIS + 1);
+        OrderIdGenerator gen = new OrderIdGenerator(0, clock);
+
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(seen.add(gen.nextId()));
+        }
+    }
+
+    @Test
+    void concurrentCallers_getUniqueIds() throws InterruptedException {
+        OrderIdGenerator gen = new OrderIdGenerator(3);
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread th = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) seen.add(gen.nextId());
+            });
+            threads.add(th);
+            th.start();
+        }
+        for (Thread th : threads) th.join();
+
+        assertEquals(80_000, seen.size());
+    }
+
+    @Test
+    void encoding_roundTrips_andSortsLikeNumbers() {
+        long small = 12345L;
+        long big = 987654321012345L;
+
+        assertEquals(small, OrderIdGenerator.decode(OrderIdGenerator.encode(small)));
+        assertEquals(big, OrderIdGenerator.decode(OrderIdGenerator.encode(big)));
+        assertTrue(OrderIdGenerator.encode(small).compareTo(OrderIdGenerator.encode(big)) < 0);
+        assertEquals(13, Order.withGeneratedId(new OrderIdGenerator(0)).getOrderId().length());
+    }
+}
@@ -0,0 +1,110 @@
+package System;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderIngestionPipelineTest {
+
+    private Inventory inventory;
+    private OrderRepository repository;
+    private OrderService service;
+
+    @BeforeEach
+    void setup() {
+        inventory = new Inventory();
+        inventory.addProduct(new Product("P-001", "Hammer", "Tools", 25.0, 10, 0, 100));
+        inventory.addProduct(new Product("P-002", "Drill", "Tools", 80.0, 3, 0, 100));
+        repository = new OrderRepository();
+        service = new OrderService(new StockManager(inventory), repository);
+    }
+
+    private List<OrderIngestionPipeline.Outcome> ingest(int workers, OrderIngestionPipeline.Format format,
+                                                        String... lines) throws IOException {
+        Path file = Files.createTempFile("orders", ".txt");
+        Files.write(file, List.of(lines));
+        List<OrderIngestionPipeline.Outcome> outcomes = Collections.synchronizedList(new ArrayList<>());
+        new OrderIngestionPipeline(inventory, service, workers, 4).ingest(file, format, outcomes::add);
+        return outcomes;
+    }
+
+    private static Map<String, OrderIngestionPipeline.Result> byOrder(List<OrderIngestionPipeline.Outcome> outcomes) {
+        Map<String, OrderIngestionPipeline.Result> result = new HashMap<>();
+        for (OrderIngestionPipeline.Outcome o : outcomes) {
+            assertNull(result.put(o.getOrderId(), o.getResult()), "one outcome per order: " + o.getOrderId());
+        }
+        return result;
+    }
+
+    @Test
+    void malformedLine_rejectsTheWholeOrder() throws IOException {
+        List<OrderIngestionPipeline.Outcome> outcomes = ingest(2, OrderIngestionPipeline.Format.CSV,
+                "orderId,sku,quantity",
+                "O-1,P-001,2",
+                "O-1,P-002,two",
+                "O-1,P-002,1",
+                "O-2,P-001,1",
+                "garbage",
+                "O-3,P-001,1");
+
+        Map<String, OrderIngestionPipeline.Result> results = byOrder(outcomes);
+        assertEquals(3, results.size());
+        assertEquals(OrderIngestionPipeline.Result.INVALID, results.get("O-1"));
+        assertEquals(OrderIngestionPipeline.Result.INVALID, results.get("O-2")); // "garbage" belongs to O-2
+        assertEquals(OrderIngestionPipeline.Result.PLACED, results.get("O-3"));
+
+        assertEquals(9, inventory.findBySku("P-001").getQuantity()); // only O-3 deducted
+        assertEquals(3, inventory.findBySku("P-002").getQuantity());
+    }
+
+    @Test
+    void rejections_reportTheirReason() throws IOException {
+        List<OrderIngestionPipeline.Outcome> outcomes = ingest(1, OrderIngestionPipeline.Format.NDJSON,
+                "{\"orderId\":\"O-1\",\"sku\":\"P-404\",\"quantity\":1}",
+                "{\"orderId\":\"O-2\",\"sku\":\"P-001\",\"quantity\":1}",
+                "{\"orderId\":\"O-2\",\"sku\":\"P-002\",\"quantity\":5}",
+                "{\"orderId\":\"O-3\",\"sku\":\"P-001\",\"quantity\":0}");
+
+        Map<String, OrderIngestionPipeline.Result> results = byOrder(outcomes);
+        assertEquals(OrderIngestionPipeline.Result.UNKNOWN_SKU, results.get("O-1"));
+        assertEquals(OrderIngestionPipeline.Result.INSUFFICIENT_STOCK, results.get("O-2"));
+        assertEquals(OrderIngestionPipeline.Result.INVALID, results.get("O-3"));
+        assertEquals(10, inventory.findBySku("P-001").getQuantity()); // O-2 left no partial deduction
+    }
+
+    @Test
+    void singleValidator_placesOrdersInFileOrder() throws IOException {
+        List<String> lines = new ArrayList<>();
+        List<String> expectedPlaced = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String id = String.format("O-%03d", i);
+            if (i % 4 == 0) {
+                lines.add(id + ",P-001,1");      // 10 of these: exactly the stock
+                expectedPlaced.add(id);
+            } else {
+                lines.add(id + ",P-001,0");      // rejected by validation
+            }
+        }
+
+        List<OrderIngestionPipeline.Outcome> outcomes = ingest(1, OrderIngestionPipeline.Format.CSV,
+                lines.toArray(new String[0]));
+        assertEquals(40, byOrder(outcomes).size());
+
+        List<String> placed = new ArrayList<>();
+        for (OrderIngestionPipeline.Outcome o : outcomes) {
+            if (o.getResult() == OrderIngestionPipeline.Result.PLACED) placed.add(o.getOrderId());
+        }
+        assertEquals(expectedPlaced, placed);
+        assertEquals(0, inventory.findBySku("P-001").getQuantity());
+    }
+}
@@ -0,0 +1,190 @@
+package System;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderLogTest {
+
+    private Path dir;
+    private Product hammer;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dir = Files.createTempDirectory("order-log-test");
+        hammer = new Product("P-001", "Hammer", "Tools", 25.0, 10, 3, 100);
+    }
+
+    private Order newOrder(String id, int qty) {
+        Order o = new Order(id);
+        o.addItem(hammer, qty);
+        return o;
+    }
+
+    @Test
+    void append_thenRead_keepsPriceSnapshot() {
+        try (OrderLog log = new OrderLog(dir)) {
+            assertTrue(log.append(newOrder("O-1", 2)));
+            assertFalse(log.append(newOrder("O-1", 3)));
+
+            hammer.setUnitPrice(99.0);
+
+            Order read = log.read("O-1");
+            assertEquals(1, read.getItemCount());
+            assertEquals(25.0, read.findItemBySku("P-001").getUnitPrice());
+            assertEquals(50.0, read.getTotalAmount(), 0.0001);
+        }
+    }
+
+    @Test
+    void reopen_restoresOrdersAndLatestStatus() {
+        try (OrderLog log = new OrderLog(dir)) {
+            log.append(newOrder("O-1", 1));
+            log.appendStatus("O-1", OrderStatus.CONFIRMED);
+            log.appendStatus("O-1", OrderStatus.PAID);
+        }
+
+        try (OrderLog log = new OrderLog(dir)) {
+            assertEquals(1, log.orderCount());
+            assertEquals(OrderStatus.PAID, log.read("O-1").getStatus());
+        }
+    }
+
+    @Test
+    void repository_attachLog_journalsTransitions() {
+        try (OrderLog log = new OrderLog(dir)) {
+            OrderRepository repo = new OrderRepository();
+            repo.attachLog(log);
+            Order o = newOrder("O-1", 1);
+            repo.save(o);
+            o.confirm();
+        }
+
+        try (OrderLog log = new OrderLog(dir)) {
+            OrderRepository repo = new OrderRepository();
+            repo.attachLog(log);
+            assertEquals(1, repo.countByStatus(OrderStatus.CONFIRMED));
+        }
+    }
+
+    @Test
+    void repository_attachLog_journalsOrdersSavedBeforehand() {
+        try (OrderLog log = new OrderLog(dir)) {
+            log.append(newOrder("O-2", 1));
+        }
+
+        try (OrderLog log = new OrderLog(dir)) {
+            OrderRepository repo = new OrderRepository();
+            Order first = newOrder("O-1", 1);
+            repo.save(first);
+            first.confirm();
+            Order second = newOrder("O-2", 2);
+            repo.save(second);
+            second.confirm();
+
+            repo.attachLog(log);
+            assertEquals(2, log.orderCount());
+            assertEquals(OrderStatus.CONFIRMED, log.read("O-2").getStatus());
+        }
+
+        try (OrderLog log = new OrderLog(dir)) {
+            OrderRepository repo = new OrderRepository();
+            repo.attachLog(log);
+            assertEquals(2, repo.countByStatus(OrderStatus.CONFIRMED));
+        }
+    }
+
+    @Test
+    void roll_andCompact_keepLatestState() {
+        try (OrderLog log = new OrderLog(dir, 256, 2)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(newOrder("O-" + i, i + 1));
+                log.appendStatus("O-" + i, OrderStatus.CONFIRMED);
+            }
+            assertTrue(log.segmentCount() > 2);
+
+            log.roll();
+            log.compact();
+            assertEquals(2, log.segmentCount());
+            assertEquals(OrderStatus.CONFIRMED, log.read("O-7").getStatus());
+            assertEquals(8, log.read("O-7").findItemBySku("P-001").getQuantity());
+        }
+
+        try (OrderLog log = new OrderLog(dir, 256, 2)) {
+            assertEquals(10, log.orderCount());
+            assertEquals(10, log.readAll().size());
+        }
+    }
+
+    @Test
+    void compact_interruptedBeforeCleanup_recoversOnOpen() throws IOException {
+        Map<Path, byte[]> beforeCompaction = new HashMap<>();
+        try (OrderLog log = new OrderLog(dir, 256, 2)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(newOrder("O-" + i, i + 1));
+                log.appendStatus("O-" + i, OrderStatus.CONFIRMED);
+            }
+            log.appendStatus("O-0", OrderStatus.PAID);
+            log.roll();
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path f : (Iterable<Path>) files::iterator) {
+                    beforeCompaction.put(f, Files.readAllBytes(f));
+                }
+            }
+            log.compact();
+            log.appendStatus("O-0", OrderStatus.SHIPPED);
+        }
+
+        // crash after the compacted segment was published, before the old ones were deleted
+        for (Map.Entry<Path, byte[]> e : beforeCompaction.entrySet()) {
+            if (!Files.exists(e.getKey())) Files.write(e.getKey(), e.getValue());
+        }
+
+        try (OrderLog log = new OrderLog(dir, 256, 2)) {
+            assertEquals(2, log.segmentCount());
+            assertEquals(10, log.readAll().size());
+            assertEquals(OrderStatus.SHIPPED, log.read("O-0").getStatus());
+            assertEquals(OrderStatus.CONFIRMED, log.read("O-9").getStatus());
+        }
+    }
+
+    @Test
+    void recordLargerThanSegment_survivesReopen() {
+        Order big = new Order("O-BIG");
+        for (int i = 0; i < 20; i++) {
+            big.addItem(new Product("P-" + (100 + i), "Item " + i, "Tools", 1.0, 10, 1, 100), 1);
+        }
+        try (OrderLog log = new OrderLog(dir, 128, 2)) {
+            assertTrue(log.append(big));
+            log.append(newOrder("O-1", 1));
+        }
+
+        try (OrderLog log = new OrderLog(dir, 128, 2)) {
+            assertEquals(2, log.orderCount());
+            assertEquals(20, log.read("O-BIG").getItemCount());
+        }
+    }
+
+    @Test
+    void readRange_returnsOrdersInWindow() {
+        try (OrderLog log = new OrderLog(dir, 1024, 1)) {
+            long before = System.currentTimeMillis();
+            log.append(newOrder("O-1", 1));
+            log.append(newOrder("O-2", 1));
+            long after = System.currentTimeMillis();
+
+            List<Order> all = log.readRange(before, after);
+            assertEquals(2, all.size());
+            assertTrue(log.readRange(after + 1, after + 1000).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package System;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderRepositoryTest {
+
+    private OrderRepository repo;
+    private Product hammer;
+    private Product drill;
+
+    @BeforeEach
+    void setup() {
+        repo = new OrderRepository();
+        hammer = new Product("P-001", "Hammer", "Tools", 25.0, 10, 3, 100);
+        drill = new Product("P-002", "Drill", "Tools", 80.0, 5, 1, 50);
+    }
+
+    private Order newOrder(String id, Product... products) {
+        Order o = new Order(id);
+        for (Product p : products) {
+            o.addItem(p, 1);
+        }
+        return o;
+    }
+
+    @Test
+    void save_duplicateIdRejected() {
+        assertTrue(repo.save(newOrder("O-1", hammer)));
+        assertFalse(repo.save(newOrder("O-1", drill)));
+        assertEquals(1, repo.size());
+    }
+
+    @Test
+    void save_orderHeldByAnotherRepository_rejected() {
+        Order o = newOrder("O-1", hammer);
+        OrderRepository other = new OrderRepository();
+        assertTrue(other.save(o));
+
+        assertFalse(repo.save(o));
+        o.confirm();
+        assertEquals(1, other.countByStatus(OrderStatus.CONFIRMED));
+
+        other.remove("O-1");
+        assertTrue(repo.save(o));
+    }
+
+    @Test
+    void transitions_moveOrderBetweenStatusBuckets() {
+        Order o = newOrder("O-1", hammer);
+        repo.save(o);
+        assertEquals(1, repo.countByStatus(OrderStatus.NEW));
+
+        o.confirm();
+        assertEquals(0, repo.countByStatus(OrderStatus.NEW));
+        assertEquals(1, repo.countByStatus(OrderStatus.CONFIRMED));
+
+        o.markPaid();
+        o.ship();
+        assertEquals(1, repo.countByStatus(OrderStatus.SHIPPED));
+        assertEquals("O-1", repo.findByStatus(OrderStatus.SHIPPED).get(0).getOrderId());
+
+        o.deliver();
+        assertEquals(0, repo.countByStatus(OrderStatus.SHIPPED));
+        assertEquals(1, repo.countByStatus(OrderStatus.DELIVERED));
+    }
+
+    @Test
+    void findBySku_followsItemChanges() {
+        Order o = newOrder("O-1", hammer);
+        repo.save(o);
+        o.addItem(drill, 2);
+
+        assertEquals(1, repo.findBySku("p-002").size());
+        assertTrue(o.removeItem("P-002"));
+        assertTrue(repo.findBySku("P-002").isEmpty());
+    }
+
+    @Test
+    void findByDateRange_andRemove() {
+        repo.save(newOrder("O-1", hammer));
+        LocalDate today = LocalDate.now();
+
+        assertEquals(1, repo.findByDateRange(today.minusDays(1), today).size());
+        assertTrue(repo.findByDateRange(today.plusDays(1), today.plusDays(2)).isEmpty());
+
+        assertTrue(repo.remove("O-1"));
+        assertEquals(0, repo.countByStatus(OrderStatus.NEW));
+        assertTrue(repo.findBySku("P-001").isEmpty());
+    }
+}
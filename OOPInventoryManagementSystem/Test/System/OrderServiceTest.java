@@ -0,0 +1,66 @@
+package System;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderServiceTest {
+
+    private Inventory inv;
+    private StockManager sm;
+    private OrderService service;
+    private Product hammer;
+    private Product drill;
+
+    @BeforeEach
+    void setup() {
+        inv = new Inventory();
+        hammer = new Product("P-001", "Hammer", "Tools", 25.0, 100, 0, 1_000);
+        drill = new Product("P-002", "Drill", "Tools", 80.0, 100, 0, 1_000);
+        inv.addProduct(hammer);
+        inv.addProduct(drill);
+        sm = new StockManager(inv);
+        service = new OrderService(sm);
+    }
+
+    @Test
+    void repeatedSku_isCheckedAgainstTheLinesTotal() {
+        Order o = new Order("O-1");
+        o.addItem(hammer, 60);
+        o.addItem(new Product("p-001", "Hammer", "Tools", 25.0, 0, 0, 1_000), 60);
+
+        assertThrows(IllegalStateException.class, () -> service.placeOrder(o));
+        assertEquals(100, sm.getStock("P-001"));
+    }
+
+    @Test
+    void concurrentPlacement_neverOversellsOrHalfPlaces() throws InterruptedException {
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger counter = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 20; i++) {
+                    Order o = new Order("O-" + counter.incrementAndGet());
+                    o.addItem(hammer, 3);
+                    o.addItem(drill, 7);
+                    try {
+                        service.placeOrder(o);
+                        placed.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        // out of stock
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+
+        assertEquals(14, placed.get()); // drill runs out first: 100 / 7
+        assertEquals(100 - 3 * placed.get(), sm.getStock("P-001"));
+        assertEquals(100 - 7 * placed.get(), sm.getStock("P-002"));
+    }
+}
@@ -0,0 +1,235 @@
+package System;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductQueryTest {
+
+    private Inventory inv;
+    private Product hammer;
+    private Product drill;
+    private Product apple;
+
+    @BeforeEach
+    void setup() {
+        inv = new Inventory();
+        hammer = new Product("P-001", "Hammer", "Tools", 25.0, 10, 3, 100);
+        drill = new Product("P-002", "Drill", "Tools", 80.0, 2, 5, 100);
+        apple = new Product("P-003", "Apple", "Food", 1.0, 0, 10, 500);
+        inv.addProduct(hammer);
+        inv.addProduct(drill);
+        inv.addProduct(apple);
+    }
+
+    @Test
+    void query_combinesConditions_andUsesIndex() {
+        ProductQuery q = ProductQuery.where().category("tools").lowStock();
+
+        assertEquals(List.of(drill), inv.query(q));
+        assertTrue(inv.explain(q).startsWith("INDEX"));
+    }
+
+    @Test
+    void indexes_followFieldChanges() {
+        hammer.decreaseQuantity(8);      // 2 <= min 3 -> low stock
+        apple.setCategory("Tools");
+
+        List<Product> low = inv.query(ProductQuery.where().category("Tools").lowStock());
+        assertEquals(3, low.size());
+        assertTrue(inv.getOutOfStockProducts().contains(apple));
+
+        apple.increaseQuantity(50);
+        assertFalse(inv.getLowStockProducts().contains(apple));
+        assertTrue(inv.searchByCategory("food").isEmpty());
+    }
+
+    @Test
+    void query_orderByAndLimit_returnsTopK() {
+        List<Product> cheapest = inv.query(ProductQuery.where()
+                .orderBy(Comparator.comparingDouble(Product::getUnitPrice))
+                .limit(2));
+
+        assertEquals(List.of(apple, hammer), cheapest);
+    }
+
+    @Test
+    void removedProduct_leavesIndexes() {
+        inv.removeBySku("p-002");
+
+        assertTrue(inv.query(ProductQuery.where().sku("P-002")).isEmpty());
+        drill.setQuantity(0); // no longer observed
+        assertFalse(inv.getOutOfStockProducts().contains(drill));
+    }
+
+    @Test
+    void quantityBelow_minValue_matchesNothing() {
+        assertEquals(List.of(apple, drill), inv.query(ProductQuery.where().quantityBelow(3)
+                .orderBy(Comparator.comparingInt(Product::getQuantity))));
+        assertTrue(inv.query(ProductQuery.where().quantityBelow(Integer.MIN_VALUE)).isEmpty());
+    }
+
+    @Test
+    void addProduct_ownedByAnotherInventory_returnsFalse() {
+        Inventory other = new Inventory();
+
+        assertFalse(other.addProduct(hammer));
+        assertFalse(other.hasProductBySku("P-001"));
+        hammer.setQuantity(1);
+        assertTrue(inv.getLowStockProducts().contains(hammer)); // still reports to inv
+    }
+
+    @Test
+    void priceRange_usesPriceIndex() {
+        ProductQuery q = ProductQuery.where().priceBetween(10, 30);
+
+        assertEquals(List.of(hammer), inv.query(q));
+        assertTrue(inv.explain(q).contains("PriceIndex"));
+    }
+
+    @Test
+    void categoryDiscount_updatesIndexAndValuation() {
+        assertEquals(2, inv.applyCategoryDiscount("tools", 50));
+
+        assertEquals(12.5, hammer.getUnitPrice(), 0.0001);
+        assertEquals(List.of(hammer, drill), inv.getProductsInPriceRange(10, 40));
+        assertEquals(12.5 * 10 + 40.0 * 2, inv.getCategoryValue("Tools"), 0.0001);
+        assertEquals(12.5 * 10 + 40.0 * 2, inv.getTotalInventoryValue(), 0.0001);
+    }
+
+    @Test
+    void reprice_invalidPrice_changesNothing() {
+        assertThrows(IllegalArgumentException.class,
+                () -> inv.reprice(ProductQuery.where().category("Tools"), price -> price - 50));
+        assertEquals(25.0, hammer.getUnitPrice(), 0.0001);
+        assertEquals(80.0, drill.getUnitPrice(), 0.0001);
+    }
+
+    @Test
+    void fuzzySearch_toleratesTypos_andFollowsRenames() {
+        assertEquals(List.of(hammer), inv.fuzzySearch("hamer", 10));
+        assertEquals(List.of(drill), inv.fuzzySearch("p-02", 10));
+
+        hammer.setName("Mallet");
+        assertTrue(inv.fuzzySearch("hamer", 10).isEmpty());
+        assertEquals(List.of(hammer), inv.fuzzySearch("malet", 10));
+    }
+
+    @Test
+    void prefixCompletion_andSkuRange() {
+        Product cordless = new Product("Q-100", "Cordless Drill", "Tools", 120.0, 4, 1, 50);
+        inv.addProduct(cordless);
+
+        assertEquals(List.of(hammer, drill), inv.completeSku("p-00", 2));
+        assertEquals(List.of(drill, cordless), inv.completeName("dri", 10));
+        assertEquals(List.of(drill, apple), inv.getProductsBySkuRange("P-002", "Q", 10));
+
+        inv.removeBySku("Q-100");
+        assertEquals(List.of(drill), inv.completeName("dri", 10));
+    }
+
+    @Test
+    void nameCompletion_followsRenamesAndMatchesEveryWord() {
+        Product bits = new Product("Q-200", "Drill  Bit Set", "Tools", 15.0, 4, 1, 50);
+        inv.addProduct(bits);
+
+        assertEquals(List.of(bits), inv.completeName("BIT", 10));
+        assertEquals(List.of(bits), inv.completeName("set", 10));
+        assertEquals(List.of(drill, bits), inv.completeName("drill", 10));
+        assertEquals(List.of(drill), inv.completeName("drill", 1));
+
+        bits.setName("Hammer Bits");
+        assertTrue(inv.completeName("set", 10).isEmpty());
+        assertEquals(List.of(hammer, bits), inv.completeName("ham", 10));
+        assertEquals(List.of(bits), inv.completeName("bits", 10));
+        assertTrue(inv.completeName("bitsy", 10).isEmpty());
+    }
+
+    @Test
+    void searchCache_hitsAndInvalidatesOnlyMatchingEntries() {
+        SearchCache cache = inv.getSearchCache();
+        assertEquals(List.of(hammer), inv.searchByName("ham"));
+        assertEquals(List.of(apple), inv.searchByName("app"));
+        assertEquals(List.of(hammer), inv.searchByName("HAM"));
+        assertEquals(1, cache.getHitCount());
+
+        drill.setName("Ham Drill");             // touches "ham" only
+        assertEquals(1, cache.size());
+        assertEquals(List.of(hammer, drill), inv.searchByName("ham"));
+
+        inv.addProduct(new Product("P-004", "Pear", "Food", 2.0, 1, 0, 10));
+        assertEquals(2, cache.size());           // neither keyword matches "pear"
+        assertEquals(List.of(apple), inv.searchByName("app"));
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    void searchResults_areCallerOwnedCopiesOfTheCachedMatches() {
+        List<Product> first = inv.searchByName("ham");
+        first.add(apple);
+        inv.searchByCategory("tools").clear();
+
+        assertEquals(List.of(hammer), inv.searchByName("ham"));
+        assertEquals(List.of(hammer, drill), inv.searchByCategory("tools"));
+        assertEquals(2, inv.getSearchCache().getHitCount());
+    }
+
+    @Test
+    void searchCache_invalidatesByKeywordOfEveryLength() {
+        SearchCache cache = inv.getSearchCache();
+        inv.searchByCategory("oo");       // Tools, Food
+        inv.searchByCategory("food");
+        inv.searchByCategory("tools");
+        inv.searchByName("l");            // Drill, Apple
+        assertEquals(4, cache.size());
+
+        inv.removeBySku("P-003");         // Apple / Food
+        assertEquals(1, cache.size());    // only "tools" is left
+        assertEquals(List.of(hammer, drill), inv.searchByCategory("oo"));
+        assertEquals(List.of(drill), inv.searchByName("l"));
+    }
+
+    @Test
+    void searchCache_concurrentSearches_keepConsistentCounts() throws InterruptedException {
+        SearchCache cache = inv.getSearchCache();
+        String[] keywords = {"ham", "dri", "app", "a", "l", "tools", "food"};
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    inv.searchByName(keywords[(i + offset) % keywords.length]);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+
+        assertEquals(20_000, cache.getHitCount() + cache.getMissCount());
+        assertEquals(keywords.length, cache.size());
+        assertEquals(List.of(hammer), inv.searchByName("ham"));
+    }
+
+    @Test
+    void valuationTotals_stayExactAfterManyChanges() {
+        Product bolt = new Product("P-010", "Bolt", "Hardware", 0.1, 0, 0, 1_000_000);
+        inv.addProduct(bolt);
+        Random rnd = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            int qty = rnd.nextInt(1_000);
+            bolt.setQuantity(qty);
+            if (i % 1000 == 0) bolt.setUnitPrice(0.01 * (1 + rnd.nextInt(50)));
+        }
+        bolt.setQuantity(0);
+
+        // only the original three products are worth anything now: 25*10 + 80*2 + 1*0
+        assertEquals(410.0, inv.getTotalInventoryValue());
+        assertEquals(0.0, inv.getCategoryValue("hardware"));
+        assertEquals(410.0, inv.getCategoryValue("TOOLS"));
+    }
+}
@@ -0,0 +1,157 @@
+package System;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReorderEngineTest {
+
+    private Inventory inv;
+    private StockManager sm;
+    private List<PurchaseProposal> proposals;
+    private ReorderEngine engine;
+
+    @BeforeEach
+    void setup() {
+        inv = new Inventory();
+        inv.addProduct(new Product("P-001", "Hammer", "Tools", 25.0, 10, 3, 20));
+        inv.addProduct(new Product("P-002", "Drill", "Tools", 80.0, 10, 3, 15));
+        inv.addProduct(new Product("P-003", "Saw", "Tools", 30.0, 10, 3, 10));
+
+        Supplier acme = new Supplier("S-1", "Acme", "", "", "", 4.0, true);
+        Supplier best = new Supplier("S-2", "Best Tools", "", "", "", 4.5, true);
+        inv.addSupplier(acme);
+        inv.addSupplier(best);
+        inv.assignSupplierToProduct("S-1", "P-001");
+        inv.assignSupplierToProduct("S-2", "P-001");
+        inv.assignSupplierToProduct("S-2", "P-002");
+
+        sm = new StockManager(inv);
+        proposals = new CopyOnWriteArrayList<>();
+        engine = new ReorderEngine(inv, Duration.ofHours(1), proposals::add);
+        sm.addStockListener(engine);
+    }
+
+    @Test
+    void crossings_areBatchedPerBestSupplier_andToppedUpToMax() {
+        sm.decreaseStock("P-001", 8);  // 2: tops up to 20
+        sm.decreaseStock("P-002", 7);  // 3: tops up to 15
+        assertTrue(proposals.isEmpty());
+
+        engine.flushAll();
+        assertEquals(1, proposals.size());
+        PurchaseProposal p = proposals.get(0);
+        assertEquals("S-2", p.getSupplierCode());
+        assertEquals(2, p.getLines().size());
+        assertEquals(18, p.getLines().get(0).getQuantity());
+        assertEquals(12, p.getLines().get(1).getQuantity());
+    }
+
+    @Test
+    void sku_isNotProposedAgain_untilStockIsReceived() {
+        sm.decreaseStock("P-001", 8);
+        engine.flushAll();
+        assertEquals(1, proposals.size());
+
+        sm.setStock("P-001", 10);      // counted back up, nothing received
+        sm.decreaseStock("P-001", 8);
+        engine.flushAll();
+        assertEquals(1, proposals.size());
+        assertTrue(engine.getOutstandingSkus().contains("P-001"));
+
+        sm.increaseStock("P-001", 18); // the goods arrive
+        assertTrue(engine.getOutstandingSkus().isEmpty());
+        sm.decreaseStock("P-001", 18);
+        engine.flushAll();
+        assertEquals(2, proposals.size());
+    }
+
+    @Test
+    void skuWithoutActiveSupplier_isKeptUnassigned() {
+        sm.decreaseStock("P-003", 9);
+        engine.flushAll();
+
+        assertTrue(proposals.isEmpty());
+        assertEquals(1, engine.getUnassignedLines().size());
+        assertEquals(9, engine.getUnassignedLines().get(0).getQuantity());
+        assertTrue(engine.markReceived("p-003"));
+        assertTrue(engine.getUnassignedLines().isEmpty());
+    }
+
+    @Test
+    void unassignedLine_isProposedOnceASupplierIsLinked() {
+        sm.decreaseStock("P-003", 9);
+        assertEquals(0, engine.proposeUnassigned());
+
+        inv.assignSupplierToProduct("S-1", "P-003");
+        assertEquals(1, engine.proposeUnassigned());
+        engine.flushAll();
+
+        assertEquals(1, proposals.size());
+        assertEquals("S-1", proposals.get(0).getSupplierCode());
+        assertTrue(engine.getUnassignedLines().isEmpty());
+        assertEquals(Set.of("P-003"), engine.getOutstandingSkus());
+    }
+
+    @Test
+    void supplierLinkedEvent_proposesWaitingLine() throws InterruptedException {
+        try (InventoryEventBus bus = new InventoryEventBus()) {
+            inv.setEventBus(bus);
+            bus.subscribe("reorder", engine);
+
+            sm.decreaseStock("P-003", 9);
+            inv.assignSupplierToProduct("S-2", "P-003");
+            assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+        }
+        engine.flushAll();
+
+        assertEquals(1, proposals.size());
+        assertEquals("S-2", proposals.get(0).getSupplierCode());
+    }
+
+    @Test
+    void supplierLookup_followsLinksAndRemovals() {
+        assertEquals(2, inv.getSuppliersForProduct("p-001").size());
+
+        inv.unassignSupplierFromProduct("S-2", "P-001");
+        assertEquals(List.of("S-1"), codes(inv.getSuppliersForProduct("P-001")));
+        inv.removeSupplierByCode("S-2");
+        assertTrue(inv.getSuppliersForProduct("P-002").isEmpty());
+        inv.removeBySku("P-001");
+        assertTrue(inv.getSuppliersForProduct("P-001").isEmpty());
+    }
+
+    private static List<String> codes(List<Supplier> suppliers) {
+        List<String> codes = new ArrayList<>();
+        for (Supplier s : suppliers) codes.add(s.getSupplierCode());
+        return codes;
+    }
+
+    @Test
+    void batchWindow_flushesOnItsOwn() throws InterruptedException {
+        CountDownLatch emitted = new CountDownLatch(1);
+        ReorderEngine timed = new ReorderEngine(inv, Duration.ofMillis(20), p -> emitted.countDown());
+        sm.removeStockListener(engine);
+        sm.addStockListener(timed);
+
+        sm.decreaseStock("P-002", 8);
+        assertTrue(emitted.await(5, TimeUnit.SECONDS));
+        assertEquals(0, timed.getPendingSupplierCount());
+    }
+
+    @Test
+    void afterShutdown_proposalsAreEmittedImmediately() {
+        engine.shutdown();
+        sm.decreaseStock("P-002", 8);
+        assertEquals(1, proposals.size());
+    }
+}
@@ -0,0 +1,106 @@
+package System;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationTest {
+
+    private Inventory primaryInventory;
+    private StockManager stock;
+    private ReplicationPrimary primary;
+    private InventoryReplica replica;
+
+    @BeforeEach
+    void setup() {
+        primaryInventory = new Inventory();
+        primaryInventory.addProduct(new Product("P-001", "Hammer", "Tools", 25.0, 10, 3, 100));
+        primaryInventory.addProduct(new PerishableProduct("F-001", "Milk", "Food", 1.5, 40, 5, 200,
+                LocalDate.of(2030, 1, 1)));
+        stock = new StockManager(primaryInventory);
+
+        primary = new ReplicationPrimary(primaryInventory);
+        primary.start(0);
+        replica = new InventoryReplica(primary.getPort());
+        replica.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.close();
+        primary.close();
+    }
+
+    @Test
+    void replica_catchesUpFromSnapshotAndFollowsTheLog() throws Exception {
+        assertTrue(replica.awaitPosition(primary.getPosition(), 5, TimeUnit.SECONDS));
+        assertEquals(2, replica.size());
+        assertEquals(1, replica.getSnapshotsInstalled());
+
+        stock.decreaseStock("P-001", 8);
+        primaryInventory.updateProductPrice("F-001", 2.0);
+        primaryInventory.addProduct(new Product("P-002", "Drill", "Tools", 80.0, 1, 2, 50));
+        primaryInventory.removeBySku("F-001");
+        long token = primary.getPosition();
+
+        assertEquals(1, (int) replica.read(token, 5, TimeUnit.SECONDS, inv -> inv.findBySku("P-002").getQuantity()));
+        assertEquals(2, replica.getStock("P-001"));
+        assertNull(replica.findBySku("F-001"));
+        assertEquals(2, replica.getLowStockProducts().size());
+        assertEquals(primaryInventory.getTotalInventoryValue(), replica.getTotalInventoryValue(), 0.0001);
+        assertEquals(0, replica.getLagEntries());
+        assertEquals(0, replica.getLagMillis());
+    }
+
+    @Test
+    void replicaTooFarBehind_getsNewSnapshot() throws Exception {
+        replica.close();
+        primary.close();
+
+        ReplicationLog smallLog = new ReplicationLog(4);
+        Inventory inv = new Inventory();
+        inv.addProduct(new Product("P-001", "Hammer", "Tools", 25.0, 10, 3, 100));
+        primary = new ReplicationPrimary(inv, smallLog);
+        primary.start(0);
+        replica = new InventoryReplica(primary.getPort());
+        replica.start();
+        assertTrue(replica.awaitPosition(primary.getPosition(), 5, TimeUnit.SECONDS));
+
+        // a burst larger than the ring: the sender must fall back to a snapshot
+        for (int i = 0; i < 1000; i++) {
+            inv.increaseStock("P-001", 1);
+        }
+        assertTrue(replica.awaitPosition(primary.getPosition(), 5, TimeUnit.SECONDS));
+        assertEquals(1010, replica.getStock("P-001"));
+    }
+
+    @Test
+    void log_growsItsRingUpToCapacity_keepingEntriesInOrder() throws InterruptedException {
+        ReplicationLog log = new ReplicationLog(3000);
+        Product p = new Product("P-001", "Hammer", "Tools", 25.0, 10, 3, 100);
+        for (int i = 0; i < 2500; i++) {
+            log.onProductChanged(p, ProductField.QUANTITY, 0);
+        }
+        List<ReplicationLog.Entry> all = log.entriesAfter(0, 10_000, 0);
+        assertEquals(2500, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(i + 1, all.get(i).position);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            log.onProductChanged(p, ProductField.QUANTITY, 0);
+        }
+        assertEquals(501, log.getFirstRetainedPosition());
+        assertNull(log.entriesAfter(0, 10_000, 0));
+        List<ReplicationLog.Entry> retained = log.entriesAfter(500, 10_000, 0);
+        assertEquals(3000, retained.size());
+        assertEquals(501, retained.get(0).position);
+        assertEquals(3500, retained.get(2999).position);
+    }
+}
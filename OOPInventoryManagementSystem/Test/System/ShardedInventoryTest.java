@@ -0,0 +1,76 @@
+package System;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedInventoryTest {
+
+    private ShardedInventory sharded;
+
+    @BeforeEach
+    void setup() {
+        sharded = new ShardedInventory(4);
+        for (int i = 0; i < 200; i++) {
+            sharded.addProduct(new Product(String.format("P-%04d", i), "Item " + i,
+                    (i % 2 == 0) ? "Tools" : "Garden", 10.0, i % 10, 2, 1000));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        sharded.close();
+    }
+
+    @Test
+    void singleSkuOperations_routeToOwningShard() {
+        assertEquals(200, sharded.size());
+        assertFalse(sharded.addProduct(new Product("p-0001", "Dup", "Tools", 1.0, 1, 0, 10)));
+
+        sharded.increaseStock(" p-0005 ", 10);
+        assertEquals(15, sharded.getStock("P-0005"));
+        assertThrows(IllegalStateException.class, () -> sharded.decreaseStock("P-0005", 100));
+        assertThrows(IllegalStateException.class, () -> sharded.getStock("NOPE"));
+
+        int[] sizes = sharded.getShardSizes();
+        for (int n : sizes) {
+            assertTrue(n > 20, "SKUs should spread across shards");
+        }
+    }
+
+    @Test
+    void catalogWideReads_gatherFromEveryShard() {
+        // quantity i % 10, min level 2 -> 0, 1, 2 are low: 60 products
+        assertEquals(60, sharded.getLowStockProducts().size());
+        assertEquals(20, sharded.getOutOfStockProducts().size());
+        assertEquals(100, sharded.searchByCategory("garden").size());
+
+        double expected = 0;
+        for (int i = 0; i < 200; i++) expected += 10.0 * (i % 10);
+        assertEquals(expected, sharded.getTotalInventoryValue(), 0.001);
+
+        List<Product> top = sharded.query(ProductQuery.where().category("Tools")
+                .orderBy(Comparator.comparing(Product::getSku)).limit(3));
+        assertEquals(List.of("P-0000", "P-0002", "P-0004"),
+                List.of(top.get(0).getSku(), top.get(1).getSku(), top.get(2).getSku()));
+    }
+
+    @Test
+    void asyncUpdates_areAppliedInOrderPerShard() {
+        List<CompletableFuture<Boolean>> pending = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            pending.add(sharded.increaseStockAsync(String.format("P-%04d", i), 5));
+        }
+        for (CompletableFuture<Boolean> f : pending) {
+            assertTrue(f.join());
+        }
+        assertTrue(sharded.getLowStockProducts().isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+package System;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingSummaryTest {
+
+    // Skewed stream: SKU i is drawn with weight ~ 1 / (i + 1)
+    private static void feed(SpaceSavingSummary summary, Map<String, Long> exact, long seed, int n) {
+        Random rnd = new Random(seed);
+        for (int i = 0; i < n; i++) {
+            int id = (int) Math.floor(Math.pow(50, rnd.nextDouble())) - 1;
+            String sku = "P-" + id;
+            int amount = 1 + rnd.nextInt(3);
+            summary.offer(sku, amount);
+            exact.merge(sku, (long) amount, Long::sum);
+        }
+    }
+
+    @Test
+    void top_underCapacity_isExact() {
+        SpaceSavingSummary s = new SpaceSavingSummary(10);
+        s.offer("A", 5);
+        s.offer("B", 9);
+        s.offer("C", 1);
+        s.offer("A", 7);
+
+        List<SpaceSavingSummary.Entry> top = s.top(2);
+        assertEquals(2, top.size());
+        assertEquals("A", top.get(0).getSku());
+        assertEquals(12, top.get(0).getCount());
+        assertEquals(0, top.get(0).getError());
+        assertEquals("B", top.get(1).getSku());
+        assertEquals(22, s.getTotal());
+    }
+
+    @Test
+    void offer_whenFull_replacesSmallestAndCarriesItsCountAsError() {
+        SpaceSavingSummary s = new SpaceSavingSummary(2);
+        s.offer("A", 10);
+        s.offer("B", 3);
+        s.offer("C", 1);
+
+        assertEquals(2, s.size());
+        SpaceSavingSummary.Entry c = s.top(2).get(1);
+        assertEquals("C", c.getSku());
+        assertEquals(4, c.getCount());
+        assertEquals(3, c.getError());
+        assertEquals(1, c.getGuaranteedCount());
+    }
+
+    @Test
+    void merge_keepsCountsWithinTheirBounds() {
+        int capacity = 8;
+        SpaceSavingSummary left = new SpaceSavingSummary(capacity);
+        SpaceSavingSummary right = new SpaceSavingSummary(capacity);
+        Map<String, Long> exact = new HashMap<>();
+        feed(left, exact, 1, 5_000);
+        feed(right, exact, 2, 5_000);
+        long total = left.getTotal() + right.getTotal();
+
+        SpaceSavingSummary merged = new SpaceSavingSummary(capacity);
+        merged.merge(left);
+        merged.merge(right);
+        assertEquals(total, merged.getTotal());
+
+        List<SpaceSavingSummary.Entry> top = merged.top(capacity);
+        for (SpaceSavingSummary.Entry e : top) {
+            long actual = exact.getOrDefault(e.getSku(), 0L);
+            assertTrue(e.getCount() >= actual, e + " under-counts " + actual);
+            assertTrue(e.getGuaranteedCount() <= actual, e + " over-guarantees " + actual);
+        }
+        // every SKU above total / capacity must survive the merge
+        for (Map.Entry<String, Long> x : exact.entrySet()) {
+            if (x.getValue() > total / capacity) {
+                assertTrue(top.stream().anyMatch(e -> e.getSku().equals(x.getKey())), x.getKey() + " missing");
+            }
+        }
+    }
+
+    @Test
+    void merge_creditsMissingSkusWithTheOtherSummarysMinimum() {
+        SpaceSavingSummary left = new SpaceSavingSummary(2);
+        left.offer("A", 10);
+        left.offer("B", 4);
+        SpaceSavingSummary right = new SpaceSavingSummary(2);
+        right.offer("A", 6);
+        right.offer("C", 5);
+
+        left.merge(right);
+
+        List<SpaceSavingSummary.Entry> top = left.top(2);
+        assertEquals("A", top.get(0).getSku());
+        assertEquals(16, top.get(0).getCount());
+        assertEquals(0, top.get(0).getError());
+        // C may have been up to 4 in the left summary, B up to 5 in the right one
+        assertEquals("C", top.get(1).getSku());
+        assertEquals(9, top.get(1).getCount());
+        assertEquals(4, top.get(1).getError());
+    }
+}
@@ -0,0 +1,126 @@
+package System;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockMovementLedgerTest {
+
+    /** Clock whose time the test moves by hand. */
+    private static final class ManualClock extends Clock {
+        long millis;
+
+        ManualClock(long millis) { this.millis = millis; }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return Instant.ofEpochMilli(millis); }
+        @Override public long millis() { return millis; }
+    }
+
+    private ManualClock clock;
+    private StockMovementLedger ledger;
+    private StockManager stock;
+
+    @BeforeEach
+    void setup() {
+        Inventory inventory = new Inventory();
+        inventory.addProduct(new Product("P-001", "Hammer", "Tools", 25.0, 10, 3, 100));
+        inventory.addProduct(new Product("P-002", "Drill", "Tools", 80.0, 5, 1, 50));
+        clock = new ManualClock(1_000);
+        ledger = new StockMovementLedger(clock);
+        stock = new StockManager(inventory);
+        stock.addStockListener(ledger);
+    }
+
+    @Test
+    void movements_areRecordedWithReasonAndOrder() {
+        stock.decreaseStock("P-001", 4, "ORD-1");
+        clock.millis = 2_000;
+        stock.increaseStock("P-001", 20);
+        clock.millis = 3_000;
+        stock.setStock("p-001", 25);
+        stock.decreaseStock("P-002", 1);
+
+        List<StockMovementLedger.Movement> all = ledger.getMovements("P-001", 0, Long.MAX_VALUE);
+        assertEquals(3, all.size());
+        assertEquals(-4, all.get(0).getDelta());
+        assertEquals(6, all.get(0).getResultingQuantity());
+        assertEquals(MovementReason.ORDER, all.get(0).getReason());
+        assertEquals("ORD-1", all.get(0).getOrderId());
+        assertEquals(MovementReason.RECEIPT, all.get(1).getReason());
+        assertEquals(MovementReason.ADJUSTMENT, all.get(2).getReason());
+        assertEquals(-1, all.get(2).getDelta());
+
+        assertEquals(1, ledger.getMovements("P-001", 2_000, 3_000).size());
+        assertEquals(2, ledger.getMovements(3_000, 4_000).size());
+
+        Map<MovementReason, Long> net = ledger.getNetByReason("P-001", 0, Long.MAX_VALUE);
+        assertEquals(-4L, (long) net.get(MovementReason.ORDER));
+        assertEquals(20L, (long) net.get(MovementReason.RECEIPT));
+    }
+
+    @Test
+    void manualDecrease_isAnAdjustment_backorderFillIsAnOrder() {
+        stock.setBackorderBook(new BackorderBook());
+        stock.decreaseStock("P-002", 2);                              // manual, no order
+        assertNull(stock.reserveOrBackorder("P-002", 3, "ORD-1"));   // takes the last 3
+        assertNotNull(stock.reserveOrBackorder("P-002", 4, "ORD-2"));
+        stock.increaseStock("P-002", 10);                             // fills ORD-2
+
+        List<StockMovementLedger.Movement> all = ledger.getMovements("P-002", 0, Long.MAX_VALUE);
+        assertEquals(4, all.size());
+        assertEquals(MovementReason.ADJUSTMENT, all.get(0).getReason());
+        assertNull(all.get(0).getOrderId());
+        assertEquals(MovementReason.ORDER, all.get(1).getReason());
+        assertEquals("ORD-1", all.get(1).getOrderId());
+        assertEquals(MovementReason.RECEIPT, all.get(2).getReason());
+        assertEquals(MovementReason.ORDER, all.get(3).getReason());
+        assertEquals("ORD-2", all.get(3).getOrderId());
+        assertEquals(-4, all.get(3).getDelta());
+        assertEquals(6, all.get(3).getResultingQuantity());
+    }
+
+    @Test
+    void quantityAt_answersFromTheSkuHistory() {
+        clock.millis = 10_000;
+        stock.decreaseStock("P-001", 2);   // 8
+        clock.millis = 20_000;
+        stock.increaseStock("P-001", 7);   // 15
+        clock.millis = 30_000;
+        stock.decreaseStock("P-001", 5);   // 10
+
+        assertEquals(10, ledger.getQuantityAt("P-001", 5_000));   // before the first movement
+        assertEquals(8, ledger.getQuantityAt("P-001", 10_000));
+        assertEquals(15, ledger.getQuantityAt("P-001", 29_999));
+        assertEquals(10, ledger.getQuantityAt("P-001", 99_000));
+        assertEquals(-1, ledger.getQuantityAt("NOPE", 99_000));
+    }
+
+    @Test
+    void expiryWriteOffs_doNotCountAsDemand() {
+        Inventory inventory = new Inventory();
+        inventory.addProduct(new Product("F-001", "Milk", "Food", 1.5, 0, 0, 1_000));
+        StockManager sm = new StockManager(inventory);
+        sm.setLotTracker(new LotTracker(Clock.fixed(Instant.parse("2030-06-10T00:00:00Z"), ZoneOffset.UTC)));
+        DemandVelocityTracker velocity = new DemandVelocityTracker(clock);
+        sm.addStockListener(velocity);
+        sm.addStockListener(ledger);
+
+        sm.receiveLot("F-001", "L1", java.time.LocalDate.of(2030, 6, 1), 30);  // already expired
+        sm.receiveLot("F-001", "L2", java.time.LocalDate.of(2030, 7, 1), 10);
+        sm.decreaseStock("F-001", 4, "ORD-9");
+
+        assertEquals(6, sm.getStock("F-001"));
+        assertEquals(-30L, (long) ledger.getNetByReason("F-001", 0, Long.MAX_VALUE).get(MovementReason.EXPIRY));
+        assertEquals(4.0, velocity.getStats("F-001").getUnitsPerDay(), 0.0001);
+    }
+}
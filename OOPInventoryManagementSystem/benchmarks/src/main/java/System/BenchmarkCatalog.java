@@ -0,0 +1,42 @@
+package System;
+
+import java.util.Random;
+
+/**
+ * Deterministic synthetic catalogs for the benchmarks.
+ */
+final class BenchmarkCatalog {
+
+    static final String[] CATEGORIES = {
+            "Tools", "Food", "Electronics", "Garden", "Office", "Toys", "Clothing", "Hardware"
+    };
+
+    static final String[] WORDS = {
+            "hammer", "drill", "apple", "cable", "lamp", "chair", "battery", "glove",
+            "paper", "ladder", "socket", "bolt", "shovel", "rope", "kettle", "brush"
+    };
+
+    private BenchmarkCatalog() { }
+
+    static String sku(int i) {
+        return String.format("SKU-%08d", i);
+    }
+
+    /**
+     * Inventory with {@code size} products: SKU-00000000.., two-word names,
+     * 8 categories, and roughly 1 in 10 products at or below its min level.
+     */
+    static Inventory build(int size, long seed) {
+        Random rnd = new Random(seed);
+        Inventory inventory = new Inventory();
+        for (int i = 0; i < size; i++) {
+            String name = WORDS[rnd.nextInt(WORDS.length)] + " " + WORDS[rnd.nextInt(WORDS.length)] + " " + i;
+            String category = CATEGORIES[rnd.nextInt(CATEGORIES.length)];
+            double price = 1 + rnd.nextInt(50_000) / 100.0;
+            int min = 10;
+            int quantity = (rnd.nextInt(10) == 0) ? rnd.nextInt(min + 1) : min + 1 + rnd.nextInt(500);
+            inventory.addProduct(new Product(sku(i), name, category, price, quantity, min, 10_000));
+        }
+        return inventory;
+    }
+}
@@ -0,0 +1,73 @@
+package System;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-file CSV save and load. Each operation is one whole catalog, so the
+ * score is time per file; divide catalogSize by it for rows per second.
+ *
+ * The fork gets a 4 GB heap, enough up to 1M rows. For 10M rows raise it on
+ * the command line (-jvmArgs replaces the heap set here):
+ * {@code java -jar target/benchmarks.jar CsvStoreBenchmark -p catalogSize=10000000 -jvmArgs -Xmx16g}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class CsvStoreBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    private Inventory inventory;
+    private Path dir;
+    private String loadFile;
+    private String saveFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        inventory = BenchmarkCatalog.build(catalogSize, 42);
+        dir = Files.createTempDirectory("csv-bench");
+        loadFile = dir.resolve("load.csv").toString();
+        saveFile = dir.resolve("save.csv").toString();
+        CsvStore.saveProducts(loadFile, inventory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(loadFile));
+        Files.deleteIfExists(Path.of(saveFile));
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public void saveProducts() {
+        CsvStore.saveProducts(saveFile, inventory);
+    }
+
+    @Benchmark
+    public Inventory loadProducts() {
+        Inventory target = new Inventory();
+        CsvStore.loadProducts(loadFile, target);
+        return target;
+    }
+}
@@ -0,0 +1,89 @@
+package System;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of Inventory over catalogs of 1k to 1M products.
+ *
+ * The fork gets a 4 GB heap, enough up to 1M. For 10M products raise it on
+ * the command line (-jvmArgs replaces the heap set here):
+ * {@code java -jar target/benchmarks.jar InventoryBenchmark -p catalogSize=10000000 -jvmArgs -Xmx16g}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class InventoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    private Inventory inventory;
+    private String[] lookupSkus;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        inventory = BenchmarkCatalog.build(catalogSize, 42);
+
+        // pre-drawn keys so the benchmark does not measure Random or String.format
+        Random rnd = new Random(7);
+        lookupSkus = new String[4096];
+        for (int i = 0; i < lookupSkus.length; i++) {
+            lookupSkus[i] = BenchmarkCatalog.sku(rnd.nextInt(catalogSize));
+        }
+    }
+
+    private String nextSku() {
+        cursor = (cursor + 1) & (lookupSkus.length - 1);
+        return lookupSkus[cursor];
+    }
+
+    @Benchmark
+    public Product findBySku() {
+        return inventory.findBySku(nextSku());
+    }
+
+    /**
+     * Repeated keyword: served by the search cache after the first call.
+     */
+    @Benchmark
+    public List<Product> searchByName_cached() {
+        return inventory.searchByName("ladder rope");
+    }
+
+    /**
+     * Cache cleared every call: measures the full substring scan.
+     */
+    @Benchmark
+    public List<Product> searchByName_scan() {
+        inventory.getSearchCache().clear();
+        return inventory.searchByName("ladder rope");
+    }
+
+    @Benchmark
+    public List<Product> getLowStockProducts() {
+        return inventory.getLowStockProducts();
+    }
+
+    @Benchmark
+    public double getTotalInventoryValue() {
+        return inventory.getTotalInventoryValue();
+    }
+}
@@ -0,0 +1,85 @@
+package System;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderService.placeOrder throughput by order size and thread count.
+ *
+ * Stock is set high enough that no order fails during a run. Thread
+ * counts are fixed per method (JMH cannot parameterise @Threads); use
+ * -t on the command line for other values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class OrderServiceBenchmark {
+
+    private static final int STOCK_PER_SKU = 1_000_000_000;
+
+    @Param({"1000", "100000"})
+    public int catalogSize;
+
+    @Param({"1", "5", "20"})
+    public int lineCount;
+
+    private Product[] products;
+    private OrderService orderService;
+    private OrderIdGenerator orderIds;
+
+    @Setup
+    public void setup() {
+        Inventory inventory = BenchmarkCatalog.build(catalogSize, 42);
+        StockManager stockManager = new StockManager(inventory);
+        for (Product p : inventory.getAllProducts()) {
+            stockManager.setStock(p.getSku(), STOCK_PER_SKU);
+        }
+        products = inventory.getAllProducts().toArray(new Product[0]);
+        orderService = new OrderService(stockManager); // no repository: placed orders are not retained
+        orderIds = new OrderIdGenerator(1);
+    }
+
+    private Order place() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        Order order = Order.withGeneratedId(orderIds);
+        for (int i = 0; i < lineCount; i++) {
+            order.addItem(products[rnd.nextInt(products.length)], 1);
+        }
+        orderService.placeOrder(order);
+        return order;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Order placeOrder_1thread() {
+        return place();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Order placeOrder_4threads() {
+        return place();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Order placeOrder_16threads() {
+        return place();
+    }
+}
@@ -0,0 +1,79 @@
+package System;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stock-update throughput of ShardedInventory as the shard count grows.
+ * Each invocation queues a batch of updates across all shards and waits
+ * for the batch, so shards work in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ShardedInventoryBenchmark {
+
+    private static final int BATCH = 4096;
+
+    @Param({"1", "2", "4", "8"})
+    public int shards;
+
+    @Param({"100000"})
+    public int catalogSize;
+
+    private ShardedInventory inventory;
+    private String[] skus;
+
+    @Setup
+    public void setup() {
+        inventory = new ShardedInventory(shards);
+        Random rnd = new Random(42);
+        for (int i = 0; i < catalogSize; i++) {
+            String name = BenchmarkCatalog.WORDS[rnd.nextInt(BenchmarkCatalog.WORDS.length)] + " " + i;
+            String category = BenchmarkCatalog.CATEGORIES[rnd.nextInt(BenchmarkCatalog.CATEGORIES.length)];
+            inventory.addProduct(new Product(BenchmarkCatalog.sku(i), name, category, 10.0, 1_000, 10, Integer.MAX_VALUE));
+        }
+        skus = new String[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            skus[i] = BenchmarkCatalog.sku(rnd.nextInt(catalogSize));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        inventory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void increaseStock_batch() {
+        CompletableFuture<?>[] pending = new CompletableFuture<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            pending[i] = inventory.increaseStockAsync(skus[i], 1);
+        }
+        CompletableFuture.allOf(pending).join();
+    }
+
+    @Benchmark
+    public double getTotalInventoryValue() {
+        return inventory.getTotalInventoryValue();
+    }
+}
@@ -0,0 +1,31 @@
+package System;
+
+/**
+ * Chooses the location an order line is taken from (LocationStockManager).
+ *
+ * A policy keeps its own per-SKU index of which locations hold stock, fed
+ * by {@link #onQuantityChanged}, so {@link #choose} does not have to look
+ * at every location. Locations are passed as the dense ids the manager
+ * assigns (0, 1, 2, ...).
+ */
+public interface AllocationPolicy {
+
+    /**
+     * A new location was registered.
+     */
+    void onLocationAdded(int locationId, String code);
+
+    /**
+     * Stock of a SKU at a location changed (SKU is trimmed, upper case).
+     */
+    void onQuantityChanged(String sku, int locationId, int before, int after);
+
+    /**
+     * Best location to take units of the SKU from.
+     * If it holds less than {@code quantity}, the manager takes what it has
+     * and asks again for the rest.
+     *
+     * @return a location id with stock, or -1 if no location has any
+     */
+    int choose(String sku, int quantity);
+}
@@ -0,0 +1,50 @@
+package System;
+
+/**
+ * One order line waiting for stock.
+ * Filled (possibly in several steps) when its SKU is restocked.
+ */
+public class Backorder {
+
+    private final String orderId;
+    private final String sku;
+    private final int requestedQuantity;
+    private int remainingQuantity;
+
+    public Backorder(String orderId, String sku, int quantity) {
+        if (orderId == null || orderId.isBlank()) throw new IllegalArgumentException("Order ID cannot be empty");
+        if (sku == null || sku.isBlank()) throw new IllegalArgumentException("SKU cannot be empty");
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be positive");
+
+        this.orderId = orderId.trim();
+        this.sku = sku.trim().toUpperCase();
+        this.requestedQuantity = quantity;
+        this.remainingQuantity = quantity;
+    }
+
+    public String getOrderId() { return orderId; }
+    public String getSku() { return sku; }
+    public int getRequestedQuantity() { return requestedQuantity; }
+    public int getRemainingQuantity() { return remainingQuantity; }
+
+    public boolean isFulfilled() {
+        return remainingQuantity == 0;
+    }
+
+    void fill(int amount) {
+        if (amount <= 0 || amount > remainingQuantity) {
+            throw new IllegalArgumentException("Invalid fill amount: " + amount);
+        }
+        remainingQuantity -= amount;
+    }
+
+    @Override
+    public String toString() {
+        return "Backorder{" +
+                "orderId='" + orderId + '\'' +
+                ", sku='" + sku + '\'' +
+                ", requested=" + requestedQuantity +
+                ", remaining=" + remainingQuantity +
+                '}';
+    }
+}
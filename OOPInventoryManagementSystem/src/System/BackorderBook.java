@@ -0,0 +1,145 @@
+package System;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * FIFO queues of unfulfilled order lines, one queue per SKU.
+ *
+ * StockManager calls {@link #fulfil(String, int)} inside the same
+ * critical section that adds stock, so waiting lines are served in arrival
+ * order as soon as units arrive. Only the head of the restocked SKU's queue
+ * is looked at; other SKUs and already-served lines are never rescanned.
+ */
+public class BackorderBook {
+
+    private final Map<String, Deque<Backorder>> queues;
+    private final List<BackorderListener> listeners;
+
+    public BackorderBook() {
+        this.queues = new HashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    public void addListener(BackorderListener listener) {
+        if (listener != null) listeners.add(listener);
+    }
+
+    public void removeListener(BackorderListener listener) {
+        listeners.remove(listener);
+    }
+
+    private String normSku(String sku) {
+        return (sku == null) ? "" : sku.trim().toUpperCase();
+    }
+
+    /**
+     * Park a line at the tail of its SKU queue.
+     */
+    public synchronized Backorder park(String orderId, String sku, int quantity) {
+        Backorder b = new Backorder(orderId, sku, quantity);
+        queues.computeIfAbsent(b.getSku(), k -> new ArrayDeque<>()).addLast(b);
+        return b;
+    }
+
+    /**
+     * True if lines are already waiting for this SKU
+     * (new demand must then queue behind them).
+     */
+    public synchronized boolean hasWaiting(String sku) {
+        Deque<Backorder> q = queues.get(normSku(sku));
+        return q != null && !q.isEmpty();
+    }
+
+    /**
+     * Hand available units to waiting lines, oldest first.
+     * The caller deducts the returned amount from stock.
+     *
+     * @return number of units allocated (at most {@code available})
+     */
+    public synchronized int fulfil(String sku, int available) {
+        return fulfil(sku, available, null);
+    }
+
+    /**
+     * As {@link #fulfil(String, int)}, also reporting each fill to {@code onFill}
+     * (StockManager uses it to deduct and record stock per order).
+     * {@code onFill} runs before the line is filled; if it throws, that line
+     * and the ones behind it stay queued as they were.
+     */
+    synchronized int fulfil(String sku, int available, BackorderListener onFill) {
+        String key = normSku(sku);
+        Deque<Backorder> q = queues.get(key);
+        if (q == null || available <= 0) return 0;
+
+        int allocated = 0;
+        while (!q.isEmpty() && allocated < available) {
+            Backorder head = q.peekFirst();
+            int take = Math.min(head.getRemainingQuantity(), available - allocated);
+
+            // onFill takes the stock; the line only moves once that worked
+            if (onFill != null) {
+                onFill.onBackorderFilled(head, take);
+            }
+            head.fill(take);
+            allocated += take;
+            if (head.isFulfilled()) {
+                q.pollFirst();
+            }
+            for (BackorderListener l : listeners) {
+                l.onBackorderFilled(head, take);
+            }
+        }
+        if (q.isEmpty()) {
+            queues.remove(key);
+        }
+        return allocated;
+    }
+
+    /**
+     * Remove every waiting line of an order (e.g. when it is cancelled).
+     *
+     * @return number of lines removed
+     */
+    public synchronized int cancel(String orderId) {
+        if (orderId == null) return 0;
+        String id = orderId.trim();
+
+        int removed = 0;
+        List<String> emptied = new ArrayList<>();
+        for (Map.Entry<String, Deque<Backorder>> e : queues.entrySet()) {
+            int before = e.getValue().size();
+            e.getValue().removeIf(b -> b.getOrderId().equals(id));
+            removed += before - e.getValue().size();
+            if (e.getValue().isEmpty()) emptied.add(e.getKey());
+        }
+        for (String sku : emptied) {
+            queues.remove(sku);
+        }
+        return removed;
+    }
+
+    /**
+     * Waiting lines for a SKU in queue order.
+     */
+    public synchronized List<Backorder> getWaiting(String sku) {
+        Deque<Backorder> q = queues.get(normSku(sku));
+        return (q == null) ? new ArrayList<>() : new ArrayList<>(q);
+    }
+
+    /**
+     * Units still owed for a SKU.
+     */
+    public synchronized int getWaitingQuantity(String sku) {
+        int total = 0;
+        for (Backorder b : getWaiting(sku)) {
+            total += b.getRemainingQuantity();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,13 @@
+package System;
+
+/**
+ * Notified when waiting backorders receive stock.
+ */
+public interface BackorderListener {
+
+    /**
+     * @param backorder the backorder that received stock
+     * @param quantity  units allocated in this step
+     */
+    void onBackorderFilled(Backorder backorder, int quantity);
+}
@@ -0,0 +1,402 @@
+package System;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Seeded generator of production-shaped data for load tests.
+ *
+ * The same seed and settings always give the same products, suppliers and
+ * order stream:
+ * <ul>
+ *   <li>products in the CsvStore 7-column layout, with a share of them
+ *       PerishableProduct with expiry dates from a few days past to two
+ *       months ahead (relative to {@link #setToday});</li>
+ *   <li>suppliers that each supply {@code skusPerSupplier} SKUs;</li>
+ *   <li>orders whose SKUs follow a Zipf popularity curve, so a small head
+ *       of products takes most of the demand, as in real traffic.</li>
+ * </ul>
+ * Everything is streamed; nothing is held per product except the Inventory
+ * being populated.
+ */
+public class CatalogGenerator {
+
+    private static final String[] CATEGORIES = {
+            "Tools", "Food", "Dairy", "Electronics", "Garden", "Office",
+            "Toys", "Clothing", "Hardware", "Bakery", "Beverages", "Cleaning"
+    };
+    private static final boolean[] PERISHABLE_CATEGORY = {
+            false, true, true, false, false, false,
+            false, false, false, true, true, false
+    };
+    private static final String[] ADJECTIVES = {
+            "Red", "Large", "Compact", "Organic", "Heavy", "Mini", "Classic", "Premium",
+            "Cordless", "Fresh", "Steel", "Eco", "Smart", "Dry", "Soft", "Pro"
+    };
+    private static final String[] NOUNS = {
+            "Hammer", "Drill", "Apple", "Cable", "Lamp", "Chair", "Battery", "Glove",
+            "Paper", "Ladder", "Socket", "Bolt", "Shovel", "Rope", "Kettle", "Brush",
+            "Milk", "Cheese", "Bread", "Juice", "Yogurt", "Soap", "Marker", "Tape"
+    };
+
+    private final long seed;
+    private final int productCount;
+
+    private int supplierCount = 100;
+    private int skusPerSupplier = 2_000;
+    private double perishableRatio = 0.3;   // share of products in perishable categories
+    private double zipfExponent = 1.07;     // typical retail popularity skew
+    private int maxLinesPerOrder = 20;
+    private LocalDate today = LocalDate.now();
+
+    public CatalogGenerator(long seed, int productCount) {
+        if (productCount <= 0) throw new IllegalArgumentException("Product count must be positive");
+        this.seed = seed;
+        this.productCount = productCount;
+    }
+
+    /* =========================
+       Settings
+       ========================= */
+
+    public void setSupplierCount(int supplierCount) {
+        if (supplierCount < 0) throw new IllegalArgumentException("Supplier count cannot be negative");
+        this.supplierCount = supplierCount;
+    }
+
+    public void setSkusPerSupplier(int skusPerSupplier) {
+        if (skusPerSupplier < 0) throw new IllegalArgumentException("SKUs per supplier cannot be negative");
+        this.skusPerSupplier = skusPerSupplier;
+    }
+
+    public void setPerishableRatio(double perishableRatio) {
+        if (perishableRatio < 0 || perishableRatio > 1) {
+            throw new IllegalArgumentException("Perishable ratio must be between 0 and 1");
+        }
+        this.perishableRatio = perishableRatio;
+    }
+
+    public void setZipfExponent(double zipfExponent) {
+        if (zipfExponent <= 0) throw new IllegalArgumentException("Zipf exponent must be positive");
+        this.zipfExponent = zipfExponent;
+    }
+
+    public void setMaxLinesPerOrder(int maxLinesPerOrder) {
+        if (maxLinesPerOrder <= 0) throw new IllegalArgumentException("Max lines per order must be positive");
+        this.maxLinesPerOrder = maxLinesPerOrder;
+    }
+
+    /**
+     * Reference date for perishable expiry dates (default: today).
+     * Fix it as well as the seed for byte-identical output.
+     */
+    public void setToday(LocalDate today) {
+        if (today == null) throw new IllegalArgumentException("Date cannot be null");
+        this.today = today;
+    }
+
+    public int getProductCount() { return productCount; }
+
+    public static String skuOf(int index) {
+        return String.format("SKU-%08d", index);
+    }
+
+    /* =========================
+       Products
+       ========================= */
+
+    /**
+     * Stream every product, in SKU order, to the consumer.
+     */
+    public void forEachProduct(Consumer<Product> consumer) {
+        Random rnd = new Random(seed);
+        for (int i = 0; i < productCount; i++) {
+            consumer.accept(product(i, rnd));
+        }
+    }
+
+    private Product product(int i, Random rnd) {
+        String name = ADJECTIVES[rnd.nextInt(ADJECTIVES.length)] + " " + NOUNS[rnd.nextInt(NOUNS.length)]
+                + " " + (i % 1000);
+
+        boolean perishable = rnd.nextDouble() < perishableRatio;
+        int c;
+        do {
+            c = rnd.nextInt(CATEGORIES.length);
+        } while (PERISHABLE_CATEGORY[c] != perishable);
+
+        // log-uniform prices between 0.50 and 2000.00
+        double price = Math.round(Math.exp(Math.log(0.5) + rnd.nextDouble() * Math.log(4000)) * 100.0) / 100.0;
+        int min = 5 + rnd.nextInt(46);
+        int max = min * (4 + rnd.nextInt(7));
+        int quantity = (rnd.nextInt(10) == 0) ? rnd.nextInt(min + 1) : min + rnd.nextInt(max - min + 1);
+
+        if (!perishable) {
+            return new Product(skuOf(i), name, CATEGORIES[c], price, quantity, min, max);
+        }
+        LocalDate expiry = today.plusDays(rnd.nextInt(66) - 5); // 5 days past .. 60 days ahead
+        return new PerishableProduct(skuOf(i), name, CATEGORIES[c], price, quantity, min, max, expiry);
+    }
+
+    /**
+     * Write all products in the CsvStore 7-column format.
+     * The CSV layout has no expiry column, so perishables are written as plain rows.
+     */
+    public void writeProductsCsv(Path file) {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("sku,name,category,quantity,price,minStockLevel,maxStockLevel");
+            out.newLine();
+            forEachProduct(p -> {
+                try {
+                    out.write(String.format(Locale.ROOT, "%s,%s,%s,%d,%.2f,%d,%d",
+                            p.getSku(), CsvStore.escapeCsv(p.getName()), CsvStore.escapeCsv(p.getCategory()),
+                            p.getQuantity(), p.getUnitPrice(), p.getMinStockLevel(), p.getMaxStockLevel()));
+                    out.newLine();
+                } catch (IOException e) {
+                    throw new RuntimeException("Error writing products: " + file, e);
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing products: " + file, e);
+        }
+    }
+
+    /* =========================
+       Suppliers
+       ========================= */
+
+    /**
+     * Suppliers SUP-0000.. each linked to skusPerSupplier distinct SKUs.
+     * A SKU may have several suppliers, or none.
+     */
+    public List<Supplier> generateSuppliers() {
+        Random rnd = new Random(seed * 31 + 7);
+        int links = Math.min(skusPerSupplier, productCount);
+
+        List<Supplier> result = new ArrayList<>();
+        for (int s = 0; s < supplierCount; s++) {
+            String code = String.format("SUP-%04d", s);
+            double rating = Math.round((1 + rnd.nextDouble() * 4) * 10.0) / 10.0;
+            Supplier supplier = new Supplier(code, "Supplier " + s, "", code.toLowerCase() + "@example.com",
+                    "", rating, rnd.nextInt(20) != 0);
+
+            // a contiguous block from a random offset plus a random stride: distinct, cheap, spread out
+            int start = rnd.nextInt(productCount);
+            int stride = 1 + rnd.nextInt(Math.max(1, productCount / Math.max(1, links)));
+            for (int k = 0; k < links; k++) {
+                supplier.addSuppliedProductSku(skuOf((int) ((start + (long) k * stride) % productCount)));
+            }
+            result.add(supplier);
+        }
+        return result;
+    }
+
+    /**
+     * Add all generated products and suppliers (with their links) to the inventory.
+     *
+     * @return number of products added
+     */
+    public int populate(Inventory inventory) {
+        if (inventory == null) throw new IllegalArgumentException("Inventory cannot be null");
+        int[] added = {0};
+        forEachProduct(p -> {
+            if (inventory.addProduct(p)) added[0]++;
+        });
+        for (Supplier s : generateSuppliers()) {
+            inventory.addSupplier(s);
+        }
+        return added[0];
+    }
+
+    /* =========================
+       Orders
+       ========================= */
+
+    /**
+     * One generated order: an id and its (sku, quantity) lines.
+     */
+    public static final class GeneratedOrder {
+        private final String orderId;
+        private final List<String> skus;
+        private final List<Integer> quantities;
+
+        GeneratedOrder(String orderId, List<String> skus, List<Integer> quantities) {
+            this.orderId = orderId;
+            this.skus = skus;
+            this.quantities = quantities;
+        }
+
+        public String getOrderId() { return orderId; }
+        public int getLineCount() { return skus.size(); }
+        public String getSku(int line) { return skus.get(line); }
+        public int getQuantity(int line) { return quantities.get(line); }
+    }
+
+    /**
+     * A deterministic stream of {@code count} orders. SKU popularity is Zipf
+     * over a fixed shuffle of the catalog, so the best sellers are spread
+     * across the SKU range instead of being SKU-00000000, -01, ...
+     */
+    public Iterator<GeneratedOrder> orders(long count) {
+        if (count < 0) throw new IllegalArgumentException("Count cannot be negative");
+        Random rnd = new Random(seed * 31 + 13);
+        ZipfSampler zipf = new ZipfSampler(productCount, zipfExponent);
+        RankShuffle shuffle = new RankShuffle(productCount, rnd.nextLong());
+
+        return new Iterator<GeneratedOrder>() {
+            private long next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public GeneratedOrder next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                String id = String.format("GEN-%010d", next++);
+
+                // line count: geometric, mean ~2.5, capped
+                int lines = 1;
+                while (lines < maxLinesPerOrder && rnd.nextDouble() < 0.6) lines++;
+
+                List<String> skus = new ArrayList<>(lines);
+                List<Integer> quantities = new ArrayList<>(lines);
+                for (int l = 0; l < lines; l++) {
+                    String sku = skuOf(shuffle.indexOf(zipf.sample(rnd) - 1));
+                    if (skus.contains(sku)) continue; // one line per SKU, like Order.addItem would merge
+                    skus.add(sku);
+                    quantities.add(1 + ((rnd.nextInt(4) == 0) ? rnd.nextInt(5) : 0));
+                }
+                return new GeneratedOrder(id, skus, quantities);
+            }
+        };
+    }
+
+    /**
+     * Write {@code count} orders in the OrderIngestionPipeline CSV format
+     * (orderId,sku,quantity; one row per line item).
+     */
+    public void writeOrdersCsv(Path file, long count) {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("orderId,sku,quantity");
+            out.newLine();
+            Iterator<GeneratedOrder> it = orders(count);
+            while (it.hasNext()) {
+                GeneratedOrder o = it.next();
+                for (int l = 0; l < o.getLineCount(); l++) {
+                    out.write(o.getOrderId() + "," + o.getSku(l) + "," + o.getQuantity(l));
+                    out.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing orders: " + file, e);
+        }
+    }
+
+    /* =========================
+       Sampling helpers
+       ========================= */
+
+    /**
+     * Bijection rank -> product index: i -> (a * i + b) mod n with gcd(a, n) = 1.
+     * Shuffles popularity over the catalog without an n-sized table.
+     */
+    private static final class RankShuffle {
+        private final long n;
+        private final long a;
+        private final long b;
+
+        RankShuffle(int n, long randomBits) {
+            this.n = n;
+            long candidate = 1 + Math.floorMod(randomBits, (long) n);
+            while (gcd(candidate, n) != 1) candidate++;
+            this.a = candidate % n;
+            this.b = Math.floorMod(randomBits >>> 17, (long) n);
+        }
+
+        int indexOf(int rank) {
+            return (int) ((a * rank + b) % n);
+        }
+
+        private static long gcd(long x, long y) {
+            while (y != 0) {
+                long t = x % y;
+                x = y;
+                y = t;
+            }
+            return x;
+        }
+    }
+
+    /**
+     * Zipf(n, s) sampler by rejection-inversion (Hormann and Derflinger, 1996):
+     * O(1) memory and expected O(1) time per sample for any n.
+     * Returns ranks 1..n, rank k with probability proportional to 1 / k^s.
+     */
+    static final class ZipfSampler {
+        private final int n;
+        private final double s;
+        private final double hIntegralX1;
+        private final double hIntegralN;
+        private final double sLimit;
+
+        ZipfSampler(int n, double s) {
+            this.n = n;
+            this.s = s;
+            this.hIntegralX1 = hIntegral(1.5) - 1;
+            this.hIntegralN = hIntegral(n + 0.5);
+            this.sLimit = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+        }
+
+        int sample(Random rnd) {
+            while (true) {
+                double u = hIntegralN + rnd.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                int k = (int) (x + 0.5);
+                if (k < 1) k = 1;
+                else if (k > n) k = n;
+
+                if (k - x <= sLimit || u >= hIntegral(k + 0.5) - h(k)) {
+                    return k;
+                }
+            }
+        }
+
+        private double h(double x) {
+            return Math.exp(-s * Math.log(x));
+        }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return helper2((1 - s) * logX) * logX;
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = x * (1 - s);
+            if (t < -1) t = -1; // guard against rounding
+            return Math.exp(helper1(t) * x);
+        }
+
+        /** log(1 + x) / x, stable near 0. */
+        private static double helper1(double x) {
+            return (Math.abs(x) > 1e-8) ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+        }
+
+        /** (exp(x) - 1) / x, stable near 0. */
+        private static double helper2(double x) {
+            return (Math.abs(x) > 1e-8) ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3.0 * (1 + 0.25 * x));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package System;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Products grouped by category (trimmed, lower case).
+ */
+public class CategoryIndex implements ProductIndex {
+
+    private final Map<String, Set<Product>> byCategory = new HashMap<>();
+
+    private static String key(String category) {
+        return (category == null) ? "" : category.trim().toLowerCase();
+    }
+
+    @Override
+    public void onProductAdded(Product product) {
+        byCategory.computeIfAbsent(key(product.getCategory()), k -> new LinkedHashSet<>()).add(product);
+    }
+
+    @Override
+    public void onProductRemoved(Product product) {
+        remove(key(product.getCategory()), product);
+    }
+
+    @Override
+    public void onProductChanged(Product product, ProductField field, Object oldValue) {
+        if (field != ProductField.CATEGORY) return;
+        remove(key((String) oldValue), product);
+        onProductAdded(product);
+    }
+
+    private void remove(String key, Product product) {
+        Set<Product> bucket = byCategory.get(key);
+        if (bucket == null) return;
+        bucket.remove(product);
+        if (bucket.isEmpty()) byCategory.remove(key);
+    }
+
+    /**
+     * Products whose category equals the given one (case-insensitive).
+     */
+    public List<Product> get(String category) {
+        Set<Product> bucket = byCategory.get(key(category));
+        return (bucket == null) ? new ArrayList<>() : new ArrayList<>(bucket);
+    }
+
+    @Override
+    public long estimate(ProductQuery.Condition condition, long bound) {
+        if (!(condition instanceof ProductQuery.CategoryEquals)) return -1;
+        Set<Product> bucket = byCategory.get(((ProductQuery.CategoryEquals) condition).getCategory());
+        return (bucket == null) ? 0 : bucket.size();
+    }
+
+    @Override
+    public Iterable<Product> candidates(ProductQuery.Condition condition) {
+        Set<Product> bucket = byCategory.get(((ProductQuery.CategoryEquals) condition).getCategory());
+        return (bucket == null) ? new ArrayList<>() : bucket;
+    }
+}
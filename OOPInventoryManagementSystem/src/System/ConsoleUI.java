@@ -1,18 +1,33 @@
 package System;
 
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
 
 public class ConsoleUI {
 
     private static final String FILE =
             "C:\\Users\\hassa\\Desktop\\4.2.1\\Object Oriented Programming\\project\\data.csv";
 
+    private static final OrderIdGenerator ORDER_IDS = new OrderIdGenerator(0);
+
     public static void main(String[] args) {
 
+        // Operation timings, readable over JMX (jconsole: OOPInventory domain)
+        MetricsRegistry metrics = new MetricsRegistry("OOPInventory");
+        CsvStore.setMetrics(metrics);
+
         Inventory inventory = new Inventory();
+        inventory.setMetrics(metrics);
         StockManager stockManager = new StockManager(inventory);
-        OrderService orderService = new OrderService(stockManager);
+        StockOperations stockOps = new InstrumentedStockOperations(stockManager, metrics);
+        OrderRepository orderRepository = new OrderRepository();
+        orderRepository.attachLog(new OrderLog(Paths.get(FILE).resolveSibling("orders")));
+        OrderService orderService = new OrderService(stockManager, orderRepository);
+        orderService.setMetrics(metrics);
 
         // Load from file on startup
         CsvStore.loadProducts(FILE, inventory);
@@ -31,11 +46,15 @@ public class ConsoleUI {
                     case "1" -> addProduct(sc, inventory);
                     case "2" -> removeProduct(sc, inventory);
                     case "3" -> searchProduct(sc, inventory);
-                    case "4" -> updateStock(sc, inventory, stockManager); // FIXED
+                    case "4" -> updateStock(sc, inventory, stockOps); // FIXED
                     case "5" -> showLowStock(inventory);
                     case "6" -> placeOrder(sc, inventory, orderService);
                     case "7" -> printAll(inventory);
                     case "8" -> reloadFromFile(inventory);
+                    case "9" -> showOrderStatusCounts(orderRepository);
+                    case "10" -> importOrders(sc, inventory, orderService);
+                    case "11" -> System.out.print(InventoryHealthReport.build(inventory));
+                    case "12" -> System.out.print(metrics.summary());
                     case "0" -> {
                         System.out.println("Bye");
                         sc.close();
@@ -59,6 +78,10 @@ public class ConsoleUI {
         System.out.println("6) Place Order (deduct stock) ");
         System.out.println("7) Print All Products");
         System.out.println("8) Reload from CSV now");
+        System.out.println("9) Show Order Counts by Status");
+        System.out.println("10) Import Orders from CSV/NDJSON file");
+        System.out.println("11) Inventory Health Report");
+        System.out.println("12) Show Operation Latencies");
         System.out.println("0) Exit");
         System.out.println("============================================");
     }
@@ -130,6 +153,7 @@ public class ConsoleUI {
 
         System.out.println("1) Search by SKU");
         System.out.println("2) Search by Name keyword");
+        System.out.println("3) Complete SKU or Name prefix");
         System.out.print("Choose: ");
         String c = sc.nextLine().trim();
 
@@ -142,6 +166,22 @@ public class ConsoleUI {
             System.out.print("Keyword: ");
             String k = sc.nextLine();
             List<Product> list = inventory.searchByName(k);
+            if (!list.isEmpty()) {
+                list.forEach(System.out::println);
+            } else {
+                List<Product> close = inventory.fuzzySearch(k, 10);
+                if (close.isEmpty()) {
+                    System.out.println("No matches.");
+                } else {
+                    System.out.println("No exact matches. Did you mean:");
+                    close.forEach(System.out::println);
+                }
+            }
+        } else if (c.equals("3")) {
+            System.out.print("Prefix: ");
+            String prefix = sc.nextLine();
+            Set<Product> list = new LinkedHashSet<>(inventory.completeSku(prefix, 10));
+            list.addAll(inventory.completeName(prefix, 10));
             if (list.isEmpty()) System.out.println("No matches.");
             else list.forEach(System.out::println);
         } else {
@@ -150,7 +190,7 @@ public class ConsoleUI {
     }
 
     // FIXED: now we receive inventory, so we can save correctly
-    private static void updateStock(Scanner sc, Inventory inventory, StockManager stockManager) {
+    private static void updateStock(Scanner sc, Inventory inventory, StockOperations stockManager) {
         System.out.println("1) Increase Stock");
         System.out.println("2) Decrease Stock");
         System.out.print("Choose: ");
@@ -190,10 +230,13 @@ public class ConsoleUI {
     }
 
     private static void placeOrder(Scanner sc, Inventory inventory, OrderService orderService) {
-        System.out.print("Order ID: ");
+        System.out.print("Order ID (blank = generate): ");
         String orderId = sc.nextLine();
 
-        Order order = new Order(orderId);
+        Order order = orderId.isBlank()
+                ? Order.withGeneratedId(ORDER_IDS)
+                : new Order(orderId);
+        System.out.println("Order ID = " + order.getOrderId());
 
         while (true) {
             System.out.print("Enter Product SKU to add (or 'done'): ");
@@ -222,6 +265,34 @@ public class ConsoleUI {
         System.out.println("Total = " + order.getTotalAmount());
     }
 
+    private static void showOrderStatusCounts(OrderRepository orderRepository) {
+        System.out.println("--- Orders by Status ---");
+        for (Map.Entry<OrderStatus, Integer> e : orderRepository.getStatusCounts().entrySet()) {
+            System.out.println(e.getKey() + " = " + e.getValue());
+        }
+    }
+
+    private static void importOrders(Scanner sc, Inventory inventory, OrderService orderService) {
+        System.out.print("Orders file path: ");
+        String path = sc.nextLine().trim();
+
+        OrderIngestionPipeline.Format format = path.toLowerCase().endsWith(".ndjson")
+                ? OrderIngestionPipeline.Format.NDJSON
+                : OrderIngestionPipeline.Format.CSV;
+
+        int[] placed = new int[1];
+        int[] rejected = new int[1];
+        OrderIngestionPipeline pipeline = new OrderIngestionPipeline(inventory, orderService);
+        OrderIngestionPipeline.Report report = pipeline.ingest(Paths.get(path), format, outcome -> {
+            if (outcome.getResult() == OrderIngestionPipeline.Result.PLACED) placed[0]++;
+            else rejected[0]++;
+        });
+
+        saveNow(inventory);
+        System.out.println("Placed = " + placed[0] + ", Rejected = " + rejected[0]);
+        System.out.print(report);
+    }
+
     private static void printAll(Inventory inventory) {
         reloadFromFile(inventory);
         inventory.printAllProducts();
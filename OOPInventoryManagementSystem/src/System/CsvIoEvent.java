@@ -0,0 +1,50 @@
+package System;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.io.File;
+
+/**
+ * JFR event for a CsvStore load, save or reload of the product file.
+ */
+@Name("oopinventory.CsvIo")
+@Label("Product CSV I/O")
+@Category({"Inventory", "File I/O"})
+@Description("Whole-file product CSV load, save or reload")
+class CsvIoEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Path")
+    String path;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    /**
+     * End the event and commit it if enabled. The file size is only read
+     * when the event is actually committed.
+     *
+     * @param rows product rows read or written, -1 if the operation failed
+     */
+    void finish(String operation, String path, long rows) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.path = path;
+            this.rows = rows;
+            this.bytes = (path == null) ? 0 : new File(path).length();
+            commit();
+        }
+    }
+}
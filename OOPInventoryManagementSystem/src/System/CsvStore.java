@@ -8,6 +8,18 @@ public class CsvStore {
     // New CSV format (7 columns):
     // sku,name,category,quantity,price,minStockLevel,maxStockLevel
 
+    // Optional load/save timings (setMetrics); null = off
+    private static volatile OperationMetrics loadMetrics;
+    private static volatile OperationMetrics saveMetrics;
+
+    /**
+     * Time loadProducts/saveProducts into the registry (null = off).
+     */
+    public static void setMetrics(MetricsRegistry metrics) {
+        loadMetrics = (metrics == null) ? null : metrics.operation("csv.load");
+        saveMetrics = (metrics == null) ? null : metrics.operation("csv.save");
+    }
+
     public static void ensureFileExists(String filePath) {
         File f = new File(filePath);
         if (!f.exists()) {
@@ -27,17 +39,44 @@ public class CsvStore {
     public static void reloadProducts(String filePath, Inventory inventory) {
         if (inventory == null) throw new IllegalArgumentException("Inventory cannot be null");
 
+        CsvIoEvent event = new CsvIoEvent();
+        event.begin();
         for (Product p : inventory.getAllProducts()) {
             inventory.removeBySku(p.getSku());
         }
-        loadProducts(filePath, inventory);
+        try {
+            loadProducts(filePath, inventory);
+        } finally {
+            event.finish("reload", filePath, inventory.size());
+        }
     }
 
     public static void loadProducts(String filePath, Inventory inventory) {
+        CsvIoEvent event = new CsvIoEvent();
+        event.begin();
+        OperationMetrics m = loadMetrics;
+        long t0 = (m == null) ? 0 : m.start();
+        long rows = -1; // stays -1 if the load fails
+        try {
+            rows = doLoadProducts(filePath, inventory);
+        } catch (RuntimeException e) {
+            if (m != null) m.failure(t0);
+            throw e;
+        } finally {
+            event.finish("load", filePath, rows);
+        }
+        if (m != null) m.success(t0);
+    }
+
+    /**
+     * @return number of product rows read
+     */
+    private static long doLoadProducts(String filePath, Inventory inventory) {
         if (inventory == null) throw new IllegalArgumentException("Inventory cannot be null");
 
         ensureFileExists(filePath);
 
+        long rows = 0;
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
             String line;
             boolean firstChecked = false;
@@ -87,6 +126,7 @@ public class CsvStore {
 
                     Product p = new Product(sku, name, category, price, quantity, min, max);
                     inventory.addProduct(p);
+                    rows++;
 
                 } catch (NumberFormatException ignored) {
                     // skip bad line
@@ -95,17 +135,40 @@ public class CsvStore {
         } catch (IOException e) {
             throw new RuntimeException("Error reading CSV: " + filePath, e);
         }
+        return rows;
     }
 
     public static void saveProducts(String filePath, Inventory inventory) {
+        CsvIoEvent event = new CsvIoEvent();
+        event.begin();
+        OperationMetrics m = saveMetrics;
+        long t0 = (m == null) ? 0 : m.start();
+        long rows = -1; // stays -1 if the save fails
+        try {
+            rows = doSaveProducts(filePath, inventory);
+        } catch (RuntimeException e) {
+            if (m != null) m.failure(t0);
+            throw e;
+        } finally {
+            event.finish("save", filePath, rows);
+        }
+        if (m != null) m.success(t0);
+    }
+
+    /**
+     * @return number of product rows written
+     */
+    private static long doSaveProducts(String filePath, Inventory inventory) {
         if (inventory == null) throw new IllegalArgumentException("Inventory cannot be null");
 
         ensureFileExists(filePath);
 
+        long rows = 0;
         try (PrintWriter out = new PrintWriter(new FileWriter(filePath))) {
             out.println("sku,name,category,quantity,price,minStockLevel,maxStockLevel");
 
             for (Product p : inventory.getAllProducts()) {
+                rows++;
                 out.printf("%s,%s,%s,%d,%.2f,%d,%d%n",
                         p.getSku(),
                         escapeCsv(p.getName()),
@@ -119,9 +182,10 @@ public class CsvStore {
         } catch (IOException e) {
             throw new RuntimeException("Error saving CSV: " + filePath, e);
         }
+        return rows;
     }
 
-    private static String escapeCsv(String s) {
+    static String escapeCsv(String s) {
         if (s == null) return "";
         String t = s.replace("\"", "\"\"");
         if (t.contains(",") || t.contains("\"")) return "\"" + t + "\"";
@@ -0,0 +1,201 @@
+package System;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Streaming sales-velocity statistics per SKU, fed by StockManager decrements.
+ *
+ * For each SKU we keep exponentially decayed sums of units (and of squared
+ * units per decrement) with one-hour and one-day time constants. That gives
+ * an EWMA demand rate per hour and per day plus a variance estimate of daily
+ * demand, in constant memory and without keeping any history.
+ *
+ * Days of cover (quantity / units per day) is kept in a sorted index. With no
+ * new sales the rate only decays, so a stored cover value is a lower bound of
+ * the current one: "SKUs under N days of cover" reads the index prefix and
+ * re-checks just those candidates.
+ *
+ * Only ORDER movements count as demand: expiry write-offs and manual
+ * adjustments change the quantity (and so the cover) but not the rate.
+ */
+public class DemandVelocityTracker implements StockListener {
+
+    private static final double HOUR_MILLIS = 3_600_000.0;
+    private static final double DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    private final Clock clock;
+    private final Map<String, SkuStats> stats;
+    private final TreeSet<SkuStats> byCover; // ordered by indexed cover, then SKU
+
+    public DemandVelocityTracker() {
+        this(Clock.systemUTC());
+    }
+
+    public DemandVelocityTracker(Clock clock) {
+        if (clock == null) throw new IllegalArgumentException("Clock cannot be null");
+        this.clock = clock;
+        this.stats = new HashMap<>();
+        this.byCover = new TreeSet<>((a, b) -> {
+            int c = Double.compare(a.indexedCover, b.indexedCover);
+            return (c != 0) ? c : a.sku.compareTo(b.sku);
+        });
+    }
+
+    @Override
+    public void onStockChanged(Product product, int before, int after) {
+        record(product, before, after, after < before);
+    }
+
+    @Override
+    public void onStockChanged(Product product, int before, int after, MovementReason reason, String orderId) {
+        record(product, before, after, after < before && reason == MovementReason.ORDER);
+    }
+
+    private synchronized void record(Product product, int before, int after, boolean sale) {
+        String sku = product.getSku().trim().toUpperCase();
+        long now = clock.millis();
+
+        SkuStats s = stats.get(sku);
+        if (s == null) {
+            if (!sale) return; // only start tracking on the first sale
+            s = new SkuStats(sku, now);
+            stats.put(sku, s);
+        } else {
+            byCover.remove(s);
+        }
+
+        s.decayTo(now);
+        if (sale) {
+            double units = before - after;
+            s.hourSum += units;
+            s.daySum += units;
+            s.daySquares += units * units;
+        }
+        s.quantity = after;
+        s.indexedCover = s.daysOfCover();
+        byCover.add(s);
+    }
+
+    /**
+     * Current statistics for one SKU, or null if it has never sold.
+     */
+    public synchronized Snapshot getStats(String sku) {
+        SkuStats s = stats.get(normSku(sku));
+        if (s == null) return null;
+        s.decayTo(clock.millis());
+        return s.snapshot();
+    }
+
+    /**
+     * SKUs whose days of cover is below {@code days}, lowest cover first.
+     */
+    public synchronized List<Snapshot> getSkusWithCoverBelow(double days) {
+        long now = clock.millis();
+        List<SkuStats> candidates = new ArrayList<>();
+        for (SkuStats s : byCover) {
+            if (s.indexedCover >= days) break;
+            candidates.add(s);
+        }
+
+        List<Snapshot> result = new ArrayList<>();
+        for (SkuStats s : candidates) {
+            byCover.remove(s);
+            s.decayTo(now);
+            s.indexedCover = s.daysOfCover();
+            byCover.add(s);
+            if (s.indexedCover < days) {
+                result.add(s.snapshot());
+            }
+        }
+        result.sort((a, b) -> Double.compare(a.getDaysOfCover(), b.getDaysOfCover()));
+        return result;
+    }
+
+    public synchronized int trackedSkuCount() {
+        return stats.size();
+    }
+
+    private String normSku(String sku) {
+        return (sku == null) ? "" : sku.trim().toUpperCase();
+    }
+
+    private static final class SkuStats {
+        final String sku;
+        long lastMillis;
+        double hourSum;     // decayed units, tau = 1 hour
+        double daySum;      // decayed units, tau = 1 day
+        double daySquares;  // decayed squared units per decrement, tau = 1 day
+        int quantity;
+        double indexedCover;
+
+        SkuStats(String sku, long now) {
+            this.sku = sku;
+            this.lastMillis = now;
+        }
+
+        void decayTo(long now) {
+            long dt = now - lastMillis;
+            if (dt <= 0) return;
+            hourSum *= Math.exp(-dt / HOUR_MILLIS);
+            double dayFactor = Math.exp(-dt / DAY_MILLIS);
+            daySum *= dayFactor;
+            daySquares *= dayFactor;
+            lastMillis = now;
+        }
+
+        double daysOfCover() {
+            return (daySum <= 0) ? Double.POSITIVE_INFINITY : quantity / daySum;
+        }
+
+        Snapshot snapshot() {
+            // decayed sum over tau approximates the rate per tau
+            return new Snapshot(sku, hourSum, daySum, daySquares, quantity, daysOfCover());
+        }
+    }
+
+    /**
+     * Point-in-time view of one SKU's demand.
+     */
+    public static final class Snapshot {
+        private final String sku;
+        private final double unitsPerHour;
+        private final double unitsPerDay;
+        private final double dailyVariance;
+        private final int quantity;
+        private final double daysOfCover;
+
+        Snapshot(String sku, double unitsPerHour, double unitsPerDay, double dailyVariance,
+                 int quantity, double daysOfCover) {
+            this.sku = sku;
+            this.unitsPerHour = unitsPerHour;
+            this.unitsPerDay = unitsPerDay;
+            this.dailyVariance = dailyVariance;
+            this.quantity = quantity;
+            this.daysOfCover = daysOfCover;
+        }
+
+        public String getSku() { return sku; }
+        public double getUnitsPerHour() { return unitsPerHour; }
+        public double getUnitsPerDay() { return unitsPerDay; }
+
+        /**
+         * Variance of units sold per day (compound-Poisson estimate).
+         */
+        public double getDailyVariance() { return dailyVariance; }
+
+        public double getDailyStdDev() { return Math.sqrt(dailyVariance); }
+        public int getQuantity() { return quantity; }
+        public double getDaysOfCover() { return daysOfCover; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %.2f/h, %.2f/day (sd %.2f), qty=%d, cover=%.1f days",
+                    sku, unitsPerHour, unitsPerDay, getDailyStdDev(), quantity, daysOfCover);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package System;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Perishable products grouped into day buckets sorted by expiry date.
+ *
+ * "Expired", "expires today" and "expires within N days" are range reads
+ * over the sorted buckets, so they cost O(k) in the number of matching
+ * products instead of a walk over the whole catalog.
+ *
+ * Inside an Inventory the index follows date changes through
+ * {@link ProductIndex#onProductChanged}; a standalone index must be told
+ * through {@link #changeExpiry(PerishableProduct, LocalDate)}.
+ */
+public class ExpiryIndex implements ProductIndex {
+
+    private final Clock clock;
+    private final TreeMap<LocalDate, Set<PerishableProduct>> buckets;
+    private final Map<PerishableProduct, LocalDate> indexedDates; // date each product is filed under
+
+    public ExpiryIndex() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public ExpiryIndex(Clock clock) {
+        if (clock == null) throw new IllegalArgumentException("Clock cannot be null");
+        this.clock = clock;
+        this.buckets = new TreeMap<>();
+        this.indexedDates = new HashMap<>();
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    public synchronized void add(PerishableProduct p) {
+        if (p == null || indexedDates.containsKey(p)) return;
+        LocalDate date = p.getExpiryDate();
+        indexedDates.put(p, date);
+        buckets.computeIfAbsent(date, d -> new LinkedHashSet<>()).add(p);
+    }
+
+    public synchronized boolean remove(PerishableProduct p) {
+        LocalDate date = indexedDates.remove(p);
+        if (date == null) return false;
+
+        Set<PerishableProduct> bucket = buckets.get(date);
+        bucket.remove(p);
+        if (bucket.isEmpty()) buckets.remove(date);
+        return true;
+    }
+
+    /**
+     * Update a product's expiry date and move it to the matching bucket.
+     */
+    public synchronized void changeExpiry(PerishableProduct p, LocalDate newDate) {
+        p.setExpiryDate(newDate);
+        refile(p);
+    }
+
+    private synchronized void refile(PerishableProduct p) {
+        if (remove(p)) add(p);
+    }
+
+    /* =========================
+       ProductIndex
+       ========================= */
+
+    @Override
+    public void onProductAdded(Product product) {
+        if (product instanceof PerishableProduct) add((PerishableProduct) product);
+    }
+
+    @Override
+    public void onProductRemoved(Product product) {
+        if (product instanceof PerishableProduct) remove((PerishableProduct) product);
+    }
+
+    @Override
+    public void onProductChanged(Product product, ProductField field, Object oldValue) {
+        if (field == ProductField.EXPIRY_DATE && product instanceof PerishableProduct) {
+            refile((PerishableProduct) product);
+        }
+    }
+
+    /**
+     * Products whose expiry date is before today.
+     */
+    public List<PerishableProduct> expired() {
+        return expired(today());
+    }
+
+    public synchronized List<PerishableProduct> expired(LocalDate today) {
+        return flatten(buckets.headMap(today, false).values());
+    }
+
+    /**
+     * Products expiring exactly today.
+     */
+    public List<PerishableProduct> expiringToday() {
+        return expiringToday(today());
+    }
+
+    public synchronized List<PerishableProduct> expiringToday(LocalDate today) {
+        Set<PerishableProduct> bucket = buckets.get(today);
+        return (bucket == null) ? new ArrayList<>() : new ArrayList<>(bucket);
+    }
+
+    /**
+     * Products not yet expired that expire within the next {@code days} days
+     * (today included), i.e. the same set as PerishableProduct.isNearExpiry(days).
+     */
+    public List<PerishableProduct> expiringWithin(int days) {
+        return expiringWithin(days, today());
+    }
+
+    public synchronized List<PerishableProduct> expiringWithin(int days, LocalDate today) {
+        if (days < 0) return new ArrayList<>();
+        return flatten(buckets.subMap(today, true, today.plusDays(days), true).values());
+    }
+
+    public synchronized int size() {
+        return indexedDates.size();
+    }
+
+    private static List<PerishableProduct> flatten(Collection<Set<PerishableProduct>> sets) {
+        List<PerishableProduct> result = new ArrayList<>();
+        for (Set<PerishableProduct> s : sets) {
+            result.addAll(s);
+        }
+        return result;
+    }
+}
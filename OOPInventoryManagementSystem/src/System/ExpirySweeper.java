@@ -0,0 +1,176 @@
+package System;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily job that discounts near-expiry perishables in bulk.
+ *
+ * Each sweep reads the clock once and evaluates every candidate against
+ * that single date. Candidates come from the ExpiryIndex range, so only
+ * products inside the discount window are touched. A product is discounted
+ * once per expiry date, so running the sweep every day does not stack
+ * discounts.
+ *
+ * With a StockManager set, each sweep also writes off expired lots of every
+ * lot-tracked product, so they leave available stock on the day they
+ * expire rather than the next time the SKU is touched.
+ *
+ * Discounts change prices, which updates the Inventory's indexes, and those
+ * are not thread-safe. A sweep therefore runs under the lock the other
+ * Inventory writers hold: the one given to {@link #setWriteLock}, else the
+ * StockManager's monitor (whose methods all hold it). When run by
+ * {@link #start()}, a failed sweep is counted and the next one still runs.
+ */
+public class ExpirySweeper {
+
+    private final ExpiryIndex index;
+    private final Clock clock;
+    private final int daysBefore;
+    private final double percent;
+
+    // expiry date each product was last discounted for
+    private final Map<PerishableProduct, LocalDate> discounted;
+    private StockManager stockManager; // optional, enables the expired-lot write-off
+    private Object writeLock;          // optional, defaults to the StockManager
+    private long lotUnitsWrittenOff;
+    private long failedSweeps;
+    private RuntimeException lastFailure;
+    private ScheduledExecutorService scheduler;
+
+    public ExpirySweeper(ExpiryIndex index, int daysBefore, double percent) {
+        this(index, index.getClock(), daysBefore, percent);
+    }
+
+    public ExpirySweeper(ExpiryIndex index, Clock clock, int daysBefore, double percent) {
+        if (index == null) throw new IllegalArgumentException("ExpiryIndex cannot be null");
+        if (clock == null) throw new IllegalArgumentException("Clock cannot be null");
+        if (daysBefore < 0) throw new IllegalArgumentException("Days before expiry cannot be negative");
+        if (percent < 0 || percent > 100) throw new IllegalArgumentException("Discount percent must be between 0 and 100");
+
+        this.index = index;
+        this.clock = clock;
+        this.daysBefore = daysBefore;
+        this.percent = percent;
+        this.discounted = new HashMap<>();
+    }
+
+    /**
+     * Write off expired lots through this StockManager on every sweep.
+     */
+    public synchronized void setStockManager(StockManager stockManager) {
+        this.stockManager = stockManager;
+    }
+
+    /**
+     * Lock held by everything else that changes the Inventory; sweeps take it too.
+     */
+    public synchronized void setWriteLock(Object writeLock) {
+        this.writeLock = writeLock;
+    }
+
+    private synchronized Object writeLock() {
+        if (writeLock != null) return writeLock;
+        return (stockManager != null) ? stockManager : this;
+    }
+
+    /**
+     * Scheduled sweeps that threw (the schedule keeps running).
+     */
+    public synchronized long getFailedSweepCount() {
+        return failedSweeps;
+    }
+
+    /**
+     * Exception of the last failed scheduled sweep, or null.
+     */
+    public synchronized RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Lot units written off by sweeps so far.
+     */
+    public synchronized long getLotUnitsWrittenOff() {
+        return lotUnitsWrittenOff;
+    }
+
+    /**
+     * Run one sweep now.
+     *
+     * @return number of products discounted in this sweep
+     */
+    public int sweep() {
+        synchronized (writeLock()) {
+            return sweepLocked();
+        }
+    }
+
+    private synchronized int sweepLocked() {
+        LocalDate today = LocalDate.now(clock);
+        int count = 0;
+
+        for (PerishableProduct p : index.expiringWithin(daysBefore, today)) {
+            LocalDate expiry = p.getExpiryDate();
+            if (expiry.equals(discounted.get(p))) continue;
+
+            if (p.applyExpiryDiscount(daysBefore, percent, today)) {
+                discounted.put(p, expiry);
+                count++;
+            }
+        }
+
+        // forget products that have expired; they will not be swept again
+        discounted.keySet().removeIf(p -> p.isExpired(today));
+
+        if (stockManager != null) {
+            lotUnitsWrittenOff += stockManager.writeOffExpiredLots();
+        }
+        return count;
+    }
+
+    /**
+     * Schedule {@link #sweep()} at every local midnight (per the clock's zone).
+     */
+    public synchronized void start() {
+        if (scheduler != null) return;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "expiry-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime nextMidnight = now.toLocalDate().plusDays(1).atStartOfDay();
+        long initialDelay = Duration.between(now, nextMidnight).toMillis();
+
+        scheduler.scheduleAtFixedRate(this::runScheduledSweep, initialDelay, TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+
+    // An exception escaping a fixed-rate task would cancel every later run
+    void runScheduledSweep() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                failedSweeps++;
+                lastFailure = e;
+            }
+        }
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package System;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Typo-tolerant lookup of products by name words and SKU.
+ *
+ * Distinct terms (lower-cased name words, and SKUs) are kept in two sorted
+ * dictionaries. A search runs the Levenshtein table against the terms in
+ * sorted order and skips every prefix range that is already more than k
+ * edits away, which is what a Levenshtein automaton does over a sorted
+ * dictionary. Only a small part of the dictionary is ever compared with
+ * the query.
+ */
+public class FuzzyIndex implements ProductIndex {
+
+    private final TermDictionary nameTerms = new TermDictionary();
+    private final TermDictionary skuTerms = new TermDictionary();
+
+    /**
+     * A product and how many edits the query needed to reach it.
+     */
+    public static final class Match {
+        private final Product product;
+        private final int distance;
+
+        Match(Product product, int distance) {
+            this.product = product;
+            this.distance = distance;
+        }
+
+        public Product getProduct() { return product; }
+        public int getDistance() { return distance; }
+
+        @Override
+        public String toString() {
+            return product.getSku() + " (" + distance + ")";
+        }
+    }
+
+    /* =========================
+       Maintenance
+       ========================= */
+
+    @Override
+    public void onProductAdded(Product product) {
+        for (String word : words(product.getName())) {
+            nameTerms.add(word, product);
+        }
+        skuTerms.add(product.getSku().trim().toLowerCase(), product);
+    }
+
+    @Override
+    public void onProductRemoved(Product product) {
+        for (String word : words(product.getName())) {
+            nameTerms.remove(word, product);
+        }
+        skuTerms.remove(product.getSku().trim().toLowerCase(), product);
+    }
+
+    @Override
+    public void onProductChanged(Product product, ProductField field, Object oldValue) {
+        if (field != ProductField.NAME) return;
+        for (String word : words((String) oldValue)) {
+            nameTerms.remove(word, product);
+        }
+        for (String word : words(product.getName())) {
+            nameTerms.add(word, product);
+        }
+    }
+
+    /* =========================
+       Search
+       ========================= */
+
+    /**
+     * Search with the default tolerance: 0 edits for 1-2 characters,
+     * 1 edit for 3-5, 2 edits above that (per query word; at most 1 for SKUs).
+     */
+    public List<Match> search(String query, int limit) {
+        return search(query, -1, limit);
+    }
+
+    /**
+     * Products whose SKU, or whose name contains every query word, within
+     * {@code maxDistance} edits per word. Best matches first.
+     *
+     * @param maxDistance edits allowed per word, or -1 for the default by word length
+     */
+    public List<Match> search(String query, int maxDistance, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+        List<Match> result = new ArrayList<>();
+        if (query == null || query.isBlank()) return result;
+
+        Map<Product, Integer> best = new HashMap<>();
+
+        // Name: every query word must match some word of the name; score = sum of edits
+        List<String> queryWords = words(query);
+        Map<Product, Integer> nameScores = null;
+        for (String qw : queryWords) {
+            Map<Product, Integer> wordScores = new HashMap<>();
+            nameTerms.search(qw, tolerance(qw, maxDistance), wordScores);
+
+            if (nameScores == null) {
+                nameScores = wordScores;
+            } else {
+                Map<Product, Integer> joined = new HashMap<>();
+                for (Map.Entry<Product, Integer> e : nameScores.entrySet()) {
+                    Integer d = wordScores.get(e.getKey());
+                    if (d != null) joined.put(e.getKey(), e.getValue() + d);
+                }
+                nameScores = joined;
+            }
+            if (nameScores.isEmpty()) break;
+        }
+        if (nameScores != null) best.putAll(nameScores);
+
+        // SKU: whole query as one term (SKUs never contain spaces). Codes are
+        // dense, so the default allows one edit; two would match thousands.
+        String skuQuery = query.trim().toLowerCase();
+        if (skuQuery.indexOf(' ') < 0) {
+            Map<Product, Integer> skuScores = new HashMap<>();
+            int skuTolerance = (maxDistance >= 0) ? maxDistance : Math.min(1, tolerance(skuQuery, -1));
+            skuTerms.search(skuQuery, skuTolerance, skuScores);
+            for (Map.Entry<Product, Integer> e : skuScores.entrySet()) {
+                best.merge(e.getKey(), e.getValue(), Math::min);
+            }
+        }
+
+        for (Map.Entry<Product, Integer> e : best.entrySet()) {
+            result.add(new Match(e.getKey(), e.getValue()));
+        }
+        result.sort(Comparator.comparingInt(Match::getDistance)
+                .thenComparing(m -> m.getProduct().getName(), String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(m -> m.getProduct().getSku()));
+        return (result.size() > limit) ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    private static int tolerance(String term, int maxDistance) {
+        if (maxDistance >= 0) return maxDistance;
+        int len = term.length();
+        if (len <= 2) return 0;
+        if (len <= 5) return 1;
+        return 2;
+    }
+
+    /**
+     * Lower-cased words of a name (split on anything that is not a letter or digit).
+     */
+    static List<String> words(String text) {
+        List<String> result = new ArrayList<>();
+        if (text == null) return result;
+        for (String w : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!w.isEmpty()) result.add(w);
+        }
+        return result;
+    }
+
+    /**
+     * Levenshtein distance (insert, delete, substitute), two-row dynamic programming.
+     * Reference implementation that TermDictionary.search is tested against;
+     * searches themselves use the incremental table.
+     */
+    static int distance(String a, String b) {
+        if (a.equals(b)) return 0;
+        if (a.isEmpty()) return b.length();
+        if (b.isEmpty()) return a.length();
+
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = (ca == b.charAt(j - 1)) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            }
+            int[] t = prev;
+            prev = curr;
+            curr = t;
+        }
+        return prev[b.length()];
+    }
+
+    /* =========================
+       Term dictionary
+       ========================= */
+
+    /**
+     * Sorted terms with their products, searched by walking the Levenshtein
+     * table along the sorted order.
+     *
+     * Neighbouring terms share prefixes, so the table rows of the shared
+     * prefix are reused instead of recomputed. When every cell of a row
+     * exceeds k, no term starting with that prefix can match, and the whole
+     * prefix range is skipped with one ceiling lookup. The work done is
+     * proportional to the prefixes that can still match, not to the size
+     * of the dictionary.
+     */
+    private static final class TermDictionary {
+        private static final char MAX_CHAR = Character.MAX_VALUE;
+
+        private final TreeMap<String, Set<Product>> terms = new TreeMap<>();
+
+        void add(String term, Product product) {
+            terms.computeIfAbsent(term, t -> new LinkedHashSet<>()).add(product);
+        }
+
+        void remove(String term, Product product) {
+            Set<Product> set = terms.get(term);
+            if (set == null) return;
+            set.remove(product);
+            if (set.isEmpty()) terms.remove(term);
+        }
+
+        /**
+         * Collect every product filed under a term within k edits of the query,
+         * keeping the smallest distance per product.
+         */
+        void search(String query, int k, Map<Product, Integer> out) {
+            int m = query.length();
+            List<int[]> rows = new ArrayList<>();
+            int[] first = new int[m + 1];
+            for (int j = 0; j <= m; j++) first[j] = j;
+            rows.add(first);
+
+            String prev = "";
+            int validDepth = 0; // rows[0..validDepth] belong to the prefix of prev
+
+            Iterator<Map.Entry<String, Set<Product>>> it = terms.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Set<Product>> entry = it.next();
+                String term = entry.getKey();
+                int depth = Math.min(validDepth, commonPrefix(prev, term));
+                String skipPrefix = null;
+
+                while (depth < term.length()) {
+                    depth++;
+                    if (rows.size() <= depth) rows.add(new int[m + 1]);
+                    int[] above = rows.get(depth - 1);
+                    int[] row = rows.get(depth);
+                    char c = term.charAt(depth - 1);
+
+                    row[0] = depth;
+                    int rowMin = row[0];
+                    for (int j = 1; j <= m; j++) {
+                        int cost = (query.charAt(j - 1) == c) ? 0 : 1;
+                        row[j] = Math.min(Math.min(row[j - 1] + 1, above[j] + 1), above[j - 1] + cost);
+                        if (row[j] < rowMin) rowMin = row[j];
+                    }
+                    if (rowMin > k) {
+                        skipPrefix = term.substring(0, depth);
+                        break;
+                    }
+                }
+
+                prev = term;
+                validDepth = depth;
+                if (skipPrefix != null) {
+                    it = terms.tailMap(skipPrefix + MAX_CHAR, false).entrySet().iterator();
+                    continue;
+                }
+
+                int d = rows.get(term.length())[m];
+                if (d <= k) {
+                    for (Product p : entry.getValue()) {
+                        out.merge(p, d, Math::min);
+                    }
+                }
+            }
+        }
+
+        private static int commonPrefix(String a, String b) {
+            int n = Math.min(a.length(), b.length());
+            int i = 0;
+            while (i < n && a.charAt(i) == b.charAt(i)) i++;
+            return i;
+        }
+    }
+}
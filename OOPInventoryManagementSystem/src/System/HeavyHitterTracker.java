@@ -0,0 +1,161 @@
+package System;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Live "top sellers" view fed by every placed order line.
+ *
+ * Register with {@link OrderService#addOrderListener(OrderListener)}.
+ * Counts are kept in Space-Saving summaries of fixed capacity, so memory
+ * does not depend on catalog size:
+ *   - tumbling: the current fixed window and the last completed one
+ *   - sliding:  the last {@code window}, built from {@code slices} sub-windows
+ *
+ * The sliding top list is a merged snapshot refreshed at most every
+ * {@code refreshInterval}; reads in between return the cached list, so a
+ * top-K read is a copy of at most K entries.
+ */
+public class HeavyHitterTracker implements OrderListener {
+
+    private final Clock clock;
+    private final int capacity;
+    private final long windowMillis;
+    private final long sliceMillis;
+    private final long refreshMillis;
+
+    // sliding window ring
+    private final SpaceSavingSummary[] slices;
+    private final long[] sliceIds;
+
+    // tumbling windows
+    private SpaceSavingSummary tumblingCurrent;
+    private SpaceSavingSummary tumblingPrevious;
+    private long tumblingId;
+
+    // cached sliding result
+    private List<SpaceSavingSummary.Entry> slidingTop;
+    private long slidingComputedAt;
+    private boolean slidingDirty;
+
+    public HeavyHitterTracker(int capacity, Duration window, int slices) {
+        this(capacity, window, slices, Duration.ofMillis(250), Clock.systemUTC());
+    }
+
+    public HeavyHitterTracker(int capacity, Duration window, int slices, Duration refreshInterval, Clock clock) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        if (window == null || window.toMillis() <= 0) throw new IllegalArgumentException("Window must be positive");
+        if (slices <= 0 || window.toMillis() / slices == 0) throw new IllegalArgumentException("Invalid slice count");
+        if (refreshInterval == null || refreshInterval.isNegative()) throw new IllegalArgumentException("Invalid refresh interval");
+        if (clock == null) throw new IllegalArgumentException("Clock cannot be null");
+
+        this.clock = clock;
+        this.capacity = capacity;
+        this.windowMillis = window.toMillis();
+        this.sliceMillis = windowMillis / slices;
+        this.refreshMillis = refreshInterval.toMillis();
+
+        this.slices = new SpaceSavingSummary[slices];
+        this.sliceIds = new long[slices];
+        for (int i = 0; i < slices; i++) {
+            this.slices[i] = new SpaceSavingSummary(capacity);
+            this.sliceIds[i] = -1;
+        }
+
+        this.tumblingCurrent = new SpaceSavingSummary(capacity);
+        this.tumblingPrevious = new SpaceSavingSummary(capacity);
+        this.tumblingId = clock.millis() / windowMillis;
+        this.slidingTop = new ArrayList<>();
+        this.slidingDirty = true;
+    }
+
+    @Override
+    public void onOrderPlaced(Order order) {
+        for (OrderItem item : order.getItems()) {
+            record(item.getSku(), item.getQuantity());
+        }
+    }
+
+    /**
+     * Count {@code quantity} units sold for a SKU now.
+     */
+    public synchronized void record(String sku, int quantity) {
+        if (sku == null || quantity <= 0) return;
+        long now = clock.millis();
+
+        rollTumbling(now);
+        tumblingCurrent.offer(sku, quantity);
+
+        sliceFor(now).offer(sku, quantity);
+        slidingDirty = true;
+    }
+
+    /**
+     * Top sellers over the last full window (sliding).
+     */
+    public synchronized List<SpaceSavingSummary.Entry> topSliding(int k) {
+        long now = clock.millis();
+        if ((slidingDirty && now - slidingComputedAt >= refreshMillis) || stale(now)) {
+            long current = now / sliceMillis;
+            SpaceSavingSummary merged = new SpaceSavingSummary(capacity);
+            for (int i = 0; i < slices.length; i++) {
+                if (sliceIds[i] > current - slices.length && sliceIds[i] <= current) {
+                    merged.merge(slices[i]);
+                }
+            }
+            slidingTop = merged.top(capacity);
+            slidingComputedAt = now;
+            slidingDirty = false;
+        }
+        return new ArrayList<>(slidingTop.subList(0, Math.min(k, slidingTop.size())));
+    }
+
+    /**
+     * Top sellers in the tumbling window in progress.
+     */
+    public synchronized List<SpaceSavingSummary.Entry> topCurrentWindow(int k) {
+        rollTumbling(clock.millis());
+        return tumblingCurrent.top(k);
+    }
+
+    /**
+     * Top sellers of the last completed tumbling window.
+     */
+    public synchronized List<SpaceSavingSummary.Entry> topPreviousWindow(int k) {
+        rollTumbling(clock.millis());
+        return tumblingPrevious.top(k);
+    }
+
+    // a cached snapshot older than one slice may include expired data
+    private boolean stale(long now) {
+        return now / sliceMillis != slidingComputedAt / sliceMillis;
+    }
+
+    private void rollTumbling(long now) {
+        long id = now / windowMillis;
+        if (id == tumblingId) return;
+
+        SpaceSavingSummary recycled = tumblingPrevious;
+        recycled.clear();
+        if (id == tumblingId + 1) {
+            tumblingPrevious = tumblingCurrent;
+        } else {
+            tumblingCurrent.clear(); // idle for a whole window: previous is empty
+            tumblingPrevious = tumblingCurrent;
+        }
+        tumblingCurrent = recycled;
+        tumblingId = id;
+    }
+
+    private SpaceSavingSummary sliceFor(long now) {
+        long id = now / sliceMillis;
+        int slot = (int) (id % slices.length);
+        if (sliceIds[slot] != id) {
+            slices[slot].clear();
+            sliceIds[slot] = id;
+        }
+        return slices[slot];
+    }
+}
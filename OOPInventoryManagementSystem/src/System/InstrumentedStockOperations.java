@@ -0,0 +1,99 @@
+package System;
+
+/**
+ * StockOperations decorator that times every call and counts failures
+ * (any exception, e.g. insufficient stock or unknown SKU).
+ *
+ * The timing wraps the whole call, so time spent waiting for the
+ * StockManager lock is part of the recorded latency.
+ */
+public class InstrumentedStockOperations implements StockOperations {
+
+    private final StockOperations delegate;
+    private final OperationMetrics addProduct;
+    private final OperationMetrics increase;
+    private final OperationMetrics decrease;
+    private final OperationMetrics get;
+    private final OperationMetrics has;
+
+    public InstrumentedStockOperations(StockOperations delegate, MetricsRegistry metrics) {
+        if (delegate == null) throw new IllegalArgumentException("Delegate cannot be null");
+        if (metrics == null) throw new IllegalArgumentException("Metrics cannot be null");
+        this.delegate = delegate;
+        this.addProduct = metrics.operation("stock.add");
+        this.increase = metrics.operation("stock.increase");
+        this.decrease = metrics.operation("stock.decrease");
+        this.get = metrics.operation("stock.get");
+        this.has = metrics.operation("stock.has");
+    }
+
+    @Override
+    public void addProduct(String sku, int quantity) {
+        long t0 = addProduct.start();
+        try {
+            delegate.addProduct(sku, quantity);
+        } catch (RuntimeException e) {
+            addProduct.failure(t0);
+            throw e;
+        }
+        addProduct.success(t0);
+    }
+
+    @Override
+    public void increaseStock(String sku, int quantity) {
+        long t0 = increase.start();
+        try {
+            delegate.increaseStock(sku, quantity);
+        } catch (RuntimeException e) {
+            increase.failure(t0);
+            throw e;
+        }
+        increase.success(t0);
+    }
+
+    @Override
+    public void decreaseStock(String sku, int quantity) {
+        long t0 = decrease.start();
+        try {
+            delegate.decreaseStock(sku, quantity);
+        } catch (RuntimeException e) {
+            decrease.failure(t0);
+            throw e;
+        }
+        decrease.success(t0);
+    }
+
+    @Override
+    public void decreaseStock(String sku, int quantity, String orderId) {
+        long t0 = decrease.start();
+        try {
+            delegate.decreaseStock(sku, quantity, orderId);
+        } catch (RuntimeException e) {
+            decrease.failure(t0);
+            throw e;
+        }
+        decrease.success(t0);
+    }
+
+    @Override
+    public int getStock(String sku) {
+        long t0 = get.start();
+        int stock;
+        try {
+            stock = delegate.getStock(sku);
+        } catch (RuntimeException e) {
+            get.failure(t0);
+            throw e;
+        }
+        get.success(t0);
+        return stock;
+    }
+
+    @Override
+    public boolean hasProduct(String sku) {
+        long t0 = has.start();
+        boolean result = delegate.hasProduct(sku);
+        has.success(t0);
+        return result;
+    }
+}
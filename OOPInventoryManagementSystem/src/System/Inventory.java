@@ -1,27 +1,134 @@
 package System;
 
+import java.time.Clock;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * Inventory manages products and suppliers in the system.
  * It supports adding/removing products, searching, updating stock,
  * reporting low-stock items, and linking products to suppliers.
  *
- * Note: This class stores data in memory using lists.
+ * Note: This class stores data in memory. Products are keyed by SKU and
+ * kept in secondary indexes (category, price, quantity, expiry) that follow
+ * every field change through {@link ProductObserver}; see {@link #query}.
  */
 public class Inventory {
 
-    // List to store all products in the inventory
-    private final List<Product> products;
+    // Max total size (entries + cached product references) of the search cache
+    private static final long SEARCH_CACHE_WEIGHT = 100_000;
+
+    // All products keyed by SKU (trimmed, upper case), in insertion order
+    private final Map<String, Product> products;
 
     // List to store all suppliers
     private final List<Supplier> suppliers;
 
+    // Product SKU -> suppliers linked to it (kept in step with the links)
+    private final Map<String, List<Supplier>> suppliersBySku;
+
+    // Perishable products sorted by expiry date
+    private final ExpiryIndex expiryIndex;
+
+    // Secondary indexes, kept up to date on add/remove/field change
+    private final CategoryIndex categoryIndex;
+    private final PriceIndex priceIndex;
+    private final FuzzyIndex fuzzyIndex;
+    private final PrefixIndex prefixIndex;
+
+    // Keyword search results, invalidated per product change
+    private final SearchCache searchCache;
+    private final QuantityIndex quantityIndex;
+    private final List<ProductIndex> indexes;
+    private final QueryPlanner planner;
+
+    // Optional change-event stream (setEventBus); null = off
+    private volatile InventoryEventBus eventBus;
+
+    // Optional lookup timings (setMetrics); null = off
+    private volatile OperationMetrics findMetrics;
+    private volatile OperationMetrics searchMetrics;
+    private volatile OperationMetrics queryMetrics;
+
+    // Installed on every product we hold; fans field changes out to the indexes
+    private final ProductObserver observer = this::onProductChanged;
+
     // Constructor
     public Inventory() {
-        this.products = new ArrayList<>();
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param clock clock used for expiry queries (injectable for tests)
+     */
+    public Inventory(Clock clock) {
+        this.products = new LinkedHashMap<>();
         this.suppliers = new ArrayList<>();
+        this.suppliersBySku = new HashMap<>();
+        this.expiryIndex = new ExpiryIndex(clock);
+        this.categoryIndex = new CategoryIndex();
+        this.priceIndex = new PriceIndex();
+        this.fuzzyIndex = new FuzzyIndex();
+        this.prefixIndex = new PrefixIndex();
+        this.searchCache = new SearchCache(SEARCH_CACHE_WEIGHT);
+        this.quantityIndex = new QuantityIndex();
+        this.indexes = new ArrayList<>();
+        this.indexes.add(new SkuIndex());
+        this.indexes.add(categoryIndex);
+        this.indexes.add(priceIndex);
+        this.indexes.add(fuzzyIndex);
+        this.indexes.add(prefixIndex);
+        this.indexes.add(searchCache);
+        this.indexes.add(quantityIndex);
+        this.indexes.add(expiryIndex);
+        this.planner = new QueryPlanner(Collections.unmodifiableCollection(products.values()), indexes);
+    }
+
+    private void onProductChanged(Product product, ProductField field, Object oldValue) {
+        for (ProductIndex index : indexes) {
+            index.onProductChanged(product, field, oldValue);
+        }
+        if (eventBus != null) {
+            if (field == ProductField.QUANTITY) {
+                publish(InventoryEvent.quantityChanged(product, (Integer) oldValue));
+            } else if (field == ProductField.UNIT_PRICE) {
+                publish(InventoryEvent.priceChanged(product, (Double) oldValue));
+            }
+        }
+    }
+
+    /**
+     * Publish product, quantity, price and supplier-link changes to the bus (null = off).
+     */
+    public void setEventBus(InventoryEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    public InventoryEventBus getEventBus() {
+        return eventBus;
+    }
+
+    private void publish(InventoryEvent event) {
+        InventoryEventBus bus = eventBus;
+        if (bus != null) bus.publish(event);
+    }
+
+    /**
+     * Time findBySku, keyword searches and queries into the registry (null = off).
+     */
+    public void setMetrics(MetricsRegistry metrics) {
+        this.findMetrics = (metrics == null) ? null : metrics.operation("inventory.findBySku");
+        this.searchMetrics = (metrics == null) ? null : metrics.operation("inventory.search");
+        this.queryMetrics = (metrics == null) ? null : metrics.operation("inventory.query");
+    }
+
+    private static String skuKey(String sku) {
+        return sku.trim().toUpperCase();
     }
 
     /* =========================
@@ -32,19 +139,41 @@ public class Inventory {
      * Add a new product to the inventory (prevents duplicate SKU).
      *
      * @param product product to add
-     * @return true if added, false if null or duplicate SKU
+     * @return true if added, false if null, duplicate SKU or already in another inventory
      */
     public boolean addProduct(Product product) {
         if (product == null) return false;
 
         // Prevent duplicates by SKU
-        if (findBySku(product.getSku()) != null) {
+        String key = skuKey(product.getSku());
+        if (products.containsKey(key)) {
+            return false;
+        }
+        // A product reports its changes to one inventory only
+        if (product.getObserver() != null) {
             return false;
         }
-        products.add(product);
+        products.put(key, product);
+        for (ProductIndex index : indexes) {
+            index.onProductAdded(product);
+        }
+        product.setObserver(observer);
+        if (eventBus != null) publish(InventoryEvent.productAdded(product));
         return true;
     }
 
+    /**
+     * Helper: drops a product from the map and every index.
+     */
+    private void detach(Product product) {
+        products.remove(skuKey(product.getSku()));
+        product.setObserver(null);
+        for (ProductIndex index : indexes) {
+            index.onProductRemoved(product);
+        }
+        if (eventBus != null) publish(InventoryEvent.productRemoved(product));
+    }
+
     /**
      * Check if a product exists by SKU.
      */
@@ -59,7 +188,7 @@ public class Inventory {
     public boolean removeBySku(String sku) {
         Product toRemove = findBySku(sku);
         if (toRemove != null) {
-            products.remove(toRemove);
+            detach(toRemove);
 
             // unlink product from suppliers
             unlinkProductFromAllSuppliers(toRemove.getSku());
@@ -75,12 +204,12 @@ public class Inventory {
     public Product findBySku(String sku) {
         if (sku == null || sku.isBlank()) return null;
 
-        for (Product p : products) {
-            if (p.getSku().equalsIgnoreCase(sku.trim())) {
-                return p;
-            }
-        }
-        return null;
+        OperationMetrics m = findMetrics;
+        if (m == null) return products.get(skuKey(sku));
+        long t0 = m.start();
+        Product p = products.get(skuKey(sku));
+        m.success(t0);
+        return p;
     }
 
     /**
@@ -90,7 +219,7 @@ public class Inventory {
     public boolean removeProductByName(String name) {
         Product toRemove = findProductByName(name);
         if (toRemove != null) {
-            products.remove(toRemove);
+            detach(toRemove);
 
             // unlink product from suppliers
             unlinkProductFromAllSuppliers(toRemove.getSku());
@@ -106,7 +235,7 @@ public class Inventory {
     public Product findProductByName(String name) {
         if (name == null || name.isBlank()) return null;
 
-        for (Product p : products) {
+        for (Product p : products.values()) {
             if (p.getName().equalsIgnoreCase(name.trim())) {
                 return p;
             }
@@ -116,13 +245,23 @@ public class Inventory {
 
     /**
      * Search products by partial name (returns all matches).
+     * Matches are cached; the caller gets its own copy to modify.
      */
     public List<Product> searchByName(String keyword) {
-        List<Product> result = new ArrayList<>();
-        if (keyword == null || keyword.isBlank()) return result;
+        if (keyword == null || keyword.isBlank()) return new ArrayList<>();
 
         String k = keyword.trim().toLowerCase();
-        for (Product p : products) {
+        OperationMetrics m = searchMetrics;
+        if (m == null) return new ArrayList<>(searchCache.get(SearchCache.Kind.NAME, k, () -> scanByName(k)));
+        long t0 = m.start();
+        List<Product> result = new ArrayList<>(searchCache.get(SearchCache.Kind.NAME, k, () -> scanByName(k)));
+        m.success(t0);
+        return result;
+    }
+
+    private List<Product> scanByName(String k) {
+        List<Product> result = new ArrayList<>();
+        for (Product p : products.values()) {
             if (p.getName() != null && p.getName().toLowerCase().contains(k)) {
                 result.add(p);
             }
@@ -130,15 +269,59 @@ public class Inventory {
         return result;
     }
 
+    /**
+     * Typo-tolerant search over product names and SKUs, closest matches first.
+     * Each query word may be off by 1 edit (3-5 letters) or 2 edits (longer).
+     */
+    public List<Product> fuzzySearch(String query, int limit) {
+        List<Product> result = new ArrayList<>();
+        for (FuzzyIndex.Match m : fuzzyIndex.search(query, limit)) {
+            result.add(m.getProduct());
+        }
+        return result;
+    }
+
+    /**
+     * As-you-type completion: products whose SKU starts with the prefix, in SKU order.
+     */
+    public List<Product> completeSku(String prefix, int limit) {
+        return prefixIndex.completeSku(prefix, limit);
+    }
+
+    /**
+     * As-you-type completion: products whose name (or a later word of it)
+     * starts with the prefix.
+     */
+    public List<Product> completeName(String prefix, int limit) {
+        return prefixIndex.completeName(prefix, limit);
+    }
+
+    /**
+     * Products with SKU in [fromSku, toSku) in lexical order; null = unbounded.
+     */
+    public List<Product> getProductsBySkuRange(String fromSku, String toSku, int limit) {
+        return prefixIndex.skuRange(fromSku, toSku, limit);
+    }
+
     /**
      * Search products by category (returns all matches).
+     * Matches are cached; the caller gets its own copy to modify.
      */
     public List<Product> searchByCategory(String category) {
-        List<Product> result = new ArrayList<>();
-        if (category == null || category.isBlank()) return result;
+        if (category == null || category.isBlank()) return new ArrayList<>();
 
         String c = category.trim().toLowerCase();
-        for (Product p : products) {
+        OperationMetrics m = searchMetrics;
+        if (m == null) return new ArrayList<>(searchCache.get(SearchCache.Kind.CATEGORY, c, () -> scanByCategory(c)));
+        long t0 = m.start();
+        List<Product> result = new ArrayList<>(searchCache.get(SearchCache.Kind.CATEGORY, c, () -> scanByCategory(c)));
+        m.success(t0);
+        return result;
+    }
+
+    private List<Product> scanByCategory(String c) {
+        List<Product> result = new ArrayList<>();
+        for (Product p : products.values()) {
             if (p.getCategory() != null && p.getCategory().toLowerCase().contains(c)) {
                 result.add(p);
             }
@@ -175,6 +358,60 @@ public class Inventory {
         return true;
     }
 
+    /**
+     * Reprice every product matching the query in one pass.
+     * All new prices are computed and validated before any product is changed,
+     * so a bad price leaves the whole batch untouched. The price index and
+     * valuation totals follow each change as it is applied.
+     *
+     * @param pricing maps the current unit price to the new one
+     * @return number of products whose price changed
+     */
+    public int reprice(ProductQuery query, DoubleUnaryOperator pricing) {
+        if (pricing == null) throw new IllegalArgumentException("Pricing function cannot be null");
+        List<Product> targets = query(query);
+
+        double[] newPrices = new double[targets.size()];
+        for (int i = 0; i < newPrices.length; i++) {
+            double price = pricing.applyAsDouble(targets.get(i).getUnitPrice());
+            if (Double.isNaN(price) || price < 0) {
+                throw new IllegalArgumentException("Invalid new price " + price + " for " + targets.get(i).getSku());
+            }
+            newPrices[i] = price;
+        }
+
+        int changed = 0;
+        for (int i = 0; i < newPrices.length; i++) {
+            Product p = targets.get(i);
+            if (p.getUnitPrice() != newPrices[i]) {
+                p.setUnitPrice(newPrices[i]);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Discount every product matching the query (same rounding as Product.applyDiscount).
+     *
+     * @param percent discount in percent (0-100)
+     * @return number of products whose price changed
+     */
+    public int applyDiscount(ProductQuery query, double percent) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("Discount percent must be between 0 and 100");
+        }
+        double factor = 1 - (percent / 100.0);
+        return reprice(query, price -> Math.round(price * factor * 100.0) / 100.0);
+    }
+
+    /**
+     * Discount a whole category (exact match, case-insensitive).
+     */
+    public int applyCategoryDiscount(String category, double percent) {
+        return applyDiscount(ProductQuery.where().category(category), percent);
+    }
+
     /**
      * Update minimum and maximum stock levels for a product.
      */
@@ -190,57 +427,144 @@ public class Inventory {
      * Returns products considered low stock using each product's minStockLevel.
      */
     public List<Product> getLowStockProducts() {
-        List<Product> lowStock = new ArrayList<>();
-        for (Product p : products) {
-            if (p.isLowStock()) {
-                lowStock.add(p);
-            }
-        }
-        return lowStock;
+        return quantityIndex.getLowStock();
     }
 
     /**
      * Low stock list using external limit.
      */
     public List<Product> getLowStockProducts(int limit) {
-        List<Product> lowStock = new ArrayList<>();
-        for (Product p : products) {
-            if (p.getQuantity() <= limit) {
-                lowStock.add(p);
-            }
-        }
-        return lowStock;
+        return quantityIndex.getRange(Integer.MIN_VALUE, limit);
     }
 
     /**
      * Returns products that are completely out of stock (quantity == 0).
      */
     public List<Product> getOutOfStockProducts() {
-        List<Product> out = new ArrayList<>();
-        for (Product p : products) {
-            if (p.getQuantity() == 0) {
-                out.add(p);
-            }
-        }
-        return out;
+        return quantityIndex.getRange(0, 0);
     }
 
     /**
-     * Calculates total inventory value.
+     * Total inventory value (kept up to date by the price index).
      */
     public double getTotalInventoryValue() {
-        double total = 0;
-        for (Product p : products) {
-            total += p.getStockValue();
+        return priceIndex.getTotalValue();
+    }
+
+    /**
+     * Stock value of one category (exact match, case-insensitive).
+     */
+    public double getCategoryValue(String category) {
+        return priceIndex.getCategoryValue(category);
+    }
+
+    /**
+     * Products priced between min and max (inclusive), cheapest first.
+     */
+    public List<Product> getProductsInPriceRange(double min, double max) {
+        return priceIndex.getRange(min, max);
+    }
+
+    /* =========================
+       Queries / indexes
+       ========================= */
+
+    /**
+     * Run a composable query, reading candidates from the most selective index.
+     *
+     * @return matching products (ordered and limited as the query requests)
+     */
+    public List<Product> query(ProductQuery query) {
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        OperationMetrics m = queryMetrics;
+        if (m == null) return planner.execute(query);
+        long t0 = m.start();
+        List<Product> result = planner.execute(query);
+        m.success(t0);
+        return result;
+    }
+
+    /**
+     * Describe the access path {@link #query} would use (for diagnostics).
+     */
+    public String explain(ProductQuery query) {
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        return planner.plan(query).toString();
+    }
+
+    /**
+     * Register an extra index; it is populated with the current products.
+     */
+    public void addIndex(ProductIndex index) {
+        if (index == null) throw new IllegalArgumentException("Index cannot be null");
+        if (indexes.contains(index)) return;
+        for (Product p : products.values()) {
+            index.onProductAdded(p);
         }
-        return total;
+        indexes.add(index);
+    }
+
+    /**
+     * Products grouped by category (exact match, case-insensitive).
+     */
+    public CategoryIndex getCategoryIndex() {
+        return categoryIndex;
+    }
+
+    /**
+     * Keyword search cache (hit rate, evictions, invalidations).
+     */
+    public SearchCache getSearchCache() {
+        return searchCache;
+    }
+
+    /**
+     * Products sorted by unit price, plus valuation totals.
+     */
+    public PriceIndex getPriceIndex() {
+        return priceIndex;
+    }
+
+    /**
+     * Products sorted by quantity, plus the low-stock set.
+     */
+    public QuantityIndex getQuantityIndex() {
+        return quantityIndex;
+    }
+
+    /**
+     * Index of perishable products by expiry date.
+     */
+    public ExpiryIndex getExpiryIndex() {
+        return expiryIndex;
+    }
+
+    /**
+     * Perishable products already past their expiry date.
+     */
+    public List<PerishableProduct> getExpiredProducts() {
+        return expiryIndex.expired();
+    }
+
+    /**
+     * Perishable products expiring within the given number of days.
+     */
+    public List<PerishableProduct> getNearExpiryProducts(int days) {
+        return expiryIndex.expiringWithin(days);
     }
 
     /**
      * Return a defensive copy of all products.
      */
     public List<Product> getAllProducts() {
-        return new ArrayList<>(products);
+        return new ArrayList<>(products.values());
+    }
+
+    /**
+     * All products as one array copy (for scans that split it by index).
+     */
+    Product[] getProductArray() {
+        return products.values().toArray(new Product[0]);
     }
 
     /**
@@ -258,7 +582,7 @@ public class Inventory {
             System.out.println("Inventory is empty.");
         } else {
             System.out.println("=== Inventory Products ===");
-            for (Product p : products) {
+            for (Product p : products.values()) {
                 System.out.println(p);
             }
         }
@@ -280,6 +604,9 @@ public class Inventory {
             return false;
         }
         suppliers.add(supplier);
+        for (String sku : supplier.getSuppliedProductSkus()) {
+            indexSupplierLink(supplier, sku);
+        }
         return true;
     }
 
@@ -311,7 +638,17 @@ public class Inventory {
     public boolean removeSupplierByCode(String supplierCode) {
         Supplier s = findSupplierByCode(supplierCode);
         if (s == null) return false;
-        return suppliers.remove(s);
+        if (!suppliers.remove(s)) return false;
+        for (String sku : s.getSuppliedProductSkus()) {
+            unindexSupplierLink(s, sku);
+        }
+
+        if (eventBus != null) {
+            for (String sku : s.getSuppliedProductSkus()) {
+                publish(InventoryEvent.supplierUnlinked(s.getSupplierCode(), sku));
+            }
+        }
+        return true;
     }
 
     /**
@@ -327,7 +664,26 @@ public class Inventory {
         Product product = findBySku(productSku);
         if (product == null) return false;
 
-        supplier.addSuppliedProductSku(product.getSku());
+        if (!supplier.suppliesProduct(product.getSku())) {
+            supplier.addSuppliedProductSku(product.getSku());
+            indexSupplierLink(supplier, product.getSku());
+            if (eventBus != null) publish(InventoryEvent.supplierLinked(supplier.getSupplierCode(), product.getSku()));
+        }
+        return true;
+    }
+
+    /**
+     * Removes the link between a supplier and a product SKU.
+     *
+     * @return true if the link existed and was removed
+     */
+    public boolean unassignSupplierFromProduct(String supplierCode, String productSku) {
+        Supplier supplier = findSupplierByCode(supplierCode);
+        if (supplier == null) return false;
+
+        if (!supplier.removeSuppliedProductSku(productSku)) return false;
+        unindexSupplierLink(supplier, productSku);
+        if (eventBus != null) publish(InventoryEvent.supplierUnlinked(supplier.getSupplierCode(), productSku.trim()));
         return true;
     }
 
@@ -349,6 +705,32 @@ public class Inventory {
         return result;
     }
 
+    /**
+     * Returns all suppliers linked to the given product SKU.
+     * Links are read from an index kept by this class, so change them through
+     * assignSupplierToProduct / unassignSupplierFromProduct once the supplier
+     * has been added.
+     */
+    public List<Supplier> getSuppliersForProduct(String productSku) {
+        if (productSku == null || productSku.isBlank()) return new ArrayList<>();
+
+        List<Supplier> linked = suppliersBySku.get(productSku.trim().toUpperCase());
+        return (linked == null) ? new ArrayList<>() : new ArrayList<>(linked);
+    }
+
+    private void indexSupplierLink(Supplier supplier, String sku) {
+        List<Supplier> linked = suppliersBySku.computeIfAbsent(sku.trim().toUpperCase(), k -> new ArrayList<>());
+        if (!linked.contains(supplier)) linked.add(supplier);
+    }
+
+    private void unindexSupplierLink(Supplier supplier, String sku) {
+        String key = sku.trim().toUpperCase();
+        List<Supplier> linked = suppliersBySku.get(key);
+        if (linked == null) return;
+        linked.remove(supplier);
+        if (linked.isEmpty()) suppliersBySku.remove(key);
+    }
+
     /**
      * Helper: removes a product SKU from all suppliers.
      * Called automatically when a product is deleted.
@@ -357,7 +739,36 @@ public class Inventory {
         if (sku == null || sku.isBlank()) return;
 
         for (Supplier s : suppliers) {
-            s.removeSuppliedProductSku(sku);
+            if (s.removeSuppliedProductSku(sku)) {
+                unindexSupplierLink(s, sku);
+                if (eventBus != null) publish(InventoryEvent.supplierUnlinked(s.getSupplierCode(), sku));
+            }
+        }
+    }
+
+    /**
+     * Serves sku = X conditions straight from the SKU map.
+     */
+    private class SkuIndex implements ProductIndex {
+        @Override public void onProductAdded(Product product) { }
+        @Override public void onProductRemoved(Product product) { }
+        @Override public void onProductChanged(Product product, ProductField field, Object oldValue) { }
+
+        @Override
+        public long estimate(ProductQuery.Condition condition, long bound) {
+            if (!(condition instanceof ProductQuery.SkuEquals)) return -1;
+            return products.containsKey(((ProductQuery.SkuEquals) condition).getSku()) ? 1 : 0;
+        }
+
+        @Override
+        public Iterable<Product> candidates(ProductQuery.Condition condition) {
+            Product p = products.get(((ProductQuery.SkuEquals) condition).getSku());
+            return (p == null) ? Collections.emptyList() : Collections.singletonList(p);
+        }
+
+        @Override
+        public String getName() {
+            return "SkuIndex";
         }
     }
 }
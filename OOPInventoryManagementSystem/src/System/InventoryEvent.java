@@ -0,0 +1,119 @@
+package System;
+
+/**
+ * One change to an Inventory, as delivered by InventoryEventBus.
+ *
+ * Events are immutable. The sequence number is assigned by the bus when
+ * the event is published; it is gap-free per bus, so a subscriber that
+ * sees a jump knows events were dropped for it.
+ */
+public final class InventoryEvent {
+
+    public enum Type {
+        PRODUCT_ADDED,
+        PRODUCT_REMOVED,
+        QUANTITY_CHANGED,
+        PRICE_CHANGED,
+        SUPPLIER_LINKED,
+        SUPPLIER_UNLINKED
+    }
+
+    private final Type type;
+    private final long sequence;
+    private final long timestampMillis;
+    private final String sku;
+    private final String supplierCode;  // only for SUPPLIER_* events
+    private final double before;        // quantity or price before (QUANTITY_/PRICE_CHANGED)
+    private final double after;         // quantity or price after; for ADDED/REMOVED the quantity
+
+    private InventoryEvent(Type type, long sequence, long timestampMillis, String sku,
+                           String supplierCode, double before, double after) {
+        this.type = type;
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.sku = sku;
+        this.supplierCode = supplierCode;
+        this.before = before;
+        this.after = after;
+    }
+
+    /* =========================
+       Factories (sequence 0 until published)
+       ========================= */
+
+    static InventoryEvent productAdded(Product p) {
+        return new InventoryEvent(Type.PRODUCT_ADDED, 0, 0, p.getSku(), null, 0, p.getQuantity());
+    }
+
+    static InventoryEvent productRemoved(Product p) {
+        return new InventoryEvent(Type.PRODUCT_REMOVED, 0, 0, p.getSku(), null, p.getQuantity(), 0);
+    }
+
+    static InventoryEvent quantityChanged(Product p, int before) {
+        return new InventoryEvent(Type.QUANTITY_CHANGED, 0, 0, p.getSku(), null, before, p.getQuantity());
+    }
+
+    static InventoryEvent priceChanged(Product p, double before) {
+        return new InventoryEvent(Type.PRICE_CHANGED, 0, 0, p.getSku(), null, before, p.getUnitPrice());
+    }
+
+    static InventoryEvent supplierLinked(String supplierCode, String sku) {
+        return new InventoryEvent(Type.SUPPLIER_LINKED, 0, 0, sku, supplierCode, 0, 0);
+    }
+
+    static InventoryEvent supplierUnlinked(String supplierCode, String sku) {
+        return new InventoryEvent(Type.SUPPLIER_UNLINKED, 0, 0, sku, supplierCode, 0, 0);
+    }
+
+    /**
+     * Copy stamped with the bus sequence number and publish time.
+     */
+    InventoryEvent stamped(long sequence, long timestampMillis) {
+        return new InventoryEvent(type, sequence, timestampMillis, sku, supplierCode, before, after);
+    }
+
+    /* =========================
+       Getters
+       ========================= */
+
+    public Type getType() { return type; }
+    public long getSequence() { return sequence; }
+    public long getTimestampMillis() { return timestampMillis; }
+    public String getSku() { return sku; }
+    public String getSupplierCode() { return supplierCode; }
+
+    /**
+     * Quantity before the change (QUANTITY_CHANGED, PRODUCT_REMOVED).
+     */
+    public int getQuantityBefore() { return (int) before; }
+
+    /**
+     * Quantity after the change (QUANTITY_CHANGED, PRODUCT_ADDED).
+     */
+    public int getQuantityAfter() { return (int) after; }
+
+    /**
+     * Unit price before the change (PRICE_CHANGED).
+     */
+    public double getPriceBefore() { return before; }
+
+    /**
+     * Unit price after the change (PRICE_CHANGED).
+     */
+    public double getPriceAfter() { return after; }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case QUANTITY_CHANGED:
+                return "#" + sequence + " " + type + " " + sku + " " + getQuantityBefore() + " -> " + getQuantityAfter();
+            case PRICE_CHANGED:
+                return "#" + sequence + " " + type + " " + sku + " " + before + " -> " + after;
+            case SUPPLIER_LINKED:
+            case SUPPLIER_UNLINKED:
+                return "#" + sequence + " " + type + " " + supplierCode + " / " + sku;
+            default:
+                return "#" + sequence + " " + type + " " + sku;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package System;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, asynchronous fan-out of InventoryEvents.
+ *
+ * Every subscription has its own bounded queue and delivery thread, so a
+ * slow subscriber only delays itself. Publishing never blocks: the writer
+ * offers the event to each queue, and if a queue is full the event is
+ * dropped for that subscriber and counted (the sequence gap tells the
+ * subscriber to resynchronise, e.g. by rescanning the Inventory).
+ *
+ * A delivery thread waits for one event, then drains up to batchSize more
+ * and hands them over in a single onEvents call.
+ */
+public class InventoryEventBus implements AutoCloseable {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * Deliver the event to every current subscriber (non-blocking).
+     * Assigns the next sequence number.
+     */
+    public void publish(InventoryEvent event) {
+        if (event == null || closed) return;
+        if (subscriptions.isEmpty()) {
+            sequence.incrementAndGet();
+            return;
+        }
+        InventoryEvent stamped = event.stamped(sequence.incrementAndGet(), System.currentTimeMillis());
+        for (Subscription s : subscriptions) {
+            s.offer(stamped);
+        }
+    }
+
+    /**
+     * Subscribe with its own queue of {@code capacity} events and batches of
+     * at most {@code batchSize}.
+     */
+    public Subscription subscribe(String name, InventoryEventSubscriber subscriber, int capacity, int batchSize) {
+        if (closed) throw new IllegalStateException("Event bus is closed");
+        if (subscriber == null) throw new IllegalArgumentException("Subscriber cannot be null");
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        if (batchSize <= 0) throw new IllegalArgumentException("Batch size must be positive");
+
+        Subscription s = new Subscription(name, subscriber, capacity, batchSize);
+        subscriptions.add(s);
+        s.thread.start();
+        return s;
+    }
+
+    /**
+     * Subscribe with a 64k-event queue and batches of up to 1024.
+     */
+    public Subscription subscribe(String name, InventoryEventSubscriber subscriber) {
+        return subscribe(name, subscriber, 65_536, 1_024);
+    }
+
+    public List<Subscription> getSubscriptions() {
+        return new ArrayList<>(subscriptions);
+    }
+
+    /**
+     * Last sequence number handed out.
+     */
+    public long getLastSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Wait until every subscription has handled everything queued so far.
+     *
+     * @return true if idle within the timeout
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Subscription s : subscriptions) {
+            if (!s.awaitIdle(deadline)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stop accepting events, deliver what is queued, and stop the threads.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Subscription s : subscriptions) {
+            s.close();
+        }
+        subscriptions.clear();
+    }
+
+    /**
+     * One subscriber's queue, delivery thread and counters.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final String name;
+        private final InventoryEventSubscriber subscriber;
+        private final BlockingQueue<InventoryEvent> queue;
+        private final int batchSize;
+        private final Thread thread;
+
+        private final AtomicLong offered = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile long delivered;
+        private volatile long batches;
+        private volatile long errors;
+        private volatile boolean stopping;
+
+        private Subscription(String name, InventoryEventSubscriber subscriber, int capacity, int batchSize) {
+            this.name = (name == null || name.isBlank()) ? "subscriber" : name.trim();
+            this.subscriber = subscriber;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.batchSize = batchSize;
+            this.thread = new Thread(this::run, "inventory-events-" + this.name);
+            this.thread.setDaemon(true);
+        }
+
+        private void offer(InventoryEvent e) {
+            offered.incrementAndGet();
+            if (!queue.offer(e)) dropped.incrementAndGet();
+        }
+
+        private void run() {
+            List<InventoryEvent> batch = new ArrayList<>(batchSize);
+            while (true) {
+                try {
+                    InventoryEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        if (stopping) return;
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                } catch (InterruptedException e) {
+                    if (stopping && queue.isEmpty()) return;
+                    continue;
+                }
+
+                try {
+                    subscriber.onEvents(new ArrayList<>(batch));
+                } catch (RuntimeException e) {
+                    errors++;
+                }
+                delivered += batch.size();
+                batches++;
+                batch.clear();
+            }
+        }
+
+        private boolean awaitIdle(long deadlineNanos) throws InterruptedException {
+            while (delivered + dropped.get() < offered.get()) {
+                if (System.nanoTime() >= deadlineNanos) return false;
+                Thread.sleep(1);
+            }
+            return true;
+        }
+
+        /**
+         * Stop this subscription after delivering what is already queued.
+         */
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+            stopping = true;
+            try {
+                thread.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public String getName() { return name; }
+        public long getDeliveredCount() { return delivered; }
+        public long getDroppedCount() { return dropped.get(); }
+        public long getBatchCount() { return batches; }
+        public long getErrorCount() { return errors; }
+
+        /**
+         * Events waiting in this subscriber's queue.
+         */
+        public int getBacklog() { return queue.size(); }
+
+        @Override
+        public String toString() {
+            return String.format("%s: delivered=%d in %d batches, dropped=%d, errors=%d, backlog=%d",
+                    name, delivered, batches, dropped.get(), errors, queue.size());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package System;
+
+import java.util.List;
+
+/**
+ * Receives inventory changes from an InventoryEventBus.
+ *
+ * Called on the subscription's own thread, never the writer's, with the
+ * events queued since the previous call (in publish order, at most the
+ * subscription's batch size). Exceptions are counted and the next batch
+ * is still delivered.
+ */
+public interface InventoryEventSubscriber {
+
+    void onEvents(List<InventoryEvent> events);
+}
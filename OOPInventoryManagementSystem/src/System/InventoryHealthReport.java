@@ -0,0 +1,227 @@
+package System;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Full inventory health report computed in one parallel pass.
+ *
+ * A fork-join task splits one snapshot of the catalog into chunks; each
+ * chunk fills its own partial result (low / out-of-stock / overstock lists,
+ * value per category and supplier, perishable expiry buckets), and the
+ * partials are merged on the way back up. This replaces running the
+ * separate Inventory scans one after another.
+ *
+ * Partials are merged left to right, so the product lists keep catalog order.
+ * Value per category is keyed by the normalized (trimmed, lower-case)
+ * category, as in CategoryIndex and PriceIndex. Value per supplier counts a
+ * product's full stock value under each supplier linked to it; unlinked
+ * products are grouped under "(none)".
+ */
+public class InventoryHealthReport {
+
+    public enum ExpiryBucket { EXPIRED, TODAY, WITHIN_7_DAYS, WITHIN_30_DAYS, LATER }
+
+    public static final String NO_SUPPLIER = "(none)";
+
+    private static final int CHUNK = 4096;
+
+    private final int productCount;
+    private final double totalValue;
+    private final List<Product> lowStock;
+    private final List<Product> outOfStock;
+    private final List<Product> overstocked;
+    private final Map<String, Double> valueByCategory;
+    private final Map<String, Double> valueBySupplier;
+    private final Map<ExpiryBucket, List<PerishableProduct>> expiryBuckets;
+    private final long elapsedNanos;
+
+    private InventoryHealthReport(Partial p, long elapsedNanos) {
+        this.productCount = p.count;
+        this.totalValue = p.totalValue;
+        this.lowStock = p.low;
+        this.outOfStock = p.out;
+        this.overstocked = p.over;
+        this.valueByCategory = new TreeMap<>(p.byCategory);
+        this.valueBySupplier = new TreeMap<>(p.bySupplier);
+        this.expiryBuckets = p.expiry;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public static InventoryHealthReport build(Inventory inventory) {
+        return build(inventory, inventory.getExpiryIndex().today());
+    }
+
+    /**
+     * @param today date used for every expiry check in this report
+     */
+    public static InventoryHealthReport build(Inventory inventory, LocalDate today) {
+        if (inventory == null) throw new IllegalArgumentException("Inventory cannot be null");
+        if (today == null) throw new IllegalArgumentException("Date cannot be null");
+
+        long start = System.nanoTime();
+
+        Product[] products = inventory.getProductArray();
+        Map<String, List<String>> suppliersBySku = new HashMap<>();
+        for (Supplier s : inventory.getAllSuppliers()) {
+            for (String sku : s.getSuppliedProductSkus()) {
+                suppliersBySku.computeIfAbsent(sku, k -> new ArrayList<>(2)).add(s.getSupplierCode());
+            }
+        }
+
+        Partial result = ForkJoinPool.commonPool()
+                .invoke(new ScanTask(products, 0, products.length, suppliersBySku, today));
+        return new InventoryHealthReport(result, System.nanoTime() - start);
+    }
+
+    // Getters
+
+    public int getProductCount() { return productCount; }
+    public double getTotalValue() { return totalValue; }
+    public List<Product> getLowStock() { return new ArrayList<>(lowStock); }
+    public List<Product> getOutOfStock() { return new ArrayList<>(outOfStock); }
+    public List<Product> getOverstocked() { return new ArrayList<>(overstocked); }
+    public Map<String, Double> getValueByCategory() { return new TreeMap<>(valueByCategory); }
+    public Map<String, Double> getValueBySupplier() { return new TreeMap<>(valueBySupplier); }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public List<PerishableProduct> getExpiryBucket(ExpiryBucket bucket) {
+        return new ArrayList<>(expiryBuckets.get(bucket));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Inventory Health ===").append(System.lineSeparator());
+        sb.append(String.format("Products: %d, total value: %.2f%n", productCount, totalValue));
+        sb.append(String.format("Low stock: %d, out of stock: %d, overstocked: %d%n",
+                lowStock.size(), outOfStock.size(), overstocked.size()));
+        sb.append("Value by category: ").append(valueByCategory).append(System.lineSeparator());
+        sb.append("Value by supplier: ").append(valueBySupplier).append(System.lineSeparator());
+        sb.append("Perishables:");
+        for (ExpiryBucket b : ExpiryBucket.values()) {
+            sb.append(' ').append(b).append('=').append(expiryBuckets.get(b).size());
+        }
+        sb.append(System.lineSeparator());
+        sb.append(String.format("Built in %.2f ms%n", elapsedNanos / 1_000_000.0));
+        return sb.toString();
+    }
+
+    /* =========================
+       Parallel scan
+       ========================= */
+
+    private static final class Partial {
+        int count;
+        double totalValue;
+        final List<Product> low = new ArrayList<>();
+        final List<Product> out = new ArrayList<>();
+        final List<Product> over = new ArrayList<>();
+        final Map<String, Double> byCategory = new HashMap<>();
+        final Map<String, Double> bySupplier = new HashMap<>();
+        final Map<ExpiryBucket, List<PerishableProduct>> expiry = new EnumMap<>(ExpiryBucket.class);
+
+        Partial() {
+            for (ExpiryBucket b : ExpiryBucket.values()) {
+                expiry.put(b, new ArrayList<>());
+            }
+        }
+
+        void merge(Partial o) {
+            count += o.count;
+            totalValue += o.totalValue;
+            low.addAll(o.low);
+            out.addAll(o.out);
+            over.addAll(o.over);
+            o.byCategory.forEach((k, v) -> byCategory.merge(k, v, Double::sum));
+            o.bySupplier.forEach((k, v) -> bySupplier.merge(k, v, Double::sum));
+            for (ExpiryBucket b : ExpiryBucket.values()) {
+                expiry.get(b).addAll(o.expiry.get(b));
+            }
+        }
+    }
+
+    private static final class ScanTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final Product[] products;
+        private final int from;
+        private final int to;
+        private final transient Map<String, List<String>> suppliersBySku;
+        private final LocalDate today;
+
+        ScanTask(Product[] products, int from, int to, Map<String, List<String>> suppliersBySku, LocalDate today) {
+            this.products = products;
+            this.from = from;
+            this.to = to;
+            this.suppliersBySku = suppliersBySku;
+            this.today = today;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= CHUNK) {
+                return scan();
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(products, from, mid, suppliersBySku, today);
+            ScanTask right = new ScanTask(products, mid, to, suppliersBySku, today);
+            right.fork();
+            Partial result = left.compute();
+            result.merge(right.join()); // right after left: keeps catalog order
+            return result;
+        }
+
+        private Partial scan() {
+            Partial p = new Partial();
+            for (int i = from; i < to; i++) {
+                Product product = products[i];
+                double value = product.getStockValue();
+
+                p.count++;
+                p.totalValue += value;
+                if (product.isLowStock()) p.low.add(product);
+                if (product.getQuantity() == 0) p.out.add(product);
+                if (product.isOverstocked()) p.over.add(product);
+
+                p.byCategory.merge(normCategory(product.getCategory()), value, Double::sum);
+
+                List<String> codes = suppliersBySku.get(product.getSku().toUpperCase());
+                if (codes == null) {
+                    p.bySupplier.merge(NO_SUPPLIER, value, Double::sum);
+                } else {
+                    for (String code : codes) {
+                        p.bySupplier.merge(code, value, Double::sum);
+                    }
+                }
+
+                if (product instanceof PerishableProduct) {
+                    PerishableProduct pp = (PerishableProduct) product;
+                    p.expiry.get(bucketOf(pp.getExpiryDate())).add(pp);
+                }
+            }
+            return p;
+        }
+
+        private static String normCategory(String category) {
+            return (category == null) ? "" : category.trim().toLowerCase();
+        }
+
+        private ExpiryBucket bucketOf(LocalDate expiry) {
+            long days = ChronoUnit.DAYS.between(today, expiry);
+            if (days < 0) return ExpiryBucket.EXPIRED;
+            if (days == 0) return ExpiryBucket.TODAY;
+            if (days <= 7) return ExpiryBucket.WITHIN_7_DAYS;
+            if (days <= 30) return ExpiryBucket.WITHIN_30_DAYS;
+            return ExpiryBucket.LATER;
+        }
+    }
+}
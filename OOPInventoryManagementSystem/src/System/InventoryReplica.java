@@ -0,0 +1,362 @@
+package System;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Read-only copy of a primary Inventory, kept up to date by log shipping
+ * from a {@link ReplicationPrimary}.
+ *
+ * A background thread connects to the primary, installs a snapshot when it
+ * has to, and applies log entries in order. If the connection drops it
+ * reconnects and resumes from its applied position. Reads run under a read
+ * lock against the local Inventory, so lookups and reports never touch the
+ * primary.
+ *
+ * Read-your-writes: after a write on the primary take its
+ * {@link ReplicationPrimary#getPosition()} token and pass it to
+ * {@link #awaitPosition} (or the read overloads that take a position)
+ * before reading here.
+ *
+ * Products returned by a replica belong to it and change as entries are
+ * applied; treat them as read-only.
+ */
+public class InventoryReplica implements AutoCloseable {
+
+    private static final long RECONNECT_MILLIS = 500;
+
+    private final String host;
+    private final int port;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object progress = new Object();
+
+    private Inventory inventory = new Inventory(); // guarded by lock
+    private long epoch;                             // primary run we follow (0 = none yet)
+    private volatile long appliedPosition;
+    private volatile long primaryPosition;
+    private volatile long lastAppliedTimestamp;
+    private volatile long snapshotsInstalled;
+    private volatile boolean connected;
+    private volatile boolean closed;
+    private volatile Socket socket;
+    private Thread thread;
+
+    /**
+     * Replica of the primary listening on the loopback port.
+     */
+    public InventoryReplica(int port) {
+        this(InetAddress.getLoopbackAddress().getHostAddress(), port);
+    }
+
+    public InventoryReplica(String host, int port) {
+        if (host == null || host.isBlank()) throw new IllegalArgumentException("Host cannot be empty");
+        if (port <= 0) throw new IllegalArgumentException("Port must be positive");
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Start following the primary in the background.
+     */
+    public synchronized void start() {
+        if (thread != null) throw new IllegalStateException("Replica is already started");
+        thread = new Thread(this::run, "inventory-replica-" + port);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /* =========================
+       Replication
+       ========================= */
+
+    private void run() {
+        while (!closed) {
+            try (Socket s = new Socket(host, port)) {
+                socket = s;
+                s.setTcpNoDelay(true);
+                follow(s);
+            } catch (IOException e) {
+                // primary down or connection lost; retry below
+            } finally {
+                connected = false;
+            }
+            if (closed) return;
+            try {
+                Thread.sleep(RECONNECT_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void follow(Socket s) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream(), 64 * 1024));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+        out.writeInt(ReplicationPrimary.MAGIC);
+        out.writeLong(epoch);
+        out.writeLong(appliedPosition);
+        out.flush();
+        connected = true;
+
+        while (!closed) {
+            byte frame = in.readByte();
+            switch (frame) {
+                case ReplicationPrimary.FRAME_ENTRY:
+                    long position = in.readLong();
+                    long timestamp = in.readLong();
+                    byte op = in.readByte();
+                    applyEntry(position, timestamp, op, ReplicationLog.Row.read(in));
+                    break;
+                case ReplicationPrimary.FRAME_HEARTBEAT:
+                    primaryPosition = Math.max(primaryPosition, in.readLong());
+                    in.readLong(); // primary clock, same box: not needed
+                    break;
+                case ReplicationPrimary.FRAME_SNAPSHOT:
+                    readSnapshot(in);
+                    break;
+                default:
+                    throw new IOException("Unknown replication frame: " + frame);
+            }
+        }
+    }
+
+    private void readSnapshot(DataInputStream in) throws IOException {
+        long snapshotEpoch = in.readLong();
+        long position = in.readLong();
+        long timestamp = in.readLong();
+        int count = in.readInt();
+
+        // build off to the side, then swap in one step
+        Inventory fresh = new Inventory();
+        for (int i = 0; i < count; i++) {
+            fresh.addProduct(ReplicationLog.Row.read(in).toProduct());
+        }
+        lock.writeLock().lock();
+        try {
+            inventory = fresh;
+            epoch = snapshotEpoch;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        snapshotsInstalled++;
+        advance(position, timestamp);
+    }
+
+    private void applyEntry(long position, long timestamp, byte op, ReplicationLog.Row row) {
+        lock.writeLock().lock();
+        try {
+            Product current = inventory.findBySku(row.sku);
+            if (op == ReplicationLog.OP_REMOVE) {
+                if (current != null) inventory.removeBySku(row.sku);
+            } else if (current == null) {
+                inventory.addProduct(row.toProduct());
+            } else if ((current instanceof PerishableProduct) != row.isPerishable()) {
+                inventory.removeBySku(row.sku);
+                inventory.addProduct(row.toProduct());
+            } else {
+                row.copyTo(current);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        advance(position, timestamp);
+    }
+
+    private void advance(long position, long timestamp) {
+        synchronized (progress) {
+            appliedPosition = position;
+            lastAppliedTimestamp = timestamp;
+            if (position > primaryPosition) primaryPosition = position;
+            progress.notifyAll();
+        }
+    }
+
+    /* =========================
+       Position / lag
+       ========================= */
+
+    /**
+     * Wait until every write up to the token has been applied here.
+     *
+     * @param position a {@link ReplicationPrimary#getPosition()} token
+     * @return true if reached within the timeout
+     */
+    public boolean awaitPosition(long position, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (progress) {
+            while (appliedPosition < position) {
+                long left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (left <= 0) return false;
+                progress.wait(left);
+            }
+        }
+        return true;
+    }
+
+    public long getAppliedPosition() {
+        return appliedPosition;
+    }
+
+    /**
+     * Latest primary position this replica has heard of.
+     */
+    public long getPrimaryPosition() {
+        return primaryPosition;
+    }
+
+    /**
+     * Log entries known on the primary but not yet applied here.
+     */
+    public long getLagEntries() {
+        return Math.max(0, primaryPosition - appliedPosition);
+    }
+
+    /**
+     * Age of the newest applied change while behind (0 when caught up).
+     */
+    public long getLagMillis() {
+        if (getLagEntries() == 0) return 0;
+        return Math.max(0, System.currentTimeMillis() - lastAppliedTimestamp);
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public long getSnapshotsInstalled() {
+        return snapshotsInstalled;
+    }
+
+    /* =========================
+       Reads
+       ========================= */
+
+    /**
+     * Run a read against the local copy under the read lock.
+     * The operation must not change anything (keyword searches may: the
+     * search cache they fill is thread-safe).
+     */
+    public <T> T read(Function<Inventory, T> operation) {
+        if (operation == null) throw new IllegalArgumentException("Operation cannot be null");
+        lock.readLock().lock();
+        try {
+            return operation.apply(inventory);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Read once the replica has applied everything up to {@code minPosition}.
+     *
+     * @throws IllegalStateException if the position is not reached within the timeout
+     */
+    public <T> T read(long minPosition, long timeout, TimeUnit unit, Function<Inventory, T> operation) {
+        try {
+            if (!awaitPosition(minPosition, timeout, unit)) {
+                throw new IllegalStateException("Replica at position " + appliedPosition
+                        + " did not reach " + minPosition + " in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for replication", e);
+        }
+        return read(operation);
+    }
+
+    public int getStock(String sku) {
+        Integer qty = read(inv -> {
+            Product p = inv.findBySku(sku);
+            return (p == null) ? null : p.getQuantity();
+        });
+        if (qty == null) {
+            throw new IllegalStateException("Product not found in inventory: " + sku);
+        }
+        return qty;
+    }
+
+    public Product findBySku(String sku) {
+        return read(inv -> inv.findBySku(sku));
+    }
+
+    public List<Product> searchByName(String keyword) {
+        return read(inv -> inv.searchByName(keyword));
+    }
+
+    public List<Product> searchByCategory(String category) {
+        return read(inv -> inv.searchByCategory(category));
+    }
+
+    public List<Product> getLowStockProducts() {
+        return read(Inventory::getLowStockProducts);
+    }
+
+    public double getTotalInventoryValue() {
+        return read(Inventory::getTotalInventoryValue);
+    }
+
+    public List<Product> query(ProductQuery query) {
+        return read(inv -> inv.query(query));
+    }
+
+    public int size() {
+        return read(Inventory::size);
+    }
+
+    /**
+     * Stop following the primary.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Socket s = socket;
+        if (s != null) {
+            try {
+                s.close();
+            } catch (IOException ignored) {
+            }
+        }
+        Thread t = thread;
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("replica of %s:%d %s applied=%d primary=%d lag=%d entries / %d ms snapshots=%d",
+                host, port, connected ? "connected" : "disconnected", appliedPosition,
+                primaryPosition, getLagEntries(), getLagMillis(), snapshotsInstalled);
+    }
+
+    /**
+     * Stand-alone replica for multi-process testing:
+     * {@code java System.InventoryReplica <port> [host]}
+     * Prints replication status once a second.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 1) {
+            System.out.println("Usage: InventoryReplica <port> [host]");
+            return;
+        }
+        int port = Integer.parseInt(args[0]);
+        InventoryReplica replica = (args.length > 1)
+                ? new InventoryReplica(args[1], port)
+                : new InventoryReplica(port);
+        replica.start();
+        while (true) {
+            Thread.sleep(1000);
+            System.out.println(replica + " products=" + replica.size()
+                    + " value=" + String.format("%.2f", replica.getTotalInventoryValue()));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package System;
+
+/**
+ * Log-bucketed latency histogram layout (HDR-style), in nanoseconds.
+ *
+ * Values below 64 ns get one bucket each; above that every power of two is
+ * split into 32 sub-buckets, so any recorded value is reported within ~3%
+ * of its true value. Values are capped at 2^40 ns (about 18 minutes),
+ * which keeps a histogram at 1,152 counters.
+ *
+ * This class only does the bucket arithmetic and percentile reads over a
+ * {@code long[]} of counts; OperationMetrics owns the per-thread arrays.
+ */
+final class LatencyHistogram {
+
+    static final int SUB_BITS = 5;
+    static final int SUB_COUNT = 1 << SUB_BITS;              // 32
+    static final int MAX_BITS = 40;
+    static final long MAX_VALUE = (1L << MAX_BITS) - 1;
+    static final int BUCKETS = (MAX_BITS - SUB_BITS) * SUB_COUNT + SUB_COUNT; // 1152
+
+    private LatencyHistogram() { }
+
+    /**
+     * Bucket index for a value (negative values count as 0, large ones are capped).
+     */
+    static int bucketOf(long value) {
+        if (value < 2 * SUB_COUNT) return (value < 0) ? 0 : (int) value;
+        if (value > MAX_VALUE) value = MAX_VALUE;
+
+        int msb = 63 - Long.numberOfLeadingZeros(value);      // >= SUB_BITS + 1
+        int shift = msb - SUB_BITS;
+        int top = (int) (value >>> shift);                     // in [32, 63]
+        return (shift + 1) * SUB_COUNT + (top - SUB_COUNT);
+    }
+
+    /**
+     * Largest value that falls into the bucket (what percentiles report).
+     */
+    static long highestValueIn(int bucket) {
+        if (bucket < 2 * SUB_COUNT) return bucket;
+        int shift = bucket / SUB_COUNT - 1;
+        long top = SUB_COUNT + (bucket % SUB_COUNT);
+        return ((top + 1) << shift) - 1;
+    }
+
+    /**
+     * Value at the given quantile (0..1) of the merged counts, or 0 if empty.
+     * Only the first BUCKETS entries of {@code counts} are read.
+     */
+    static long valueAtQuantile(long[] counts, long total, double quantile) {
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(quantile * total);
+        if (rank < 1) rank = 1;
+
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return highestValueIn(i);
+        }
+        return highestValueIn(BUCKETS - 1);
+    }
+}
@@ -0,0 +1,393 @@
+package System;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stock per location (warehouse, store, ...) on top of a StockManager.
+ *
+ * Product.quantity stays the total over all locations and is still changed
+ * through the StockManager, so listeners, backorders, lots, the quantity
+ * index and low-stock checks keep working (and stay O(1)). This class adds
+ * the split of that total over locations:
+ *
+ * - per SKU an int[] of units by location id;
+ * - per location a running total of units;
+ * both updated incrementally on every movement.
+ *
+ * Location-less calls (the StockOperations methods) receive into the
+ * default location and take order lines from the location chosen by the
+ * AllocationPolicy, splitting a line over several locations only when the
+ * chosen one runs short.
+ *
+ * If the total drops outside this class (expired lots written off,
+ * backorders filled by a restock) the missing units are taken from the
+ * location that was just touched first, then by policy; units added
+ * outside go to the default location. Each SKU is lined up again the next
+ * time it is used here.
+ */
+public class LocationStockManager implements StockOperations {
+
+    private final StockManager stockManager;
+    private final Inventory inventory;
+    private AllocationPolicy policy;
+
+    private final Map<String, Integer> locationIds = new HashMap<>();
+    private final List<String> locationCodes = new ArrayList<>();
+    private long[] locationTotals = new long[4];
+    private int defaultLocation = -1;
+
+    private final Map<String, SkuStock> stock = new HashMap<>();
+
+    public LocationStockManager(Inventory inventory, StockManager stockManager) {
+        this(inventory, stockManager, new MostStockAllocationPolicy());
+    }
+
+    public LocationStockManager(Inventory inventory, StockManager stockManager, AllocationPolicy policy) {
+        if (inventory == null) throw new IllegalArgumentException("Inventory cannot be null");
+        if (stockManager == null) throw new IllegalArgumentException("StockManager cannot be null");
+        if (policy == null) throw new IllegalArgumentException("Allocation policy cannot be null");
+        this.inventory = inventory;
+        this.stockManager = stockManager;
+        this.policy = policy;
+    }
+
+    private String normSku(String sku) {
+        if (sku == null || sku.isBlank()) {
+            throw new IllegalArgumentException("SKU cannot be null or empty");
+        }
+        return sku.trim().toUpperCase();
+    }
+
+    /* =========================
+       Locations
+       ========================= */
+
+    /**
+     * Register a location. The first one becomes the default receiving location.
+     *
+     * @return false if a location with this code already exists
+     */
+    public boolean addLocation(String code) {
+        if (code == null || code.isBlank()) throw new IllegalArgumentException("Location code cannot be empty");
+        String key = code.trim().toUpperCase();
+        synchronized (stockManager) {
+            if (locationIds.containsKey(key)) return false;
+
+            int id = locationCodes.size();
+            locationIds.put(key, id);
+            locationCodes.add(key);
+            if (id == locationTotals.length) {
+                locationTotals = Arrays.copyOf(locationTotals, id * 2);
+            }
+            if (defaultLocation < 0) defaultLocation = id;
+            policy.onLocationAdded(id, key);
+            return true;
+        }
+    }
+
+    public List<String> getLocations() {
+        synchronized (stockManager) {
+            return new ArrayList<>(locationCodes);
+        }
+    }
+
+    /**
+     * Location that receives location-less restocks.
+     */
+    public void setDefaultLocation(String code) {
+        synchronized (stockManager) {
+            defaultLocation = locationId(code);
+        }
+    }
+
+    public String getDefaultLocation() {
+        synchronized (stockManager) {
+            return (defaultLocation < 0) ? null : locationCodes.get(defaultLocation);
+        }
+    }
+
+    /**
+     * Switch allocation policy; the new one is fed the current stock once.
+     */
+    public void setAllocationPolicy(AllocationPolicy policy) {
+        if (policy == null) throw new IllegalArgumentException("Allocation policy cannot be null");
+        synchronized (stockManager) {
+            for (int id = 0; id < locationCodes.size(); id++) {
+                policy.onLocationAdded(id, locationCodes.get(id));
+            }
+            for (SkuStock s : stock.values()) {
+                for (int id = 0; id < s.byLocation.length; id++) {
+                    if (s.byLocation[id] > 0) policy.onQuantityChanged(s.sku, id, 0, s.byLocation[id]);
+                }
+            }
+            this.policy = policy;
+        }
+    }
+
+    private int locationId(String code) {
+        if (code == null || code.isBlank()) throw new IllegalArgumentException("Location code cannot be empty");
+        Integer id = locationIds.get(code.trim().toUpperCase());
+        if (id == null) throw new IllegalArgumentException("Unknown location: " + code);
+        return id;
+    }
+
+    private int requireDefaultLocation() {
+        if (defaultLocation < 0) throw new IllegalStateException("No locations registered");
+        return defaultLocation;
+    }
+
+    /* =========================
+       Location-aware operations
+       ========================= */
+
+    /**
+     * Receive units of a product at a location.
+     */
+    public void increaseStock(String sku, String location, int quantity) {
+        String key = normSku(sku);
+        synchronized (stockManager) {
+            int loc = locationId(location);
+            SkuStock s = skuStock(key);
+            stockManager.increaseStock(key, quantity);
+            change(s, loc, quantity);
+            reconcile(s, loc);
+        }
+    }
+
+    /**
+     * Take units of a product from one location.
+     *
+     * @throws IllegalStateException if the location holds fewer units
+     */
+    public void decreaseStock(String sku, String location, int quantity) {
+        decreaseStock(sku, location, quantity, null);
+    }
+
+    public void decreaseStock(String sku, String location, int quantity, String orderId) {
+        String key = normSku(sku);
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be positive");
+        synchronized (stockManager) {
+            int loc = locationId(location);
+            SkuStock s = skuStock(key);
+            stockManager.getStock(key); // writes off expired lots first
+            reconcile(s, loc);
+            if (at(s, loc) < quantity) {
+                throw new IllegalStateException("Insufficient stock for product: " + key + " at " + locationCodes.get(loc));
+            }
+            stockManager.decreaseStock(key, quantity, orderId);
+            change(s, loc, -quantity);
+            reconcile(s, loc);
+        }
+    }
+
+    /**
+     * Move units between locations (the product total does not change).
+     */
+    public void transfer(String sku, String from, String to, int quantity) {
+        String key = normSku(sku);
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be positive");
+        synchronized (stockManager) {
+            int src = locationId(from);
+            int dst = locationId(to);
+            SkuStock s = skuStock(key);
+            reconcile(s, src);
+            if (at(s, src) < quantity) {
+                throw new IllegalStateException("Insufficient stock for product: " + key + " at " + locationCodes.get(src));
+            }
+            change(s, src, -quantity);
+            change(s, dst, quantity);
+        }
+    }
+
+    /**
+     * Take an order line from the best locations by policy.
+     *
+     * @return where the units came from, best location first
+     * @throws IllegalStateException if the product total is too low or the policy
+     *         cannot place every unit (nothing is taken either way)
+     */
+    public List<StockAllocation> allocate(String sku, int quantity, String orderId) {
+        String key = normSku(sku);
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be positive");
+        synchronized (stockManager) {
+            SkuStock s = skuStock(key);
+            stockManager.getStock(key); // writes off expired lots first
+            reconcile(s, requireDefaultLocation());
+            if (s.total < quantity) {
+                throw new IllegalStateException("Insufficient stock for product: " + key);
+            }
+
+            // Plan every take on the location counts first (the policy sees
+            // each one), and only then take the units from the product
+            List<StockAllocation> result = new ArrayList<>(1);
+            List<Integer> planned = new ArrayList<>(1);
+            int remaining = quantity;
+            try {
+                while (remaining > 0) {
+                    int loc = policy.choose(key, remaining);
+                    if (loc < 0 || at(s, loc) <= 0) {
+                        throw new IllegalStateException("Allocation policy found no stock for " + key);
+                    }
+                    int take = Math.min(remaining, s.byLocation[loc]);
+                    change(s, loc, -take);
+                    planned.add(loc);
+                    result.add(new StockAllocation(key, locationCodes.get(loc), take));
+                    remaining -= take;
+                }
+                stockManager.decreaseStock(key, quantity, orderId);
+            } catch (RuntimeException e) {
+                for (int i = planned.size() - 1; i >= 0; i--) {
+                    change(s, planned.get(i), result.get(i).getQuantity());
+                }
+                throw e;
+            }
+            reconcile(s, planned.get(0));
+            return result;
+        }
+    }
+
+    public int getStock(String sku, String location) {
+        String key = normSku(sku);
+        synchronized (stockManager) {
+            int loc = locationId(location);
+            SkuStock s = skuStock(key);
+            reconcile(s, loc);
+            return at(s, loc);
+        }
+    }
+
+    /**
+     * Units of all products at a location (kept as a running total).
+     */
+    public long getLocationTotal(String location) {
+        synchronized (stockManager) {
+            return locationTotals[locationId(location)];
+        }
+    }
+
+    /* =========================
+       StockOperations (location-less)
+       ========================= */
+
+    /**
+     * Initial stock goes to the default location.
+     */
+    @Override
+    public void addProduct(String sku, int quantity) {
+        String key = normSku(sku);
+        synchronized (stockManager) {
+            int loc = requireDefaultLocation();
+            SkuStock s = skuStock(key);
+            stockManager.addProduct(key, quantity);
+            reconcile(s, loc);
+        }
+    }
+
+    @Override
+    public void increaseStock(String sku, int quantity) {
+        synchronized (stockManager) {
+            increaseStock(sku, locationCodes.get(requireDefaultLocation()), quantity);
+        }
+    }
+
+    @Override
+    public void decreaseStock(String sku, int quantity) {
+        allocate(sku, quantity, null);
+    }
+
+    @Override
+    public void decreaseStock(String sku, int quantity, String orderId) {
+        allocate(sku, quantity, orderId);
+    }
+
+    /**
+     * Product total over all locations (O(1): it is Product.quantity).
+     */
+    @Override
+    public int getStock(String sku) {
+        return stockManager.getStock(sku);
+    }
+
+    @Override
+    public boolean hasProduct(String sku) {
+        return stockManager.hasProduct(sku);
+    }
+
+    /* =========================
+       Internals (caller holds the StockManager lock)
+       ========================= */
+
+    private SkuStock skuStock(String key) {
+        SkuStock s = stock.get(key);
+        if (s == null) {
+            Product p = inventory.findBySku(key);
+            if (p == null) {
+                throw new IllegalStateException("Product not found in inventory: " + key);
+            }
+            s = new SkuStock(key, locationCodes.size());
+            stock.put(key, s);
+            // stock that predates location tracking sits in the default location
+            change(s, requireDefaultLocation(), p.getQuantity());
+        }
+        return s;
+    }
+
+    private static int at(SkuStock s, int loc) {
+        return (loc < s.byLocation.length) ? s.byLocation[loc] : 0;
+    }
+
+    private void change(SkuStock s, int loc, int delta) {
+        if (delta == 0) return;
+        if (loc >= s.byLocation.length) {
+            s.byLocation = Arrays.copyOf(s.byLocation, locationCodes.size());
+        }
+        int before = s.byLocation[loc];
+        int after = before + delta;
+        s.byLocation[loc] = after;
+        s.total += delta;
+        locationTotals[loc] += delta;
+        policy.onQuantityChanged(s.sku, loc, before, after);
+    }
+
+    /**
+     * Line the location split up with Product.quantity again after changes
+     * made outside this class.
+     */
+    private void reconcile(SkuStock s, int preferred) {
+        Product p = inventory.findBySku(s.sku);
+        int actual = (p == null) ? 0 : p.getQuantity();
+        int drift = actual - s.total;
+        if (drift > 0) {
+            change(s, requireDefaultLocation(), drift);
+            return;
+        }
+        int missing = -drift;
+        if (missing > 0 && preferred >= 0 && at(s, preferred) > 0) {
+            int take = Math.min(missing, at(s, preferred));
+            change(s, preferred, -take);
+            missing -= take;
+        }
+        while (missing > 0) {
+            int loc = policy.choose(s.sku, missing);
+            if (loc < 0 || at(s, loc) <= 0) break;
+            int take = Math.min(missing, at(s, loc));
+            change(s, loc, -take);
+            missing -= take;
+        }
+    }
+
+    private static final class SkuStock {
+        final String sku;
+        int[] byLocation;
+        int total;
+
+        SkuStock(String sku, int locations) {
+            this.sku = sku;
+            this.byLocation = new int[Math.max(1, locations)];
+        }
+    }
+}
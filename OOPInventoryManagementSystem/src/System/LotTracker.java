@@ -0,0 +1,141 @@
+package System;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Lot-level stock per SKU, ordered by expiry date.
+ *
+ * Lots live in a TreeMap keyed by expiry date (lots with the same date keep
+ * receipt order), so first-expiring-first-out allocation always takes from
+ * the first entry: O(log lots) per lot touched. Expired lots sit at the
+ * front of the map and are dropped from there, so excluding them never
+ * needs a scan over the remaining lots.
+ *
+ * LotTracker only tracks lots; StockManager keeps Product.quantity in step.
+ */
+public class LotTracker {
+
+    private final Clock clock;
+    private final Map<String, SkuLots> lotsBySku;
+
+    public LotTracker() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public LotTracker(Clock clock) {
+        if (clock == null) throw new IllegalArgumentException("Clock cannot be null");
+        this.clock = clock;
+        this.lotsBySku = new HashMap<>();
+    }
+
+    private String normSku(String sku) {
+        return (sku == null) ? "" : sku.trim().toUpperCase();
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    /**
+     * Register a received lot.
+     */
+    public synchronized StockLot receive(String sku, String lotId, LocalDate expiryDate, int quantity) {
+        StockLot lot = new StockLot(lotId, sku, expiryDate, quantity);
+        SkuLots lots = lotsBySku.computeIfAbsent(lot.getSku(), k -> new SkuLots());
+        lots.byExpiry.computeIfAbsent(expiryDate, d -> new ArrayDeque<>()).addLast(lot);
+        lots.total += quantity;
+        return lot;
+    }
+
+    public synchronized boolean isTracked(String sku) {
+        return lotsBySku.containsKey(normSku(sku));
+    }
+
+    /**
+     * SKUs that have (or had) lots.
+     */
+    public synchronized List<String> getTrackedSkus() {
+        return new ArrayList<>(lotsBySku.keySet());
+    }
+
+    /**
+     * Drop lots that expired before today.
+     *
+     * @return the expired lots (with the units they still held)
+     */
+    public synchronized List<StockLot> removeExpired(String sku) {
+        List<StockLot> expired = new ArrayList<>();
+        SkuLots lots = lotsBySku.get(normSku(sku));
+        if (lots == null) return expired;
+
+        LocalDate today = today();
+        while (!lots.byExpiry.isEmpty() && lots.byExpiry.firstKey().isBefore(today)) {
+            for (StockLot lot : lots.byExpiry.pollFirstEntry().getValue()) {
+                lots.total -= lot.getQuantity();
+                expired.add(lot);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Take up to {@code quantity} units first-expiring-first-out.
+     * Call {@link #removeExpired(String)} first so expired lots are not used.
+     *
+     * @return units taken from lots (less than asked if lots run out)
+     */
+    public synchronized int allocate(String sku, int quantity) {
+        SkuLots lots = lotsBySku.get(normSku(sku));
+        if (lots == null || quantity <= 0) return 0;
+
+        int taken = 0;
+        while (taken < quantity && !lots.byExpiry.isEmpty()) {
+            Map.Entry<LocalDate, Deque<StockLot>> first = lots.byExpiry.firstEntry();
+            Deque<StockLot> sameDay = first.getValue();
+            StockLot lot = sameDay.peekFirst();
+
+            taken += lot.take(quantity - taken);
+            if (lot.getQuantity() == 0) {
+                sameDay.pollFirst();
+                if (sameDay.isEmpty()) lots.byExpiry.remove(first.getKey());
+            }
+        }
+        lots.total -= taken;
+        return taken;
+    }
+
+    /**
+     * Units held in lots for a SKU (expired lots included until removed).
+     */
+    public synchronized int getLotQuantity(String sku) {
+        SkuLots lots = lotsBySku.get(normSku(sku));
+        return (lots == null) ? 0 : lots.total;
+    }
+
+    /**
+     * Lots of a SKU in allocation (FEFO) order.
+     */
+    public synchronized List<StockLot> getLots(String sku) {
+        List<StockLot> result = new ArrayList<>();
+        SkuLots lots = lotsBySku.get(normSku(sku));
+        if (lots == null) return result;
+
+        for (Deque<StockLot> sameDay : lots.byExpiry.values()) {
+            result.addAll(sameDay);
+        }
+        return result;
+    }
+
+    private static final class SkuLots {
+        final TreeMap<LocalDate, Deque<StockLot>> byExpiry = new TreeMap<>();
+        int total;
+    }
+}
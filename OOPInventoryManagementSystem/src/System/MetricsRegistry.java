@@ -0,0 +1,112 @@
+package System;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Named OperationMetrics, optionally published as platform MBeans.
+ *
+ * With a JMX domain every operation appears as
+ * {@code <domain>:type=Operation,name=<operation>} and can be read with
+ * jconsole, VisualVM or any JMX client. Without a domain the metrics are
+ * only kept in memory (tests, tools).
+ *
+ * Operation names used in this package:
+ * stock.increase, stock.decrease, stock.get, stock.add, stock.has,
+ * order.place, inventory.findBySku, inventory.search, inventory.query,
+ * csv.load, csv.save.
+ */
+public class MetricsRegistry implements AutoCloseable {
+
+    private final String jmxDomain;
+    private final MBeanServer server;
+    private final Map<String, OperationMetrics> operations = new ConcurrentSkipListMap<>();
+    private final Map<String, ObjectName> registered = new ConcurrentHashMap<>();
+
+    /**
+     * In-memory registry (nothing published).
+     */
+    public MetricsRegistry() {
+        this.jmxDomain = null;
+        this.server = null;
+    }
+
+    /**
+     * Registry that publishes each operation to the platform MBean server.
+     */
+    public MetricsRegistry(String jmxDomain) {
+        if (jmxDomain == null || jmxDomain.isBlank()) throw new IllegalArgumentException("JMX domain cannot be empty");
+        this.jmxDomain = jmxDomain.trim();
+        this.server = ManagementFactory.getPlatformMBeanServer();
+    }
+
+    /**
+     * Metrics for the named operation, created (and published) on first use.
+     */
+    public OperationMetrics operation(String name) {
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("Operation name cannot be empty");
+        OperationMetrics m = operations.get(name);
+        if (m != null) return m;
+        return operations.computeIfAbsent(name, n -> publish(new OperationMetrics(n)));
+    }
+
+    private OperationMetrics publish(OperationMetrics m) {
+        if (server == null) return m;
+        try {
+            ObjectName objectName = new ObjectName(jmxDomain + ":type=Operation,name=" + ObjectName.quote(m.getName()));
+            try {
+                server.registerMBean(m, objectName);
+            } catch (InstanceAlreadyExistsException e) {
+                // a previous registry with the same domain was not closed; take its place
+                server.unregisterMBean(objectName);
+                server.registerMBean(m, objectName);
+            }
+            registered.put(m.getName(), objectName);
+        } catch (JMException e) {
+            throw new RuntimeException("Failed to register MBean for " + m.getName(), e);
+        }
+        return m;
+    }
+
+    public List<OperationMetrics> getOperations() {
+        return new ArrayList<>(operations.values());
+    }
+
+    /**
+     * One line per operation, sorted by name.
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (OperationMetrics m : operations.values()) {
+            sb.append(m).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Unregister every published MBean.
+     */
+    @Override
+    public void close() {
+        if (server == null) return;
+        for (ObjectName name : registered.values()) {
+            try {
+                server.unregisterMBean(name);
+            } catch (InstanceNotFoundException ignored) {
+                // already gone
+            } catch (JMException e) {
+                throw new RuntimeException("Failed to unregister MBean " + name, e);
+            }
+        }
+        registered.clear();
+    }
+}
@@ -0,0 +1,51 @@
+package System;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Takes order lines from the location holding the most units of the SKU,
+ * which serves a line from a single location whenever any location can.
+ *
+ * Per SKU the stocked locations sit in a TreeSet keyed by (quantity, id),
+ * so an update is O(log L) and a choice is O(log L) in the number of
+ * locations stocking that SKU.
+ */
+public class MostStockAllocationPolicy implements AllocationPolicy {
+
+    private final Map<String, TreeSet<Long>> bySku = new HashMap<>();
+
+    private static long key(int quantity, int locationId) {
+        return ((long) quantity << 32) | (locationId & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public void onLocationAdded(int locationId, String code) {
+        // nothing to prepare: locations appear once they hold stock
+    }
+
+    @Override
+    public void onQuantityChanged(String sku, int locationId, int before, int after) {
+        TreeSet<Long> set = bySku.get(sku);
+        if (set != null && before > 0) {
+            set.remove(key(before, locationId));
+        }
+        if (after > 0) {
+            if (set == null) {
+                set = new TreeSet<>();
+                bySku.put(sku, set);
+            }
+            set.add(key(after, locationId));
+        } else if (set != null && set.isEmpty()) {
+            bySku.remove(sku);
+        }
+    }
+
+    @Override
+    public int choose(String sku, int quantity) {
+        TreeSet<Long> set = bySku.get(sku);
+        if (set == null || set.isEmpty()) return -1;
+        return (int) (set.last() & 0xFFFFFFFFL);
+    }
+}
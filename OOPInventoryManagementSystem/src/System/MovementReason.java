@@ -0,0 +1,15 @@
+package System;
+
+/**
+ * Why a product's stock quantity changed.
+ */
+public enum MovementReason {
+    /** Units taken for a customer order (including backorder fills). */
+    ORDER,
+    /** Units received into stock (restock, lot receipt). */
+    RECEIPT,
+    /** Manual correction, e.g. a stock-take overwrite. */
+    ADJUSTMENT,
+    /** Units written off because their lot expired. */
+    EXPIRY
+}
@@ -0,0 +1,161 @@
+package System;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histogram, call counter and failure counter for one operation.
+ *
+ * Each thread records into its own counters, so recording takes no lock,
+ * does no CAS and allocates nothing after the thread's first call. Readers
+ * (JMX) sum the per-thread counters. Every counter has a single writer, so
+ * plain read + opaque write is enough; a reader may see a call's latency
+ * before its count, which is fine for monitoring.
+ *
+ * Usage:
+ * <pre>
+ *   long t0 = metrics.start();
+ *   ... operation ...
+ *   metrics.success(t0);   // or metrics.failure(t0)
+ * </pre>
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+
+    // Slots after the histogram buckets in each thread's array
+    private static final int COUNT = LatencyHistogram.BUCKETS;
+    private static final int FAILURES = COUNT + 1;
+    private static final int TOTAL_NANOS = COUNT + 2;
+    private static final int MAX_NANOS = COUNT + 3;
+    private static final int SLOTS = COUNT + 4;
+
+    private final String name;
+    private final List<AtomicLongArray> recorders = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<AtomicLongArray> local = ThreadLocal.withInitial(this::newRecorder);
+
+    // Reset does not touch other threads' arrays; it records a baseline instead
+    private volatile long[] baseline = new long[SLOTS];
+    private volatile long since = System.nanoTime();
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    private AtomicLongArray newRecorder() {
+        AtomicLongArray r = new AtomicLongArray(SLOTS);
+        recorders.add(r);
+        return r;
+    }
+
+    /* =========================
+       Recording
+       ========================= */
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void success(long startNanos) {
+        record(System.nanoTime() - startNanos, false);
+    }
+
+    public void failure(long startNanos) {
+        record(System.nanoTime() - startNanos, true);
+    }
+
+    /**
+     * Record one call that took {@code nanos}.
+     */
+    public void record(long nanos, boolean failed) {
+        AtomicLongArray r = local.get();
+        int bucket = LatencyHistogram.bucketOf(nanos);
+        r.setOpaque(bucket, r.getPlain(bucket) + 1);
+        r.setOpaque(COUNT, r.getPlain(COUNT) + 1);
+        r.setOpaque(TOTAL_NANOS, r.getPlain(TOTAL_NANOS) + nanos);
+        if (failed) r.setOpaque(FAILURES, r.getPlain(FAILURES) + 1);
+        if (nanos > r.getPlain(MAX_NANOS)) r.setOpaque(MAX_NANOS, nanos);
+    }
+
+    /* =========================
+       Reading
+       ========================= */
+
+    /**
+     * Sum of all threads' counters minus the reset baseline.
+     * (Max is taken over all time: a reset cannot lower another thread's max.)
+     */
+    private long[] merged() {
+        long[] sum = new long[SLOTS];
+        for (AtomicLongArray r : recorders) {
+            for (int i = 0; i < MAX_NANOS; i++) {
+                sum[i] += r.getOpaque(i);
+            }
+            sum[MAX_NANOS] = Math.max(sum[MAX_NANOS], r.getOpaque(MAX_NANOS));
+        }
+        long[] base = baseline;
+        for (int i = 0; i < MAX_NANOS; i++) {
+            sum[i] -= base[i];
+        }
+        return sum;
+    }
+
+    private double quantileMicros(double q) {
+        long[] m = merged();
+        return LatencyHistogram.valueAtQuantile(m, m[COUNT], q) / 1_000.0;
+    }
+
+    @Override
+    public String getName() { return name; }
+
+    @Override
+    public long getCount() { return merged()[COUNT]; }
+
+    @Override
+    public long getFailureCount() { return merged()[FAILURES]; }
+
+    @Override
+    public double getThroughputPerSecond() {
+        double seconds = (System.nanoTime() - since) / 1e9;
+        return (seconds <= 0) ? 0 : getCount() / seconds;
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long[] m = merged();
+        return (m[COUNT] == 0) ? 0 : m[TOTAL_NANOS] / (double) m[COUNT] / 1_000.0;
+    }
+
+    @Override
+    public double getP50Micros() { return quantileMicros(0.50); }
+
+    @Override
+    public double getP99Micros() { return quantileMicros(0.99); }
+
+    @Override
+    public double getP999Micros() { return quantileMicros(0.999); }
+
+    @Override
+    public double getMaxMicros() { return merged()[MAX_NANOS] / 1_000.0; }
+
+    @Override
+    public synchronized void reset() {
+        long[] m = merged();
+        long[] base = baseline.clone();
+        for (int i = 0; i < MAX_NANOS; i++) {
+            base[i] += m[i];
+        }
+        baseline = base;
+        since = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        long[] m = merged();
+        return String.format("%-22s n=%d fail=%d p50=%.1fus p99=%.1fus p999=%.1fus max=%.1fus",
+                name, m[COUNT], m[FAILURES],
+                LatencyHistogram.valueAtQuantile(m, m[COUNT], 0.50) / 1_000.0,
+                LatencyHistogram.valueAtQuantile(m, m[COUNT], 0.99) / 1_000.0,
+                LatencyHistogram.valueAtQuantile(m, m[COUNT], 0.999) / 1_000.0,
+                m[MAX_NANOS] / 1_000.0);
+    }
+}
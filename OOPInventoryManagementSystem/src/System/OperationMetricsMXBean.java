@@ -0,0 +1,31 @@
+package System;
+
+/**
+ * JMX view of one instrumented operation (see MetricsRegistry).
+ * Latencies are in microseconds; counts are since start or the last reset.
+ */
+public interface OperationMetricsMXBean {
+
+    String getName();
+
+    long getCount();
+
+    long getFailureCount();
+
+    /**
+     * Calls per second since start or the last reset.
+     */
+    double getThroughputPerSecond();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+
+    void reset();
+}
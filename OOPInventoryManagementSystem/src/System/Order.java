@@ -12,6 +12,9 @@ public class Order {
     private OrderStatus status;
     private final List<OrderItem> items;
 
+    // Set by OrderRepository so index buckets follow status/item changes
+    private OrderStatusListener statusListener;
+
     // Constructor
     public Order(String orderId) {
         if (orderId == null || orderId.isBlank()) {
@@ -23,6 +26,33 @@ public class Order {
         this.items = new ArrayList<>();
     }
 
+    /**
+     * Creates a NEW order with an ID taken from the generator.
+     */
+    public static Order withGeneratedId(OrderIdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Generator cannot be null");
+        }
+        return new Order(generator.nextIdString());
+    }
+
+    /**
+     * Restores a previously persisted order (used by OrderLog).
+     * Status is taken as-is, without replaying the lifecycle checks.
+     */
+    Order(String orderId, LocalDate orderDate, OrderStatus status, List<OrderItem> items) {
+        if (orderId == null || orderId.isBlank()) {
+            throw new IllegalArgumentException("Order ID cannot be empty");
+        }
+        if (orderDate == null || status == null || items == null) {
+            throw new IllegalArgumentException("Order date, status and items are required");
+        }
+        this.orderId = orderId.trim();
+        this.orderDate = orderDate;
+        this.status = status;
+        this.items = new ArrayList<>(items);
+    }
+
     // Getters
     public String getOrderId() { return orderId; }
     public LocalDate getOrderDate() { return orderDate; }
@@ -32,6 +62,14 @@ public class Order {
         return new ArrayList<>(items); // defensive copy
     }
 
+    OrderStatusListener getStatusListener() {
+        return statusListener;
+    }
+
+    void setStatusListener(OrderStatusListener statusListener) {
+        this.statusListener = statusListener;
+    }
+
     // Item management
     public void addItem(Product product, int quantity) {
         ensureEditable();
@@ -58,6 +96,7 @@ public class Order {
                 product.getUnitPrice(),
                 quantity
         ));
+        if (statusListener != null) statusListener.onItemAdded(this, sku);
     }
 
     public boolean removeItem(String sku) {
@@ -66,7 +105,9 @@ public class Order {
         OrderItem item = findItemBySku(sku);
         if (item == null) return false;
 
-        return items.remove(item);
+        boolean removed = items.remove(item);
+        if (removed && statusListener != null) statusListener.onItemRemoved(this, item.getSku());
+        return removed;
     }
 
     public OrderItem findItemBySku(String sku) {
@@ -102,14 +143,14 @@ public class Order {
         if (items.isEmpty()) {
             throw new IllegalStateException("Cannot confirm an empty order");
         }
-        this.status = OrderStatus.CONFIRMED;
+        changeStatus(OrderStatus.CONFIRMED);
     }
 
     public void complete() {
         if (this.status != OrderStatus.CONFIRMED) {
             throw new IllegalStateException("Order must be CONFIRMED before completion");
         }
-        this.status = OrderStatus.COMPLETED;
+        changeStatus(OrderStatus.COMPLETED);
     }
 
     public void cancel() {
@@ -119,7 +160,7 @@ public class Order {
         if (status == OrderStatus.CANCELLED) {
             throw new IllegalStateException("Order is already cancelled");
         }
-        this.status = OrderStatus.CANCELLED;
+        changeStatus(OrderStatus.CANCELLED);
     }
 
     // Optional lifecycle steps (because enum contains them)
@@ -127,21 +168,27 @@ public class Order {
         if (status != OrderStatus.CONFIRMED) {
             throw new IllegalStateException("Order must be CONFIRMED before PAID");
         }
-        this.status = OrderStatus.PAID;
+        changeStatus(OrderStatus.PAID);
     }
 
     public void ship() {
         if (status != OrderStatus.PAID) {
             throw new IllegalStateException("Order must be PAID before SHIPPED");
         }
-        this.status = OrderStatus.SHIPPED;
+        changeStatus(OrderStatus.SHIPPED);
     }
 
     public void deliver() {
         if (status != OrderStatus.SHIPPED) {
             throw new IllegalStateException("Order must be SHIPPED before DELIVERED");
         }
-        this.status = OrderStatus.DELIVERED;
+        changeStatus(OrderStatus.DELIVERED);
+    }
+
+    private void changeStatus(OrderStatus next) {
+        OrderStatus previous = this.status;
+        this.status = next;
+        if (statusListener != null) statusListener.onStatusChanged(this, previous, next);
     }
 
     private void ensureEditable() {
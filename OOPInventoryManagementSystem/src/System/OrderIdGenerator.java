@@ -0,0 +1,155 @@
+package System;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style 64-bit order ID generator.
+ *
+ * Layout (most significant first):
+ *   1 bit unused (IDs stay positive) | 41 bits milliseconds since EPOCH_MILLIS
+ *   | 10 bits node id | 12 bits sequence within the millisecond
+ *
+ * IDs from one generator are strictly increasing, and IDs from different
+ * nodes never collide. The hot path is a single CAS on an AtomicLong, no locks.
+ * If the wall clock moves backwards the generator keeps counting from the
+ * last timestamp it issued instead of reusing old values; if a millisecond's
+ * 4096 sequence numbers run out it borrows the next millisecond.
+ */
+public class OrderIdGenerator {
+
+    /** 2024-01-01T00:00:00Z, gives about 69 years of IDs. */
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray(); // Crockford base32
+
+    private final long nodeId;
+    private final Clock clock;
+
+    // (timestamp << SEQUENCE_BITS) | sequence of the last issued ID
+    private final AtomicLong lastState;
+    private final AtomicLong clockRegressions;
+
+    public OrderIdGenerator(int nodeId) {
+        this(nodeId, Clock.systemUTC());
+    }
+
+    public OrderIdGenerator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+        this.lastState = new AtomicLong(0);
+        this.clockRegressions = new AtomicLong(0);
+    }
+
+    /**
+     * @return a new unique, time-ordered 64-bit ID
+     */
+    public long nextId() {
+        while (true) {
+            long prev = lastState.get();
+            long prevTs = prev >>> SEQUENCE_BITS;
+            long now = clock.millis() - EPOCH_MILLIS;
+
+            long ts;
+            long seq;
+            if (now > prevTs) {
+                ts = now;
+                seq = 0;
+            } else {
+                // same millisecond, or the clock went backwards: stay on our own timeline
+                ts = prevTs;
+                seq = (prev & SEQUENCE_MASK) + 1;
+                if (seq > SEQUENCE_MASK) {
+                    ts++;
+                    seq = 0;
+                }
+            }
+
+            if (lastState.compareAndSet(prev, (ts << SEQUENCE_BITS) | seq)) {
+                if (now < prevTs) clockRegressions.incrementAndGet();
+                return (ts << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | seq;
+            }
+        }
+    }
+
+    /**
+     * @return a new ID in its sortable 13-character text form
+     */
+    public String nextIdString() {
+        return encode(nextId());
+    }
+
+    public int getNodeId() {
+        return (int) nodeId;
+    }
+
+    /**
+     * Number of times the clock was seen running behind the last issued ID.
+     */
+    public long getClockRegressions() {
+        return clockRegressions.get();
+    }
+
+    /* =========================
+       Encoding helpers
+       ========================= */
+
+    /**
+     * Fixed-width Crockford base32 text. For non-negative IDs, string order
+     * equals numeric order, so encoded IDs sort by creation time.
+     */
+    public static String encode(long id) {
+        if (id < 0) throw new IllegalArgumentException("ID cannot be negative");
+
+        char[] out = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            out[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(out);
+    }
+
+    public static long decode(String text) {
+        if (text == null || text.trim().length() != ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Encoded ID must have " + ENCODED_LENGTH + " characters");
+        }
+        String t = text.trim().toUpperCase();
+        long id = 0;
+        for (int i = 0; i < ENCODED_LENGTH; i++) {
+            int v = indexOf(t.charAt(i));
+            if (v < 0) throw new IllegalArgumentException("Invalid character in ID: " + t.charAt(i));
+            id = (id << 5) | v;
+        }
+        return id;
+    }
+
+    /**
+     * Creation time (epoch millis) embedded in an ID.
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) return i;
+        }
+        return -1;
+    }
+}
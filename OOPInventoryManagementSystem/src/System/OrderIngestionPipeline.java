@@ -0,0 +1,450 @@
+package System;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Streams order lines from a file and places them through OrderService.
+ *
+ * Stages: parse -> validate (N workers) -> reserve stock -> emit outcome.
+ * Stages are joined by bounded queues, so a slow stage blocks the one in
+ * front of it (backpressure) and memory stays constant no matter how big
+ * the input file is.
+ *
+ * Input lines of one order must be consecutive. Supported formats:
+ *   CSV:    orderId,sku,quantity          (header line optional)
+ *   NDJSON: {"orderId":"O-1","sku":"P-001","quantity":2}
+ */
+public class OrderIngestionPipeline {
+
+    public enum Format { CSV, NDJSON }
+
+    public enum Result { PLACED, INVALID, UNKNOWN_SKU, INSUFFICIENT_STOCK }
+
+    // Marker sent by each validator when it is done
+    private static final Order END_OF_ORDERS = new Order("__END__");
+
+    private final Inventory inventory;
+    private final OrderService orderService;
+    private final int validationWorkers;
+    private final int queueCapacity;
+
+    public OrderIngestionPipeline(Inventory inventory, OrderService orderService) {
+        this(inventory, orderService, Runtime.getRuntime().availableProcessors(), 1024);
+    }
+
+    public OrderIngestionPipeline(Inventory inventory, OrderService orderService,
+                                  int validationWorkers, int queueCapacity) {
+        if (inventory == null) throw new IllegalArgumentException("Inventory cannot be null");
+        if (orderService == null) throw new IllegalArgumentException("OrderService cannot be null");
+        if (validationWorkers <= 0) throw new IllegalArgumentException("Need at least one validation worker");
+        if (queueCapacity <= 0) throw new IllegalArgumentException("Queue capacity must be positive");
+
+        this.inventory = inventory;
+        this.orderService = orderService;
+        this.validationWorkers = validationWorkers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Ingest a whole file. Blocks until every order has an outcome.
+     *
+     * @param sink receives one Outcome per order (called from a single thread)
+     * @return per-stage counts and throughput
+     */
+    public Report ingest(Path file, Format format, Consumer<Outcome> sink) {
+        if (file == null || format == null || sink == null) {
+            throw new IllegalArgumentException("File, format and sink are required");
+        }
+
+        BlockingQueue<RawOrder> toValidate = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Order> toReserve = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Outcome> toEmit = new ArrayBlockingQueue<>(queueCapacity);
+
+        StageStats parse = new StageStats("parse");
+        StageStats validate = new StageStats("validate");
+        StageStats reserve = new StageStats("reserve");
+        StageStats emit = new StageStats("emit");
+
+        ExecutorService pool = Executors.newFixedThreadPool(validationWorkers + 3);
+        CompletionService<Void> stages = new ExecutorCompletionService<>(pool);
+        long start = System.nanoTime();
+        int running = 0;
+
+        try {
+            stages.submit(() -> runParser(file, format, toValidate, parse));
+            running++;
+            for (int i = 0; i < validationWorkers; i++) {
+                stages.submit(() -> runValidator(toValidate, toReserve, toEmit, validate));
+                running++;
+            }
+            stages.submit(() -> runReserver(toReserve, toEmit, reserve));
+            running++;
+            stages.submit(() -> runEmitter(toEmit, sink, emit));
+            running++;
+
+            // If any stage fails, stop the rest so nobody waits on a dead queue
+            while (running > 0) {
+                Future<Void> done = stages.take();
+                running--;
+                done.get();
+            }
+        } catch (ExecutionException e) {
+            pool.shutdownNow();
+            throw new RuntimeException("Order ingestion failed: " + file, e.getCause());
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Order ingestion interrupted: " + file, e);
+        } finally {
+            pool.shutdown();
+        }
+
+        List<StageStats> all = new ArrayList<>();
+        all.add(parse);
+        all.add(validate);
+        all.add(reserve);
+        all.add(emit);
+        return new Report(all, System.nanoTime() - start);
+    }
+
+    /* =========================
+       Stages
+       ========================= */
+
+    private Void runParser(Path file, Format format, BlockingQueue<RawOrder> out, StageStats stats)
+            throws IOException, InterruptedException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            RawOrder current = null;
+            String line;
+            long lineNo = 0;
+
+            while ((line = reader.readLine()) != null) {
+                long t0 = System.nanoTime();
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty()) continue;
+
+                RawLine raw = (format == Format.CSV) ? parseCsv(line) : parseJson(line);
+                if (raw == null) {
+                    if (format == Format.CSV && lineNo == 1) continue; // header
+                    // Keep the bad line in its order so the whole order is rejected:
+                    // use its own order id if readable, else the order being read
+                    String orderId = (format == Format.CSV) ? csvOrderId(line) : jsonField(line, "orderId");
+                    if (orderId == null || orderId.isEmpty()) {
+                        orderId = (current != null) ? current.orderId : "line-" + lineNo;
+                    }
+                    raw = new RawLine(orderId, null, 0, "Malformed line " + lineNo);
+                }
+
+                RawOrder ready = null;
+                if (current == null || !current.orderId.equals(raw.orderId)) {
+                    ready = current;
+                    current = new RawOrder(raw.orderId);
+                }
+                current.lines.add(raw);
+                stats.record(System.nanoTime() - t0);
+
+                if (ready != null) out.put(ready);
+            }
+            if (current != null) out.put(current);
+        } finally {
+            for (int i = 0; i < validationWorkers; i++) {
+                out.put(RawOrder.END);
+            }
+        }
+        return null;
+    }
+
+    private Void runValidator(BlockingQueue<RawOrder> in, BlockingQueue<Order> out,
+                              BlockingQueue<Outcome> rejected, StageStats stats) throws InterruptedException {
+        try {
+            while (true) {
+                RawOrder raw = in.take();
+                if (raw == RawOrder.END) break;
+
+                long t0 = System.nanoTime();
+                Outcome failure = null;
+                Order order = null;
+                try {
+                    order = new Order(raw.orderId);
+                    for (RawLine line : raw.lines) {
+                        if (line.error != null) {
+                            failure = new Outcome(raw.orderId, Result.INVALID, line.error);
+                            break;
+                        }
+                        Product p = inventory.findBySku(line.sku);
+                        if (p == null) {
+                            failure = new Outcome(raw.orderId, Result.UNKNOWN_SKU, "Unknown SKU: " + line.sku);
+                            break;
+                        }
+                        order.addItem(p, line.quantity);
+                    }
+                } catch (IllegalArgumentException e) {
+                    failure = new Outcome(raw.orderId, Result.INVALID, e.getMessage());
+                }
+                stats.record(System.nanoTime() - t0);
+
+                if (failure != null) rejected.put(failure);
+                else out.put(order);
+            }
+        } finally {
+            out.put(END_OF_ORDERS);
+        }
+        return null;
+    }
+
+    private Void runReserver(BlockingQueue<Order> in, BlockingQueue<Outcome> out, StageStats stats)
+            throws InterruptedException {
+        int finishedValidators = 0;
+        try {
+            while (finishedValidators < validationWorkers) {
+                Order order = in.take();
+                if (order == END_OF_ORDERS) {
+                    finishedValidators++;
+                    continue;
+                }
+
+                long t0 = System.nanoTime();
+                Outcome outcome;
+                try {
+                    orderService.placeOrder(order);
+                    outcome = new Outcome(order.getOrderId(), Result.PLACED, null);
+                } catch (RuntimeException e) {
+                    outcome = new Outcome(order.getOrderId(), classifyRejection(order), e.getMessage());
+                }
+                stats.record(System.nanoTime() - t0);
+                out.put(outcome);
+            }
+        } finally {
+            out.put(Outcome.END);
+        }
+        return null;
+    }
+
+    /**
+     * Why placeOrder refused an order.
+     * A SKU removed since validation is UNKNOWN_SKU, a short line is
+     * INSUFFICIENT_STOCK, anything else (e.g. order state) is INVALID.
+     */
+    private Result classifyRejection(Order order) {
+        for (OrderItem item : order.getItems()) {
+            if (!inventory.hasProductBySku(item.getSku())) return Result.UNKNOWN_SKU;
+        }
+        for (OrderItem item : order.getItems()) {
+            Product p = inventory.findBySku(item.getSku());
+            if (p != null && p.getQuantity() < item.getQuantity()) return Result.INSUFFICIENT_STOCK;
+        }
+        return Result.INVALID;
+    }
+
+    private Void runEmitter(BlockingQueue<Outcome> in, Consumer<Outcome> sink, StageStats stats)
+            throws InterruptedException {
+        while (true) {
+            Outcome outcome = in.take();
+            if (outcome == Outcome.END) break;
+
+            long t0 = System.nanoTime();
+            sink.accept(outcome);
+            stats.record(System.nanoTime() - t0);
+        }
+        return null;
+    }
+
+    /* =========================
+       Parsing
+       ========================= */
+
+    private static RawLine parseCsv(String line) {
+        String[] parts = line.split("[,;]");
+        if (parts.length < 3) return null;
+        String orderId = parts[0].trim();
+        String sku = parts[1].trim();
+        if (orderId.isEmpty() || sku.isEmpty()) return null;
+
+        try {
+            return new RawLine(orderId, sku, Integer.parseInt(parts[2].trim()), null);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Order id of a CSV line that failed to parse, if the first field is usable
+    private static String csvOrderId(String line) {
+        String[] parts = line.split("[,;]");
+        return (parts.length < 2) ? null : parts[0].trim();
+    }
+
+    private static RawLine parseJson(String line) {
+        String orderId = jsonField(line, "orderId");
+        String sku = jsonField(line, "sku");
+        String qty = jsonField(line, "quantity");
+        if (orderId == null || sku == null || qty == null) return null;
+
+        try {
+            return new RawLine(orderId, sku, Integer.parseInt(qty), null);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads a flat string or number field from a single-line JSON object.
+     * Enough for our order dumps; nested objects and escapes are not supported.
+     */
+    static String jsonField(String json, String key) {
+        String quotedKey = "\"" + key + "\"";
+        int k = json.indexOf(quotedKey);
+        if (k < 0) return null;
+
+        int i = json.indexOf(':', k + quotedKey.length());
+        if (i < 0) return null;
+        i++;
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) i++;
+        if (i >= json.length()) return null;
+
+        if (json.charAt(i) == '"') {
+            int end = json.indexOf('"', i + 1);
+            return (end < 0) ? null : json.substring(i + 1, end).trim();
+        }
+        int end = i;
+        while (end < json.length() && json.charAt(end) != ',' && json.charAt(end) != '}') end++;
+        return json.substring(i, end).trim();
+    }
+
+    /* =========================
+       Data types
+       ========================= */
+
+    private static final class RawLine {
+        final String orderId;
+        final String sku;
+        final int quantity;
+        final String error;
+
+        RawLine(String orderId, String sku, int quantity, String error) {
+            this.orderId = orderId;
+            this.sku = sku;
+            this.quantity = quantity;
+            this.error = error;
+        }
+    }
+
+    private static final class RawOrder {
+        static final RawOrder END = new RawOrder("");
+
+        final String orderId;
+        final List<RawLine> lines = new ArrayList<>(4);
+
+        RawOrder(String orderId) {
+            this.orderId = orderId;
+        }
+    }
+
+    /**
+     * Final result for one ingested order.
+     */
+    public static final class Outcome {
+        static final Outcome END = new Outcome("", Result.INVALID, null);
+
+        private final String orderId;
+        private final Result result;
+        private final String message;
+
+        Outcome(String orderId, Result result, String message) {
+            this.orderId = orderId;
+            this.result = result;
+            this.message = message;
+        }
+
+        public String getOrderId() { return orderId; }
+        public Result getResult() { return result; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "Outcome{" +
+                    "orderId='" + orderId + '\'' +
+                    ", result=" + result +
+                    (message == null ? "" : ", message='" + message + '\'') +
+                    '}';
+        }
+    }
+
+    /**
+     * Items processed and busy time of one stage (summed over its workers).
+     */
+    public static final class StageStats {
+        private final String name;
+        private final AtomicLong items = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+
+        StageStats(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos) {
+            items.incrementAndGet();
+            busyNanos.addAndGet(nanos);
+        }
+
+        public String getName() { return name; }
+        public long getItems() { return items.get(); }
+        public long getBusyNanos() { return busyNanos.get(); }
+
+        /**
+         * Items per second of busy time (what the stage could sustain alone).
+         */
+        public double getThroughputPerSecond() {
+            long nanos = busyNanos.get();
+            return (nanos == 0) ? 0.0 : items.get() * 1_000_000_000.0 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: items=%d, busy=%.1f ms, throughput=%.0f/s",
+                    name, getItems(), busyNanos.get() / 1_000_000.0, getThroughputPerSecond());
+        }
+    }
+
+    /**
+     * Summary of one ingest run.
+     */
+    public static final class Report {
+        private final List<StageStats> stages;
+        private final long elapsedNanos;
+
+        Report(List<StageStats> stages, long elapsedNanos) {
+            this.stages = stages;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<StageStats> getStages() { return new ArrayList<>(stages); }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Ingestion finished in %.1f ms%n", elapsedNanos / 1_000_000.0));
+            for (StageStats s : stages) {
+                sb.append("  ").append(s).append(System.lineSeparator());
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package System;
+
+/**
+ * Notified by OrderService after an order was placed successfully.
+ */
+public interface OrderListener {
+
+    void onOrderPlaced(Order order);
+}
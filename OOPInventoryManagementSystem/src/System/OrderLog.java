@@ -0,0 +1,673 @@
+package System;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, segmented log of orders and their status transitions.
+ *
+ * Each record is framed as: [int bodyLength][int crc32][body].
+ * Body layout:
+ *   byte type, long timestampMillis, UTF orderId, then
+ *   ORDER:  long orderDate (epoch day), byte status, int itemCount,
+ *           per item: UTF sku, UTF name, double unitPrice, int quantity
+ *   STATUS: byte status
+ *
+ * Segments are files named by their first record number and roll once they
+ * reach {@code maxSegmentBytes}. Each segment keeps a sparse time index
+ * (every {@code indexInterval} records) for range reads, and the log keeps
+ * the file position of every order so reading one order is a single
+ * positional read. {@link #compact()} folds the closed segments into one,
+ * keeping only the latest state of each order.
+ *
+ * A compacted segment is named after the last record it absorbed, with a
+ * {@code .compacted} marker, so it sorts after every segment it replaces.
+ * Once it is in place the old segments are deleted; if that is cut short by
+ * a crash, opening the log finishes the job, because any segment at or
+ * below a compacted segment's number has been absorbed into it.
+ */
+public class OrderLog implements Closeable {
+
+    public static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_INDEX_INTERVAL = 64;
+
+    private static final byte TYPE_ORDER = 1;
+    private static final byte TYPE_STATUS = 2;
+    private static final int HEADER_BYTES = 8;
+    private static final String SUFFIX = ".log";
+    private static final String COMPACTED_SUFFIX = ".compacted" + SUFFIX;
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final Path dir;
+    private final long maxSegmentBytes;
+    private final int indexInterval;
+
+    private final List<Segment> segments;                 // oldest first, last one is active
+    private final Map<String, Location> orderLocations;   // orderId -> position of ORDER record
+    private final Map<String, OrderStatus> latestStatus;  // orderId -> last known status
+
+    private FileChannel appendChannel;
+    private long nextRecordNo;
+    private long lastTimestamp;
+
+    public OrderLog(Path dir) {
+        this(dir, DEFAULT_SEGMENT_BYTES, DEFAULT_INDEX_INTERVAL);
+    }
+
+    public OrderLog(Path dir, long maxSegmentBytes, int indexInterval) {
+        if (dir == null) throw new IllegalArgumentException("Log directory cannot be null");
+        if (maxSegmentBytes <= HEADER_BYTES) throw new IllegalArgumentException("Segment size too small");
+        if (indexInterval <= 0) throw new IllegalArgumentException("Index interval must be positive");
+
+        this.dir = dir;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.indexInterval = indexInterval;
+        this.segments = new ArrayList<>();
+        this.orderLocations = new HashMap<>();
+        this.latestStatus = new HashMap<>();
+
+        try {
+            Files.createDirectories(dir);
+            openExistingSegments();
+            if (segments.isEmpty()) {
+                startSegment(0);
+            } else if (activeSegment().compacted) {
+                startSegment(nextRecordNo); // never append to a compacted segment
+            } else {
+                openAppendChannel(activeSegment());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot open order log: " + dir, e);
+        }
+    }
+
+    /* =========================
+       Writing
+       ========================= */
+
+    /**
+     * Appends the full order (items with price snapshots and current status).
+     *
+     * @return false if the order ID is already in the log
+     */
+    public synchronized boolean append(Order order) {
+        if (order == null) throw new IllegalArgumentException("Order cannot be null");
+        if (orderLocations.containsKey(order.getOrderId())) return false;
+
+        long ts = nextTimestamp();
+        Location loc = write(encodeOrder(order, ts), ts);
+        orderLocations.put(order.getOrderId(), loc);
+        latestStatus.put(order.getOrderId(), order.getStatus());
+        return true;
+    }
+
+    /**
+     * Appends a status transition for an order already in the log.
+     *
+     * @return false if the order is unknown
+     */
+    public synchronized boolean appendStatus(String orderId, OrderStatus status) {
+        if (orderId == null || status == null) return false;
+        String id = orderId.trim();
+        if (!orderLocations.containsKey(id)) return false;
+
+        long ts = nextTimestamp();
+        write(encodeStatus(id, status, ts), ts);
+        latestStatus.put(id, status);
+        return true;
+    }
+
+    /**
+     * Closes the active segment and starts a new one.
+     */
+    public synchronized void roll() {
+        if (activeSegment().recordCount == 0) return;
+        try {
+            appendChannel.close();
+            startSegment(nextRecordNo);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot roll order log segment", e);
+        }
+    }
+
+    /* =========================
+       Reading
+       ========================= */
+
+    /**
+     * Reads one order (with its latest status) using a single positional read.
+     *
+     * @return the order or null if unknown
+     */
+    public synchronized Order read(String orderId) {
+        if (orderId == null) return null;
+        String id = orderId.trim();
+        Location loc = orderLocations.get(id);
+        if (loc == null) return null;
+
+        LogRecord r = readAt(loc.segment, loc.position);
+        return r.toOrder(latestStatus.get(id));
+    }
+
+    /**
+     * Orders whose ORDER record was appended between the two timestamps (inclusive).
+     * Uses each segment's sparse time index to find the starting position.
+     */
+    public synchronized List<Order> readRange(long fromMillis, long toMillis) {
+        List<Order> result = new ArrayList<>();
+        if (fromMillis > toMillis) return result;
+
+        for (Segment seg : segments) {
+            if (seg.recordCount == 0 || seg.maxTimestamp < fromMillis || seg.minTimestamp > toMillis) {
+                continue;
+            }
+            long pos = seg.floorPosition(fromMillis);
+            while (pos < seg.size) {
+                LogRecord r = readAt(seg, pos);
+                if (r.timestamp > toMillis) break;
+                if (r.type == TYPE_ORDER && r.timestamp >= fromMillis) {
+                    result.add(r.toOrder(latestStatus.get(r.orderId)));
+                }
+                pos += HEADER_BYTES + r.bodyLength;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Every order in the log with its latest status, in append order.
+     * Reads the segments sequentially (used to rebuild an OrderRepository).
+     */
+    public synchronized List<Order> readAll() {
+        List<Order> result = new ArrayList<>();
+        for (Segment seg : segments) {
+            scan(seg, (r, pos) -> {
+                if (r.type == TYPE_ORDER) {
+                    result.add(r.toOrder(latestStatus.get(r.orderId)));
+                }
+            });
+        }
+        return result;
+    }
+
+    public synchronized boolean contains(String orderId) {
+        return orderId != null && orderLocations.containsKey(orderId.trim());
+    }
+
+    public synchronized int orderCount() {
+        return orderLocations.size();
+    }
+
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /* =========================
+       Compaction
+       ========================= */
+
+    /**
+     * Rewrites all closed segments into one segment holding a single ORDER
+     * record per order with its status folded in. Superseded STATUS records
+     * are dropped. The active segment is not touched.
+     */
+    public synchronized void compact() {
+        if (segments.size() < 2) return;
+
+        List<Segment> closed = new ArrayList<>(segments.subList(0, segments.size() - 1));
+        if (closed.size() == 1 && closed.get(0).compacted) return;
+        Map<String, LogRecord> folded = new LinkedHashMap<>();
+        Map<String, OrderStatus> statusInClosed = new HashMap<>();
+        for (Segment seg : closed) {
+            scan(seg, (r, pos) -> {
+                if (r.type == TYPE_ORDER) folded.put(r.orderId, r);
+                else statusInClosed.put(r.orderId, r.status);
+            });
+        }
+
+        long lastRecordNo = activeSegment().baseRecordNo - 1;
+        Path target = dir.resolve(compactedName(lastRecordNo));
+        Path tmp = dir.resolve(target.getFileName() + TMP_SUFFIX);
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (LogRecord r : folded.values()) {
+                OrderStatus s = statusInClosed.getOrDefault(r.orderId, r.status);
+                writeFully(out, frame(encodeOrder(r.toOrder(s), r.timestamp)));
+            }
+            out.force(true);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot write compacted segment", e);
+        }
+
+        try {
+            // Publish the compacted segment first, then drop what it absorbed
+            // (a crash in between is finished off by openExistingSegments)
+            for (Segment seg : closed) {
+                seg.closeReader();
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            for (Segment seg : closed) {
+                if (!seg.file.equals(target)) Files.deleteIfExists(seg.file);
+            }
+
+            Segment compacted = new Segment(lastRecordNo, target, true);
+            segments.removeAll(closed);
+            segments.add(0, compacted);
+            scan(compacted, (r, pos) -> {
+                compacted.track(r.timestamp, pos, HEADER_BYTES + r.bodyLength, indexInterval);
+                orderLocations.put(r.orderId, new Location(compacted, pos));
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot install compacted segment", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (appendChannel != null) appendChannel.close();
+            for (Segment seg : segments) seg.closeReader();
+        } catch (IOException e) {
+            throw new RuntimeException("Error closing order log", e);
+        }
+    }
+
+    /* =========================
+       Segment handling
+       ========================= */
+
+    private Segment activeSegment() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private void openExistingSegments() throws IOException {
+        List<Segment> found = new ArrayList<>();
+        try (Stream<Path> s = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) s::iterator) {
+                String name = p.getFileName().toString();
+                if (name.endsWith(TMP_SUFFIX)) {
+                    Files.delete(p); // compaction output that was never published
+                } else if (name.endsWith(SUFFIX)) {
+                    long base = Long.parseLong(name.substring(0, name.indexOf('.')));
+                    found.add(new Segment(base, p, name.endsWith(COMPACTED_SUFFIX)));
+                }
+            }
+        }
+        // by record number; a compacted segment goes after the plain one it shares it with
+        found.sort((a, b) -> (a.baseRecordNo != b.baseRecordNo)
+                ? Long.compare(a.baseRecordNo, b.baseRecordNo)
+                : Boolean.compare(a.compacted, b.compacted));
+
+        // Finish an interrupted compaction: the newest compacted segment
+        // holds everything numbered at or below it
+        long absorbedUpTo = -1;
+        for (Segment seg : found) {
+            if (seg.compacted) absorbedUpTo = Math.max(absorbedUpTo, seg.baseRecordNo);
+        }
+        List<Segment> live = new ArrayList<>();
+        for (Segment seg : found) {
+            if (seg.baseRecordNo < absorbedUpTo || (seg.baseRecordNo == absorbedUpTo && !seg.compacted)) {
+                Files.delete(seg.file);
+            } else {
+                live.add(seg);
+            }
+        }
+
+        for (int i = 0; i < live.size(); i++) {
+            Segment seg = live.get(i);
+            Path f = seg.file;
+            long base = seg.baseRecordNo;
+            segments.add(seg);
+
+            long validEnd = scan(seg, (r, pos) -> {
+                seg.track(r.timestamp, pos, HEADER_BYTES + r.bodyLength, indexInterval);
+                if (r.type == TYPE_ORDER) {
+                    orderLocations.put(r.orderId, new Location(seg, pos));
+                }
+                latestStatus.put(r.orderId, r.status);
+                lastTimestamp = Math.max(lastTimestamp, r.timestamp);
+            });
+
+            // A torn write can only be at the tail of the newest segment
+            if (validEnd < Files.size(f)) {
+                if (i != live.size() - 1) {
+                    throw new IOException("Corrupt record in closed segment: " + f);
+                }
+                try (FileChannel ch = FileChannel.open(f, StandardOpenOption.WRITE)) {
+                    ch.truncate(validEnd);
+                }
+            }
+            nextRecordNo = seg.compacted ? base + 1 : base + seg.recordCount;
+        }
+    }
+
+    private void startSegment(long baseRecordNo) throws IOException {
+        Path f = dir.resolve(segmentName(baseRecordNo));
+        Files.createFile(f);
+        Segment seg = new Segment(baseRecordNo, f, false);
+        segments.add(seg);
+        openAppendChannel(seg);
+    }
+
+    private void openAppendChannel(Segment seg) throws IOException {
+        appendChannel = FileChannel.open(seg.file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static String segmentName(long baseRecordNo) {
+        return String.format("%020d%s", baseRecordNo, SUFFIX);
+    }
+
+    private static String compactedName(long lastRecordNo) {
+        return String.format("%020d%s", lastRecordNo, COMPACTED_SUFFIX);
+    }
+
+    private Location write(byte[] body, long ts) {
+        ByteBuffer framed = frame(body);
+        try {
+            if (activeSegment().size > 0 && activeSegment().size + framed.remaining() > maxSegmentBytes) {
+                appendChannel.close();
+                startSegment(nextRecordNo);
+            }
+            Segment seg = activeSegment();
+            long pos = seg.size;
+            int len = framed.remaining();
+            writeFully(appendChannel, framed);
+            seg.track(ts, pos, len, indexInterval);
+            nextRecordNo++;
+            return new Location(seg, pos);
+        } catch (IOException e) {
+            throw new RuntimeException("Error appending to order log", e);
+        }
+    }
+
+    private long nextTimestamp() {
+        // keep timestamps monotonic so the sparse time index stays sorted
+        lastTimestamp = Math.max(lastTimestamp, System.currentTimeMillis());
+        return lastTimestamp;
+    }
+
+    private LogRecord readAt(Segment seg, long pos) {
+        try {
+            FileChannel ch = seg.reader();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(ch, header, pos);
+            header.flip();
+            int len = header.getInt();
+            int crc = header.getInt();
+
+            ByteBuffer body = ByteBuffer.allocate(len);
+            readFully(ch, body, pos + HEADER_BYTES);
+            byte[] bytes = body.array();
+            if (crc32(bytes) != crc) {
+                throw new IOException("CRC mismatch at " + seg.file + ":" + pos);
+            }
+            return decode(bytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading order log", e);
+        }
+    }
+
+    private interface RecordVisitor {
+        void visit(LogRecord record, long position) throws IOException;
+    }
+
+    /**
+     * Reads a segment sequentially and returns the end of the last valid record.
+     */
+    private long scan(Segment seg, RecordVisitor visitor) {
+        long pos = 0;
+        long fileSize;
+        try {
+            fileSize = Files.size(seg.file);
+        } catch (IOException e) {
+            throw new RuntimeException("Error scanning order log segment: " + seg.file, e);
+        }
+        try (InputStream raw = Files.newInputStream(seg.file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 64 * 1024))) {
+            while (true) {
+                int len;
+                int crc;
+                try {
+                    len = in.readInt();
+                    crc = in.readInt();
+                } catch (EOFException eof) {
+                    break;
+                }
+                // a length running past the end of the file is a torn write
+                if (len <= 0 || len > fileSize - pos - HEADER_BYTES) break;
+
+                byte[] body = new byte[len];
+                try {
+                    in.readFully(body);
+                } catch (EOFException eof) {
+                    break;
+                }
+                if (crc32(body) != crc) break;
+
+                visitor.visit(decode(body), pos);
+                pos += HEADER_BYTES + len;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error scanning order log segment: " + seg.file, e);
+        }
+        return pos;
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            ch.write(buf);
+        }
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, pos + buf.position());
+            if (n < 0) throw new EOFException("Unexpected end of order log segment");
+        }
+    }
+
+    /* =========================
+       Encoding
+       ========================= */
+
+    private static ByteBuffer frame(byte[] body) {
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + body.length);
+        buf.putInt(body.length);
+        buf.putInt(crc32(body));
+        buf.put(body);
+        buf.flip();
+        return buf;
+    }
+
+    private static int crc32(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encodeOrder(Order order, long ts) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + order.getItemCount() * 48);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(TYPE_ORDER);
+            out.writeLong(ts);
+            out.writeUTF(order.getOrderId());
+            out.writeLong(order.getOrderDate().toEpochDay());
+            out.writeByte(order.getStatus().ordinal());
+
+            List<OrderItem> items = order.getItems();
+            out.writeInt(items.size());
+            for (OrderItem item : items) {
+                out.writeUTF(item.getSku());
+                out.writeUTF(item.getName());
+                out.writeDouble(item.getUnitPrice());
+                out.writeInt(item.getQuantity());
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot encode order: " + order.getOrderId(), e);
+        }
+    }
+
+    private static byte[] encodeStatus(String orderId, OrderStatus status, long ts) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(TYPE_STATUS);
+            out.writeLong(ts);
+            out.writeUTF(orderId);
+            out.writeByte(status.ordinal());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot encode status for order: " + orderId, e);
+        }
+    }
+
+    private static LogRecord decode(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        LogRecord r = new LogRecord();
+        r.bodyLength = body.length;
+        r.type = in.readByte();
+        r.timestamp = in.readLong();
+        r.orderId = in.readUTF();
+
+        if (r.type == TYPE_ORDER) {
+            r.orderDate = LocalDate.ofEpochDay(in.readLong());
+            r.status = OrderStatus.values()[in.readByte()];
+            int count = in.readInt();
+            r.items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                r.items.add(new OrderItem(in.readUTF(), in.readUTF(), in.readDouble(), in.readInt()));
+            }
+        } else if (r.type == TYPE_STATUS) {
+            r.status = OrderStatus.values()[in.readByte()];
+        } else {
+            throw new IOException("Unknown record type: " + r.type);
+        }
+        return r;
+    }
+
+    /* =========================
+       Internal types
+       ========================= */
+
+    private static final class LogRecord {
+        int bodyLength;
+        byte type;
+        long timestamp;
+        String orderId;
+        LocalDate orderDate;
+        OrderStatus status;
+        List<OrderItem> items;
+
+        Order toOrder(OrderStatus current) {
+            return new Order(orderId, orderDate, (current == null) ? status : current, items);
+        }
+    }
+
+    private static final class Location {
+        final Segment segment;
+        final long position;
+
+        Location(Segment segment, long position) {
+            this.segment = segment;
+            this.position = position;
+        }
+    }
+
+    private static final class Segment {
+        final long baseRecordNo;   // first record number, or last absorbed one if compacted
+        final Path file;
+        final boolean compacted;
+        long size;
+        int recordCount;
+        long minTimestamp = Long.MAX_VALUE;
+        long maxTimestamp = Long.MIN_VALUE;
+
+        // sparse time index: every n-th record's timestamp and position
+        long[] indexTimestamps = new long[16];
+        long[] indexPositions = new long[16];
+        int indexSize;
+
+        private FileChannel reader;
+
+        Segment(long baseRecordNo, Path file, boolean compacted) {
+            this.baseRecordNo = baseRecordNo;
+            this.file = file;
+            this.compacted = compacted;
+        }
+
+        void track(long ts, long pos, int length, int interval) {
+            if (recordCount % interval == 0) {
+                if (indexSize == indexTimestamps.length) {
+                    indexTimestamps = Arrays.copyOf(indexTimestamps, indexSize * 2);
+                    indexPositions = Arrays.copyOf(indexPositions, indexSize * 2);
+                }
+                indexTimestamps[indexSize] = ts;
+                indexPositions[indexSize] = pos;
+                indexSize++;
+            }
+            recordCount++;
+            size = pos + length;
+            minTimestamp = Math.min(minTimestamp, ts);
+            maxTimestamp = Math.max(maxTimestamp, ts);
+        }
+
+        /**
+         * Position of the last indexed record strictly before {@code ts} (or 0).
+         * Records sharing a timestamp may straddle an index entry, so we start
+         * one entry early rather than risk skipping them.
+         */
+        long floorPosition(long ts) {
+            int lo = 0;
+            int hi = indexSize - 1;
+            int found = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (indexTimestamps[mid] < ts) {
+                    found = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return (found < 0) ? 0 : indexPositions[found];
+        }
+
+        FileChannel reader() throws IOException {
+            if (reader == null) {
+                reader = FileChannel.open(file, StandardOpenOption.READ);
+            }
+            return reader;
+        }
+
+        void closeReader() throws IOException {
+            if (reader != null) {
+                reader.close();
+                reader = null;
+            }
+        }
+    }
+}
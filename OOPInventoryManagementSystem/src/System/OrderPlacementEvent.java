@@ -0,0 +1,58 @@
+package System;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+import java.util.List;
+
+/**
+ * JFR event for one OrderService placement, with its outcome.
+ */
+@Name("oopinventory.OrderPlacement")
+@Label("Order Placement")
+@Category({"Inventory", "Orders"})
+@Description("Order placed through OrderService")
+@Threshold("0 ms")
+class OrderPlacementEvent extends Event {
+
+    static final String PLACED = "PLACED";
+    static final String BACKORDERED = "BACKORDERED";
+    static final String INSUFFICIENT_STOCK = "INSUFFICIENT_STOCK";
+    static final String REJECTED = "REJECTED";
+
+    @Label("Order Id")
+    String orderId;
+
+    @Label("Line Count")
+    int lineCount;
+
+    @Label("Units")
+    int units;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * End the event and commit it if enabled. An outcome already set while
+     * placing (e.g. INSUFFICIENT_STOCK) wins over the one passed here.
+     */
+    void finish(Order order, String outcome) {
+        end();
+        if (shouldCommit()) {
+            if (this.outcome == null) this.outcome = outcome;
+            if (order != null) {
+                List<OrderItem> items = order.getItems();
+                this.orderId = order.getOrderId();
+                this.lineCount = items.size();
+                for (OrderItem item : items) {
+                    this.units += item.getQuantity();
+                }
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package System;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds a generated order stream into OrderService at a target rate.
+ *
+ * Order i is due at start + i / rate (an open-loop schedule), so a slow
+ * placement delays later orders instead of silently lowering the offered
+ * load; the report shows how far behind schedule the run fell. Worker
+ * threads pull due orders from the shared stream and place them; each
+ * placement is atomic (see {@link OrderService#placeOrder}), so running
+ * several threads cannot oversell or half-place an order.
+ */
+public class OrderReplayDriver {
+
+    private final OrderService orderService;
+    private final Inventory inventory;
+
+    public OrderReplayDriver(OrderService orderService, Inventory inventory) {
+        if (orderService == null) throw new IllegalArgumentException("OrderService cannot be null");
+        if (inventory == null) throw new IllegalArgumentException("Inventory cannot be null");
+        this.orderService = orderService;
+        this.inventory = inventory;
+    }
+
+    /**
+     * Replay the stream and block until it is exhausted.
+     *
+     * @param targetPerSecond orders per second to offer; 0 = as fast as possible
+     * @param threads         worker threads placing orders
+     */
+    public Report run(Iterator<CatalogGenerator.GeneratedOrder> orders, double targetPerSecond, int threads) {
+        if (orders == null) throw new IllegalArgumentException("Order stream cannot be null");
+        if (targetPerSecond < 0) throw new IllegalArgumentException("Target rate cannot be negative");
+        if (threads <= 0) throw new IllegalArgumentException("Thread count must be positive");
+
+        long intervalNanos = (targetPerSecond == 0) ? 0 : (long) (1_000_000_000L / targetPerSecond);
+        AtomicLong placed = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();   // insufficient stock / unknown SKU
+        AtomicLong maxLagNanos = new AtomicLong();  // only tracked when throttled
+        long[] ticket = {0};
+
+        long start = System.nanoTime();
+        Runnable worker = () -> {
+            while (true) {
+                CatalogGenerator.GeneratedOrder g;
+                long due;
+                synchronized (ticket) {
+                    if (!orders.hasNext()) return;
+                    g = orders.next();
+                    due = start + ticket[0]++ * intervalNanos;
+                }
+
+                if (intervalNanos > 0) {
+                    long now = System.nanoTime();
+                    if (now < due) {
+                        LockSupport.parkNanos(due - now);
+                    } else {
+                        maxLagNanos.accumulateAndGet(now - due, Math::max);
+                    }
+                }
+
+                if (place(g)) placed.incrementAndGet();
+                else rejected.incrementAndGet();
+            }
+        };
+
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(worker, "order-replay-" + i);
+            workers[i].start();
+        }
+        for (Thread t : workers) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Report(targetPerSecond, placed.get(), rejected.get(), elapsed, maxLagNanos.get());
+    }
+
+    private boolean place(CatalogGenerator.GeneratedOrder g) {
+        Order order = new Order(g.getOrderId());
+        for (int l = 0; l < g.getLineCount(); l++) {
+            Product p = inventory.findBySku(g.getSku(l));
+            if (p == null) return false;
+            order.addItem(p, g.getQuantity(l));
+        }
+        try {
+            orderService.placeOrder(order);
+            return true;
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Outcome of one replay run.
+     */
+    public static final class Report {
+        private final double targetPerSecond;
+        private final long placed;
+        private final long rejected;
+        private final long elapsedNanos;
+        private final long maxLagNanos;
+
+        Report(double targetPerSecond, long placed, long rejected, long elapsedNanos, long maxLagNanos) {
+            this.targetPerSecond = targetPerSecond;
+            this.placed = placed;
+            this.rejected = rejected;
+            this.elapsedNanos = elapsedNanos;
+            this.maxLagNanos = maxLagNanos;
+        }
+
+        public double getTargetPerSecond() { return targetPerSecond; }
+        public long getPlaced() { return placed; }
+        public long getRejected() { return rejected; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        public long getMaxLagNanos() { return maxLagNanos; }
+
+        /**
+         * Orders attempted (placed + rejected) per second of wall time.
+         */
+        public double getAchievedPerSecond() {
+            return (elapsedNanos == 0) ? 0 : (placed + rejected) * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Replay: %d placed, %d rejected in %.1f ms -> %.0f orders/s (target %s), max lag %d ms",
+                    placed, rejected, elapsedNanos / 1_000_000.0, getAchievedPerSecond(),
+                    (targetPerSecond == 0) ? "unthrottled" : String.format("%.0f/s", targetPerSecond),
+                    TimeUnit.NANOSECONDS.toMillis(maxLagNanos));
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package System;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory store of orders with secondary indexes.
+ *
+ * Orders are indexed by status, order date and contained SKU.
+ * Saved orders report their own transitions (confirm, markPaid, ship, ...)
+ * so an order moves between status buckets in O(1) and per-status counts
+ * never need a scan. Buckets keep arrival order, so the oldest order in a
+ * status comes first (useful as a fulfilment queue).
+ *
+ * When an OrderLog is attached, saved orders and their transitions are
+ * also appended to it, so the repository can be rebuilt after a restart.
+ *
+ * An order reports to one repository at a time; remove it from one before
+ * saving it in another.
+ */
+public class OrderRepository implements OrderStatusListener {
+
+    private final Map<String, Order> byId;
+    private final Map<OrderStatus, Set<Order>> byStatus;
+    private final TreeMap<LocalDate, Set<Order>> byDate;
+    private final Map<String, Set<Order>> bySku;
+
+    private OrderLog orderLog; // optional durable journal
+
+    public OrderRepository() {
+        this.byId = new HashMap<>();
+        this.byStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus s : OrderStatus.values()) {
+            byStatus.put(s, new LinkedHashSet<>());
+        }
+        this.byDate = new TreeMap<>();
+        this.bySku = new HashMap<>();
+    }
+
+    private String normId(String orderId) {
+        return (orderId == null) ? "" : orderId.trim();
+    }
+
+    private String normSku(String sku) {
+        return (sku == null) ? "" : sku.trim().toUpperCase();
+    }
+
+    /**
+     * Store an order and index it (prevents duplicate order ID).
+     *
+     * @return true if saved, false if null, duplicate ID or held by another repository
+     */
+    public synchronized boolean save(Order order) {
+        if (order == null) return false;
+        if (byId.containsKey(order.getOrderId())) return false;
+        if (order.getStatusListener() != null) return false; // its transitions go elsewhere
+
+        index(order);
+        if (orderLog != null) {
+            orderLog.append(order);
+        }
+        return true;
+    }
+
+    /**
+     * Load every order from the log into this repository, then journal
+     * later saves and status transitions to it. Orders saved before the
+     * log was attached are journaled now; where both have an order ID, the
+     * order in memory wins and its current status is appended if it differs.
+     */
+    public synchronized void attachLog(OrderLog log) {
+        if (log == null) throw new IllegalArgumentException("OrderLog cannot be null");
+
+        for (Order order : byId.values()) {
+            if (!log.append(order)) {
+                Order logged = log.read(order.getOrderId());
+                if (logged == null || logged.getStatus() != order.getStatus()) {
+                    log.appendStatus(order.getOrderId(), order.getStatus());
+                }
+            }
+        }
+        for (Order order : log.readAll()) {
+            if (!byId.containsKey(order.getOrderId())) {
+                index(order);
+            }
+        }
+        this.orderLog = log;
+    }
+
+    private void index(Order order) {
+        byId.put(order.getOrderId(), order);
+        byStatus.get(order.getStatus()).add(order);
+        byDate.computeIfAbsent(order.getOrderDate(), d -> new LinkedHashSet<>()).add(order);
+        for (OrderItem item : order.getItems()) {
+            bySku.computeIfAbsent(item.getSku(), k -> new LinkedHashSet<>()).add(order);
+        }
+
+        order.setStatusListener(this);
+    }
+
+    /**
+     * Remove an order and drop it from every index.
+     */
+    public synchronized boolean remove(String orderId) {
+        Order order = byId.remove(normId(orderId));
+        if (order == null) return false;
+
+        order.setStatusListener(null);
+        byStatus.get(order.getStatus()).remove(order);
+        removeFromBucket(byDate, order.getOrderDate(), order);
+        for (OrderItem item : order.getItems()) {
+            removeFromBucket(bySku, item.getSku(), order);
+        }
+        return true;
+    }
+
+    public synchronized Order findById(String orderId) {
+        return byId.get(normId(orderId));
+    }
+
+    /**
+     * Number of orders currently in the given status (O(1)).
+     */
+    public synchronized int countByStatus(OrderStatus status) {
+        if (status == null) return 0;
+        return byStatus.get(status).size();
+    }
+
+    /**
+     * Snapshot of all per-status counts.
+     */
+    public synchronized Map<OrderStatus, Integer> getStatusCounts() {
+        Map<OrderStatus, Integer> counts = new EnumMap<>(OrderStatus.class);
+        for (Map.Entry<OrderStatus, Set<Order>> e : byStatus.entrySet()) {
+            counts.put(e.getKey(), e.getValue().size());
+        }
+        return counts;
+    }
+
+    /**
+     * Orders in the given status, oldest arrival first.
+     */
+    public synchronized List<Order> findByStatus(OrderStatus status) {
+        return findByStatus(status, Integer.MAX_VALUE);
+    }
+
+    /**
+     * At most {@code limit} orders in the given status, oldest arrival first.
+     */
+    public synchronized List<Order> findByStatus(OrderStatus status, int limit) {
+        List<Order> result = new ArrayList<>();
+        if (status == null || limit <= 0) return result;
+
+        for (Order o : byStatus.get(status)) {
+            result.add(o);
+            if (result.size() >= limit) break;
+        }
+        return result;
+    }
+
+    /**
+     * Orders whose orderDate is between {@code from} and {@code to} (both inclusive).
+     */
+    public synchronized List<Order> findByDateRange(LocalDate from, LocalDate to) {
+        List<Order> result = new ArrayList<>();
+        if (from == null || to == null || from.isAfter(to)) return result;
+
+        for (Set<Order> bucket : byDate.subMap(from, true, to, true).values()) {
+            result.addAll(bucket);
+        }
+        return result;
+    }
+
+    /**
+     * Orders containing a line for the given SKU.
+     */
+    public synchronized List<Order> findBySku(String sku) {
+        Set<Order> bucket = bySku.get(normSku(sku));
+        return (bucket == null) ? new ArrayList<>() : new ArrayList<>(bucket);
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    /* =========================
+       Index maintenance
+       ========================= */
+
+    @Override
+    public synchronized void onStatusChanged(Order order, OrderStatus from, OrderStatus to) {
+        if (byStatus.get(from).remove(order)) {
+            byStatus.get(to).add(order);
+            if (orderLog != null) {
+                orderLog.appendStatus(order.getOrderId(), to);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onItemAdded(Order order, String sku) {
+        if (byId.get(order.getOrderId()) != order) return;
+        bySku.computeIfAbsent(normSku(sku), k -> new LinkedHashSet<>()).add(order);
+    }
+
+    @Override
+    public synchronized void onItemRemoved(Order order, String sku) {
+        if (byId.get(order.getOrderId()) != order) return;
+        removeFromBucket(bySku, normSku(sku), order);
+    }
+
+    private static <K> void removeFromBucket(Map<K, Set<Order>> index, K key, Order order) {
+        Set<Order> bucket = index.get(key);
+        if (bucket == null) return;
+        bucket.remove(order);
+        if (bucket.isEmpty()) index.remove(key);
+    }
+}
@@ -1,17 +1,95 @@
 package System;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public class OrderService {
 
     private final StockManager stockManager;
+    private final OrderRepository orderRepository; // optional, may be null
+    private final List<OrderListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Stock calls go through here: the manager itself (or setStockOperations),
+    // possibly wrapped by a timed decorator (setMetrics)
+    private volatile StockOperations baseOps;
+    private volatile StockOperations stockOps;
+    private volatile OperationMetrics placeMetrics;
+    private volatile MetricsRegistry metrics;
 
     public OrderService(StockManager stockManager) {
+        this(stockManager, null);
+    }
+
+    public OrderService(StockManager stockManager, OrderRepository orderRepository) {
         if (stockManager == null) {
             throw new IllegalArgumentException("StockManager cannot be null");
         }
         this.stockManager = stockManager;
+        this.orderRepository = orderRepository;
+        this.baseOps = stockManager;
+        this.stockOps = stockManager;
+    }
+
+    /**
+     * Check and deduct order lines through other stock operations, e.g. a
+     * LocationStockManager that picks the location per line (null = the StockManager).
+     */
+    public synchronized void setStockOperations(StockOperations ops) {
+        this.baseOps = (ops == null) ? stockManager : ops;
+        this.stockOps = (metrics == null) ? baseOps : new InstrumentedStockOperations(baseOps, metrics);
     }
 
+    /**
+     * Time order placement (either mode) and its stock calls into the registry (null = off).
+     */
+    public synchronized void setMetrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
+        if (metrics == null) {
+            this.stockOps = baseOps;
+            this.placeMetrics = null;
+        } else {
+            this.stockOps = new InstrumentedStockOperations(baseOps, metrics);
+            this.placeMetrics = metrics.operation("order.place");
+        }
+    }
+
+    public OrderRepository getOrderRepository() {
+        return orderRepository;
+    }
+
+    public void addOrderListener(OrderListener listener) {
+        if (listener != null) listeners.add(listener);
+    }
+
+    public void removeOrderListener(OrderListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Check and deduct every line of the order, then keep and announce it.
+     * Safe to call from several threads: an order is placed in full or
+     * rejected without touching stock.
+     */
     public void placeOrder(Order order) {
+        OrderPlacementEvent event = new OrderPlacementEvent();
+        event.begin();
+        OperationMetrics m = placeMetrics;
+        long t0 = (m == null) ? 0 : m.start();
+        try {
+            doPlaceOrder(order, event);
+        } catch (RuntimeException e) {
+            if (m != null) m.failure(t0);
+            event.finish(order, OrderPlacementEvent.REJECTED);
+            throw e;
+        }
+        if (m != null) m.success(t0);
+        event.finish(order, OrderPlacementEvent.PLACED);
+    }
+
+    private void doPlaceOrder(Order order, OrderPlacementEvent event) {
         if (order == null) {
             throw new IllegalArgumentException("Order cannot be null");
         }
@@ -22,17 +100,98 @@ public class OrderService {
         // 1) Ensure order is confirmable (will throw if not NEW or empty if you added that check)
         order.confirm();
 
-        // 2) Check stock availability
+        // 2) + 3) Check and deduct as one step: under the StockManager lock
+        // (which LocationStockManager shares) no other order can take the
+        // stock in between, so an order is placed in full or not at all
+        StockOperations ops = stockOps;
+        synchronized (stockManager) {
+            Map<String, Integer> needed = new LinkedHashMap<>();
+            for (OrderItem item : order.getItems()) {
+                needed.merge(item.getSku().trim().toUpperCase(), item.getQuantity(), Integer::sum);
+            }
+            for (Map.Entry<String, Integer> line : needed.entrySet()) {
+                int available = ops.getStock(line.getKey());
+                if (available < line.getValue()) {
+                    event.outcome = OrderPlacementEvent.INSUFFICIENT_STOCK;
+                    throw new IllegalStateException("Insufficient stock for SKU: " + line.getKey());
+                }
+            }
+
+            for (OrderItem item : order.getItems()) {
+                ops.decreaseStock(item.getSku(), item.getQuantity(), order.getOrderId());
+            }
+        }
+
+        // 4) Keep the placed order (status index follows later transitions)
+        if (orderRepository != null) {
+            orderRepository.save(order);
+        }
+        fireOrderPlaced(order);
+    }
+
+    /**
+     * Place an order in backorder mode: lines that cannot be served now are
+     * parked per SKU and filled automatically when stock arrives.
+     * Requires a BackorderBook on the StockManager.
+     *
+     * @return the lines that were parked (empty if fully served)
+     */
+    public List<Backorder> placeOrderWithBackorders(Order order) {
+        OrderPlacementEvent event = new OrderPlacementEvent();
+        event.begin();
+        OperationMetrics m = placeMetrics;
+        long t0 = (m == null) ? 0 : m.start();
+        List<Backorder> parked;
+        try {
+            parked = doPlaceOrderWithBackorders(order);
+        } catch (RuntimeException e) {
+            if (m != null) m.failure(t0);
+            event.finish(order, OrderPlacementEvent.REJECTED);
+            throw e;
+        }
+        if (m != null) m.success(t0);
+        event.finish(order, parked.isEmpty() ? OrderPlacementEvent.PLACED : OrderPlacementEvent.BACKORDERED);
+        return parked;
+    }
+
+    private List<Backorder> doPlaceOrderWithBackorders(Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order cannot be null");
+        }
+        if (order.getItems().isEmpty()) {
+            throw new IllegalStateException("Cannot place an empty order");
+        }
+        if (stockManager.getBackorderBook() == null) {
+            throw new IllegalStateException("Backorder mode is not enabled");
+        }
+
+        // Validate every SKU before touching stock
         for (OrderItem item : order.getItems()) {
-            int available = stockManager.getStock(item.getSku());
-            if (available < item.getQuantity()) {
-                throw new IllegalStateException("Insufficient stock for SKU: " + item.getSku());
+            if (!stockManager.hasProduct(item.getSku())) {
+                throw new IllegalStateException("Product not found in inventory: " + item.getSku());
             }
         }
 
-        // 3) Deduct stock
+        order.confirm();
+
+        List<Backorder> parked = new ArrayList<>();
         for (OrderItem item : order.getItems()) {
-            stockManager.decreaseStock(item.getSku(), item.getQuantity());
+            Backorder b = stockManager.reserveOrBackorder(item.getSku(), item.getQuantity(), order.getOrderId());
+            if (b != null) {
+                parked.add(b);
+            }
+        }
+
+        if (orderRepository != null) {
+            orderRepository.save(order);
+        }
+        fireOrderPlaced(order);
+        return parked;
+    }
+
+    private void fireOrderPlaced(Order order) {
+        for (OrderListener l : listeners) {
+            l.onOrderPlaced(order);
         }
     }
 }
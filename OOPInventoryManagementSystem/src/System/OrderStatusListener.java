@@ -0,0 +1,25 @@
+package System;
+
+/**
+ * Callback used by Order to report lifecycle changes.
+ * OrderRepository implements it to keep its indexes current.
+ */
+public interface OrderStatusListener {
+
+    /**
+     * Called after an order moved from one status to another.
+     */
+    void onStatusChanged(Order order, OrderStatus from, OrderStatus to);
+
+    /**
+     * Called after a new SKU line was added to an order.
+     */
+    default void onItemAdded(Order order, String sku) {
+    }
+
+    /**
+     * Called after a SKU line was removed from an order.
+     */
+    default void onItemRemoved(Order order, String sku) {
+    }
+}
@@ -43,7 +43,9 @@ public class PerishableProduct extends Product {
         if (expiryDate == null) {
             throw new IllegalArgumentException("Expiry date cannot be null");
         }
+        LocalDate old = this.expiryDate;
         this.expiryDate = expiryDate;
+        if (old != null && !old.equals(expiryDate)) fireChanged(ProductField.EXPIRY_DATE, old);
     }
 
     // Business logic
@@ -52,7 +54,14 @@ public class PerishableProduct extends Product {
      * @return true if the product is already expired
      */
     public boolean isExpired() {
-        return expiryDate.isBefore(LocalDate.now());
+        return isExpired(LocalDate.now());
+    }
+
+    /**
+     * @param today the date to check against (lets callers reuse one clock read)
+     */
+    public boolean isExpired(LocalDate today) {
+        return expiryDate.isBefore(today);
     }
 
     /**
@@ -67,7 +76,11 @@ public class PerishableProduct extends Product {
      *         (negative value means already expired)
      */
     public int daysUntilExpiry() {
-        return (int) ChronoUnit.DAYS.between(LocalDate.now(), expiryDate);
+        return daysUntilExpiry(LocalDate.now());
+    }
+
+    public int daysUntilExpiry(LocalDate today) {
+        return (int) ChronoUnit.DAYS.between(today, expiryDate);
     }
 
     /**
@@ -76,7 +89,11 @@ public class PerishableProduct extends Product {
      * @param days number of days before expiry
      */
     public boolean isNearExpiry(int days) {
-        return !isExpired() && daysUntilExpiry() <= days;
+        return isNearExpiry(days, LocalDate.now());
+    }
+
+    public boolean isNearExpiry(int days, LocalDate today) {
+        return !isExpired(today) && daysUntilExpiry(today) <= days;
     }
 
     /**
@@ -86,9 +103,20 @@ public class PerishableProduct extends Product {
      * @param percent discount percentage
      */
     public void applyExpiryDiscount(int daysBefore, double percent) {
-        if (isNearExpiry(daysBefore)) {
+        applyExpiryDiscount(daysBefore, percent, LocalDate.now());
+    }
+
+    /**
+     * Same as {@link #applyExpiryDiscount(int, double)} against a given date.
+     *
+     * @return true if the discount was applied
+     */
+    public boolean applyExpiryDiscount(int daysBefore, double percent, LocalDate today) {
+        if (isNearExpiry(daysBefore, today)) {
             applyDiscount(percent); // method from Product
+            return true;
         }
+        return false;
     }
 
     // Utility
@@ -0,0 +1,176 @@
+package System;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Sorted SKU and name keys for as-you-type completion.
+ *
+ * Keys sharing a prefix are contiguous in a sorted map, so the completions
+ * of a prefix are one ceiling lookup followed by an in-order walk that
+ * stops after N products: O(log n + N), independent of catalog size.
+ *
+ * Names are filed under the whole lower-cased name and under every later
+ * word start, so "dri" completes "Cordless Drill". A filing is the product
+ * plus the offset of the word in its lower-cased name; entries compare by
+ * the text from that offset on, so no suffix string is ever copied.
+ */
+public class PrefixIndex implements ProductIndex {
+
+    private static final char MAX_CHAR = Character.MAX_VALUE;
+
+    private final TreeMap<String, Product> bySku = new TreeMap<>();          // upper-case SKU -> product
+    private final TreeSet<NameEntry> byName = new TreeSet<>();                // one entry per word start
+    private final Map<Product, List<NameEntry>> nameEntries = new IdentityHashMap<>();
+    private long nextSeq;
+
+    private static String skuKey(String sku) {
+        return sku.trim().toUpperCase();
+    }
+
+    /* =========================
+       Maintenance
+       ========================= */
+
+    @Override
+    public void onProductAdded(Product product) {
+        bySku.put(skuKey(product.getSku()), product);
+        addName(product);
+    }
+
+    @Override
+    public void onProductRemoved(Product product) {
+        bySku.remove(skuKey(product.getSku()), product);
+        removeName(product);
+    }
+
+    @Override
+    public void onProductChanged(Product product, ProductField field, Object oldValue) {
+        if (field != ProductField.NAME) return;
+        removeName(product);
+        addName(product);
+    }
+
+    private void addName(Product product) {
+        if (product.getName() == null) return;
+        String n = product.getName().trim().toLowerCase();
+        if (n.isEmpty()) return;
+
+        List<NameEntry> entries = new ArrayList<>(2);
+        long seq = nextSeq++; // equal keys keep the order products were filed in
+        entries.add(new NameEntry(product, n, 0, seq));
+        for (int i = 1; i < n.length(); i++) {
+            if (n.charAt(i - 1) == ' ' && n.charAt(i) != ' ') {
+                entries.add(new NameEntry(product, n, i, seq));
+            }
+        }
+        byName.addAll(entries);
+        nameEntries.put(product, entries);
+    }
+
+    private void removeName(Product product) {
+        List<NameEntry> entries = nameEntries.remove(product);
+        if (entries != null) byName.removeAll(entries);
+    }
+
+    /**
+     * A product filed under its lower-cased name from {@code offset} on.
+     */
+    private static final class NameEntry implements Comparable<NameEntry> {
+        final Product product;
+        final String name;  // shared by all entries of the product
+        final int offset;
+        final long seq;
+
+        NameEntry(Product product, String name, int offset, long seq) {
+            this.product = product;
+            this.name = name;
+            this.offset = offset;
+            this.seq = seq;
+        }
+
+        boolean startsWith(String prefix) {
+            return name.startsWith(prefix, offset);
+        }
+
+        @Override
+        public int compareTo(NameEntry o) {
+            int i = offset;
+            int j = o.offset;
+            while (i < name.length() && j < o.name.length()) {
+                char a = name.charAt(i++);
+                char b = o.name.charAt(j++);
+                if (a != b) return Character.compare(a, b);
+            }
+            int byLength = Integer.compare(name.length() - i, o.name.length() - j);
+            return (byLength != 0) ? byLength : Long.compare(seq, o.seq);
+        }
+    }
+
+    /* =========================
+       Reads
+       ========================= */
+
+    /**
+     * Up to {@code limit} products whose SKU starts with the prefix, in SKU order.
+     */
+    public List<Product> completeSku(String prefix, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+        List<Product> result = new ArrayList<>();
+        if (prefix == null) return result;
+
+        String p = skuKey(prefix);
+        for (Product product : bySku.subMap(p, true, p + MAX_CHAR, false).values()) {
+            result.add(product);
+            if (result.size() >= limit) break;
+        }
+        return result;
+    }
+
+    /**
+     * Up to {@code limit} products whose name, or a word of it onward,
+     * starts with the prefix (case-insensitive), in key order.
+     */
+    public List<Product> completeName(String prefix, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+        Set<Product> result = new LinkedHashSet<>();
+        if (prefix == null || prefix.isBlank()) return new ArrayList<>(result);
+
+        String p = prefix.trim().toLowerCase();
+        // sorts before every entry whose text starts with p
+        NameEntry from = new NameEntry(null, p, 0, Long.MIN_VALUE);
+        for (NameEntry e : byName.tailSet(from, true)) {
+            if (!e.startsWith(p)) break;
+            result.add(e.product);
+            if (result.size() >= limit) break;
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Products with SKU in [fromSku, toSku) in lexical order (case-insensitive).
+     * A null bound means unbounded on that side.
+     */
+    public List<Product> skuRange(String fromSku, String toSku, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+        Map<String, Product> range;
+        if (fromSku == null && toSku == null) range = bySku;
+        else if (fromSku == null) range = bySku.headMap(skuKey(toSku), false);
+        else if (toSku == null) range = bySku.tailMap(skuKey(fromSku), true);
+        else if (skuKey(fromSku).compareTo(skuKey(toSku)) >= 0) return new ArrayList<>();
+        else range = bySku.subMap(skuKey(fromSku), true, skuKey(toSku), false);
+
+        List<Product> result = new ArrayList<>();
+        for (Product product : range.values()) {
+            result.add(product);
+            if (result.size() >= limit) break;
+        }
+        return result;
+    }
+}
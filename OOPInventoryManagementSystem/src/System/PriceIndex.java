@@ -0,0 +1,191 @@
+package System;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Products sorted by unit price, plus running valuation totals.
+ *
+ * Price range reads are O(log n + k). The total stock value, unit count and
+ * per-category value are adjusted by the delta of each price, quantity or
+ * category change, so they never need a rescan of the catalog.
+ *
+ * Values are summed as longs in ten-thousandths of the currency unit (each
+ * price is rounded to that once). Integer deltas add up exactly, so unlike
+ * a running double the totals never drift from a fresh sum, however many
+ * changes they have absorbed.
+ */
+public class PriceIndex implements ProductIndex {
+
+    private final TreeMap<Double, Set<Product>> byPrice = new TreeMap<>();
+
+    private static final double VALUE_SCALE = 10_000.0;
+
+    private long totalValue; // scaled by VALUE_SCALE
+    private long totalUnits;
+    private final Map<String, Long> valueByCategory = new HashMap<>(); // lower-case category -> scaled value
+
+    private static String categoryKey(String category) {
+        return (category == null) ? "" : category.trim().toLowerCase();
+    }
+
+    private static long scaled(double price) {
+        return Math.round(price * VALUE_SCALE);
+    }
+
+    private static long scaledValue(Product product) {
+        return scaled(product.getUnitPrice()) * product.getQuantity();
+    }
+
+    /* =========================
+       Maintenance
+       ========================= */
+
+    @Override
+    public void onProductAdded(Product product) {
+        byPrice.computeIfAbsent(product.getUnitPrice(), k -> new LinkedHashSet<>()).add(product);
+        addValue(product.getCategory(), scaledValue(product));
+        totalUnits += product.getQuantity();
+    }
+
+    @Override
+    public void onProductRemoved(Product product) {
+        removeFromBucket(product.getUnitPrice(), product);
+        addValue(product.getCategory(), -scaledValue(product));
+        totalUnits -= product.getQuantity();
+    }
+
+    @Override
+    public void onProductChanged(Product product, ProductField field, Object oldValue) {
+        switch (field) {
+            case UNIT_PRICE: {
+                double oldPrice = (Double) oldValue;
+                removeFromBucket(oldPrice, product);
+                byPrice.computeIfAbsent(product.getUnitPrice(), k -> new LinkedHashSet<>()).add(product);
+                addValue(product.getCategory(), (scaled(product.getUnitPrice()) - scaled(oldPrice)) * product.getQuantity());
+                break;
+            }
+            case QUANTITY: {
+                int oldQty = (Integer) oldValue;
+                addValue(product.getCategory(), scaled(product.getUnitPrice()) * (product.getQuantity() - oldQty));
+                totalUnits += product.getQuantity() - oldQty;
+                break;
+            }
+            case CATEGORY: {
+                long value = scaledValue(product);
+                addValue((String) oldValue, -value);
+                addValue(product.getCategory(), value);
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private void addValue(String category, long delta) {
+        if (delta == 0) return;
+        totalValue += delta;
+        // merge() drops the entry when the category value returns to zero
+        valueByCategory.merge(categoryKey(category), delta, (a, b) -> {
+            long sum = a + b;
+            return (sum == 0) ? null : sum;
+        });
+    }
+
+    private void removeFromBucket(double price, Product product) {
+        Set<Product> bucket = byPrice.get(price);
+        if (bucket == null) return;
+        bucket.remove(product);
+        if (bucket.isEmpty()) byPrice.remove(price);
+    }
+
+    /* =========================
+       Reads
+       ========================= */
+
+    /**
+     * Products priced between min and max (inclusive), cheapest first.
+     */
+    public List<Product> getRange(double min, double max) {
+        List<Product> result = new ArrayList<>();
+        for (Product p : range(min, max)) {
+            result.add(p);
+        }
+        return result;
+    }
+
+    /**
+     * Sum of unitPrice * quantity over all indexed products.
+     */
+    public double getTotalValue() {
+        return totalValue / VALUE_SCALE;
+    }
+
+    /**
+     * Sum of quantity over all indexed products.
+     */
+    public long getTotalUnits() {
+        return totalUnits;
+    }
+
+    /**
+     * Stock value of one category (case-insensitive, 0 if unknown).
+     */
+    public double getCategoryValue(String category) {
+        return valueByCategory.getOrDefault(categoryKey(category), 0L) / VALUE_SCALE;
+    }
+
+    private Iterable<Product> range(double min, double max) {
+        if (min > max) return new ArrayList<>();
+        NavigableMap<Double, Set<Product>> sub = byPrice.subMap(min, true, max, true);
+        return () -> new Iterator<Product>() {
+            private final Iterator<Set<Product>> outer = sub.values().iterator();
+            private Iterator<Product> inner = null;
+
+            @Override
+            public boolean hasNext() {
+                while ((inner == null || !inner.hasNext()) && outer.hasNext()) {
+                    inner = outer.next().iterator();
+                }
+                return inner != null && inner.hasNext();
+            }
+
+            @Override
+            public Product next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return inner.next();
+            }
+        };
+    }
+
+    /* =========================
+       Query planning
+       ========================= */
+
+    @Override
+    public long estimate(ProductQuery.Condition condition, long bound) {
+        if (!(condition instanceof ProductQuery.PriceRange)) return -1;
+        ProductQuery.PriceRange r = (ProductQuery.PriceRange) condition;
+
+        long count = 0;
+        for (Set<Product> bucket : byPrice.subMap(r.getMin(), true, r.getMax(), true).values()) {
+            count += bucket.size();
+            if (count > bound) break; // already worse than the best plan
+        }
+        return count;
+    }
+
+    @Override
+    public Iterable<Product> candidates(ProductQuery.Condition condition) {
+        ProductQuery.PriceRange r = (ProductQuery.PriceRange) condition;
+        return range(r.getMin(), r.getMax());
+    }
+}
@@ -0,0 +1,77 @@
+package System;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Takes order lines from locations in a fixed order of preference
+ * (e.g. central warehouse first, stores last).
+ *
+ * Per SKU a BitSet marks, by rank, the locations that hold stock, so the
+ * best stocked location is one {@code nextSetBit(0)} away. Locations that
+ * are not in the preference list rank after it, in registration order.
+ */
+public class PriorityAllocationPolicy implements AllocationPolicy {
+
+    private final Map<String, Integer> preferred = new HashMap<>(); // code -> rank
+    private final List<Integer> locationByRank = new ArrayList<>();
+    private final Map<Integer, Integer> rankByLocation = new HashMap<>();
+    private final List<String> unlisted = new ArrayList<>();
+    private final Map<String, BitSet> bySku = new HashMap<>();
+
+    /**
+     * @param preference location codes, most preferred first
+     */
+    public PriorityAllocationPolicy(List<String> preference) {
+        if (preference == null) throw new IllegalArgumentException("Preference cannot be null");
+        for (String code : preference) {
+            if (code == null || code.isBlank()) throw new IllegalArgumentException("Location code cannot be empty");
+            preferred.putIfAbsent(code.trim().toUpperCase(), preferred.size());
+        }
+        for (int i = 0; i < preferred.size(); i++) {
+            locationByRank.add(-1); // filled in as locations are registered
+        }
+    }
+
+    @Override
+    public void onLocationAdded(int locationId, String code) {
+        Integer rank = preferred.get(code);
+        if (rank == null) {
+            rank = preferred.size() + unlisted.size();
+            unlisted.add(code);
+            locationByRank.add(locationId);
+        } else {
+            locationByRank.set(rank, locationId);
+        }
+        rankByLocation.put(locationId, rank);
+    }
+
+    @Override
+    public void onQuantityChanged(String sku, int locationId, int before, int after) {
+        if ((before > 0) == (after > 0)) return;
+
+        int rank = rankByLocation.get(locationId);
+        BitSet stocked = bySku.get(sku);
+        if (after > 0) {
+            if (stocked == null) {
+                stocked = new BitSet();
+                bySku.put(sku, stocked);
+            }
+            stocked.set(rank);
+        } else if (stocked != null) {
+            stocked.clear(rank);
+            if (stocked.isEmpty()) bySku.remove(sku);
+        }
+    }
+
+    @Override
+    public int choose(String sku, int quantity) {
+        BitSet stocked = bySku.get(sku);
+        if (stocked == null) return -1;
+        int rank = stocked.nextSetBit(0);
+        return (rank < 0) ? -1 : locationByRank.get(rank);
+    }
+}
@@ -11,6 +11,9 @@ public class Product implements Storable {
     private int minStockLevel;     // Minimum quantity before we consider it "low stock"
     private int maxStockLevel;     // Optional upper limit to detect over-stock
 
+    // Set by the Inventory holding this product (null when standalone)
+    private ProductObserver observer;
+
     // Constructors
 
     /**
@@ -57,34 +60,57 @@ public class Product implements Storable {
     public int getMinStockLevel() { return minStockLevel; }
     public int getMaxStockLevel() { return maxStockLevel; }
 
+    ProductObserver getObserver() { return observer; }
+
+    void setObserver(ProductObserver observer) {
+        this.observer = observer;
+    }
+
+    /**
+     * Report a change to the owning Inventory (if any).
+     */
+    protected void fireChanged(ProductField field, Object oldValue) {
+        if (observer != null) {
+            observer.onProductChanged(this, field, oldValue);
+        }
+    }
+
     // Setters (mutators) with validation
 
     public void setName(String name) {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("Product name cannot be empty");
         }
+        String old = this.name;
         this.name = name.trim();
+        if (old != null && !old.equals(this.name)) fireChanged(ProductField.NAME, old);
     }
 
     public void setCategory(String category) {
         if (category == null || category.isBlank()) {
             category = "General";
         }
+        String old = this.category;
         this.category = category.trim();
+        if (old != null && !old.equals(this.category)) fireChanged(ProductField.CATEGORY, old);
     }
 
     public void setUnitPrice(double unitPrice) {
         if (unitPrice < 0) {
             throw new IllegalArgumentException("Unit price cannot be negative");
         }
+        double old = this.unitPrice;
         this.unitPrice = unitPrice;
+        if (observer != null && old != unitPrice) fireChanged(ProductField.UNIT_PRICE, old);
     }
 
     public void setQuantity(int quantity) {
         if (quantity < 0) {
             throw new IllegalArgumentException("Quantity cannot be negative");
         }
+        int old = this.quantity;
         this.quantity = quantity;
+        if (observer != null && old != quantity) fireChanged(ProductField.QUANTITY, old);
     }
 
     public void setMinStockLevel(int minStockLevel) {
@@ -95,7 +121,9 @@ public class Product implements Storable {
         if (minStockLevel > this.maxStockLevel) {
             throw new IllegalArgumentException("Min stock level cannot be greater than max stock level");
         }
+        int old = this.minStockLevel;
         this.minStockLevel = minStockLevel;
+        if (observer != null && old != minStockLevel) fireChanged(ProductField.MIN_STOCK_LEVEL, old);
     }
 
     public void setMaxStockLevel(int maxStockLevel) {
@@ -107,7 +135,9 @@ public class Product implements Storable {
         if (maxStockLevel < this.minStockLevel) {
             throw new IllegalArgumentException("Max stock level cannot be less than min stock level");
         }
+        int old = this.maxStockLevel;
         this.maxStockLevel = maxStockLevel;
+        if (observer != null && old != maxStockLevel) fireChanged(ProductField.MAX_STOCK_LEVEL, old);
     }
 
     // Business methods for stock management
@@ -121,7 +151,9 @@ public class Product implements Storable {
         if (amount <= 0) {
             throw new IllegalArgumentException("Amount to increase must be positive");
         }
+        int old = this.quantity;
         this.quantity += amount;
+        if (observer != null) fireChanged(ProductField.QUANTITY, old);
     }
 
     /**
@@ -134,7 +166,9 @@ public class Product implements Storable {
         if (amount <= 0) return false;
         if (amount > this.quantity) return false;
 
+        int old = this.quantity;
         this.quantity -= amount;
+        if (observer != null) fireChanged(ProductField.QUANTITY, old);
         return true;
     }
 
@@ -172,7 +206,9 @@ public class Product implements Storable {
         double newPrice = unitPrice * factor;
 
         // Round to 2 decimals
+        double old = this.unitPrice;
         this.unitPrice = Math.round(newPrice * 100.0) / 100.0;
+        if (observer != null && old != this.unitPrice) fireChanged(ProductField.UNIT_PRICE, old);
     }
 
     // Utility methods
@@ -0,0 +1,14 @@
+package System;
+
+/**
+ * Product attributes whose changes are reported to a ProductObserver.
+ */
+public enum ProductField {
+    NAME,
+    CATEGORY,
+    UNIT_PRICE,
+    QUANTITY,
+    MIN_STOCK_LEVEL,
+    MAX_STOCK_LEVEL,
+    EXPIRY_DATE
+}
@@ -0,0 +1,40 @@
+package System;
+
+/**
+ * A secondary index over the products of one Inventory.
+ *
+ * Inventory calls the maintenance methods on add, remove and every field
+ * change. Indexes that can answer query conditions also implement
+ * {@link #estimate} and {@link #candidates}; the query planner asks every
+ * index for an estimate and reads candidates from the cheapest one.
+ */
+public interface ProductIndex {
+
+    void onProductAdded(Product product);
+
+    void onProductRemoved(Product product);
+
+    void onProductChanged(Product product, ProductField field, Object oldValue);
+
+    /**
+     * Estimated number of candidates this index would return for the condition.
+     * Implementations may stop counting once the estimate passes {@code bound}.
+     *
+     * @return the estimate, or -1 if this index cannot serve the condition
+     */
+    default long estimate(ProductQuery.Condition condition, long bound) {
+        return -1;
+    }
+
+    /**
+     * Products that may satisfy the condition (a superset is fine).
+     * Only called when {@link #estimate} returned a non-negative value.
+     */
+    default Iterable<Product> candidates(ProductQuery.Condition condition) {
+        throw new UnsupportedOperationException(getName() + " cannot serve " + condition);
+    }
+
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
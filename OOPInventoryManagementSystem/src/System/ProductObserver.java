@@ -0,0 +1,16 @@
+package System;
+
+/**
+ * Receives every field change of a product.
+ * Inventory registers itself on the products it holds so its indexes
+ * stay current no matter which code path mutates the product.
+ */
+public interface ProductObserver {
+
+    /**
+     * @param product  the changed product (already holding the new value)
+     * @param field    which attribute changed
+     * @param oldValue value before the change
+     */
+    void onProductChanged(Product product, ProductField field, Object oldValue);
+}
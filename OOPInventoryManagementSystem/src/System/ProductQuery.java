@@ -0,0 +1,244 @@
+package System;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Composable filter over products, executed by {@link Inventory#query(ProductQuery)}.
+ *
+ * Example:
+ * <pre>
+ *   inventory.query(ProductQuery.where()
+ *           .category("Tools")
+ *           .priceBetween(10, 20)
+ *           .lowStock()
+ *           .orderBy(Comparator.comparingDouble(Product::getUnitPrice))
+ *           .limit(50));
+ * </pre>
+ * All conditions are combined with AND.
+ */
+public class ProductQuery {
+
+    private final List<Condition> conditions;
+    private Comparator<Product> order;
+    private int limit;
+
+    private ProductQuery() {
+        this.conditions = new ArrayList<>();
+        this.limit = Integer.MAX_VALUE;
+    }
+
+    public static ProductQuery where() {
+        return new ProductQuery();
+    }
+
+    /* =========================
+       Conditions
+       ========================= */
+
+    public ProductQuery sku(String sku) {
+        if (sku == null || sku.isBlank()) throw new IllegalArgumentException("SKU cannot be empty");
+        conditions.add(new SkuEquals(sku.trim().toUpperCase()));
+        return this;
+    }
+
+    /**
+     * Category equals (trimmed, case-insensitive).
+     */
+    public ProductQuery category(String category) {
+        if (category == null || category.isBlank()) throw new IllegalArgumentException("Category cannot be empty");
+        conditions.add(new CategoryEquals(category.trim().toLowerCase()));
+        return this;
+    }
+
+    /**
+     * Unit price between min and max (both inclusive).
+     */
+    public ProductQuery priceBetween(double min, double max) {
+        if (min > max) throw new IllegalArgumentException("Min price cannot be greater than max price");
+        conditions.add(new PriceRange(min, max));
+        return this;
+    }
+
+    /**
+     * Quantity between min and max (both inclusive).
+     */
+    public ProductQuery quantityBetween(int min, int max) {
+        if (min > max) throw new IllegalArgumentException("Min quantity cannot be greater than max quantity");
+        conditions.add(new QuantityRange(min, max));
+        return this;
+    }
+
+    /**
+     * Quantity strictly below the given value.
+     */
+    public ProductQuery quantityBelow(int value) {
+        if (value == Integer.MIN_VALUE) {
+            // nothing is below it, and value - 1 would wrap: an empty range
+            conditions.add(new QuantityRange(Integer.MAX_VALUE, Integer.MIN_VALUE));
+            return this;
+        }
+        return quantityBetween(Integer.MIN_VALUE, value - 1);
+    }
+
+    /**
+     * Quantity at or below the product's own minStockLevel.
+     */
+    public ProductQuery lowStock() {
+        conditions.add(new LowStock());
+        return this;
+    }
+
+    /**
+     * Name contains the keyword (case-insensitive).
+     */
+    public ProductQuery nameContains(String keyword) {
+        if (keyword == null || keyword.isBlank()) throw new IllegalArgumentException("Keyword cannot be empty");
+        conditions.add(new NameContains(keyword.trim().toLowerCase()));
+        return this;
+    }
+
+    /* =========================
+       Ordering / limit
+       ========================= */
+
+    public ProductQuery orderBy(Comparator<Product> comparator) {
+        this.order = comparator;
+        return this;
+    }
+
+    public ProductQuery limit(int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+        this.limit = limit;
+        return this;
+    }
+
+    List<Condition> getConditions() { return conditions; }
+    Comparator<Product> getOrder() { return order; }
+    int getLimit() { return limit; }
+
+    boolean matches(Product p) {
+        for (Condition c : conditions) {
+            if (!c.test(p)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductQuery" + conditions + (limit == Integer.MAX_VALUE ? "" : " limit " + limit);
+    }
+
+    /* =========================
+       Condition types
+       ========================= */
+
+    /**
+     * One predicate of a query. Indexes inspect the concrete type to decide
+     * whether they can serve it.
+     */
+    public abstract static class Condition {
+        public abstract boolean test(Product p);
+    }
+
+    public static final class SkuEquals extends Condition {
+        final String sku;
+
+        SkuEquals(String sku) { this.sku = sku; }
+
+        public String getSku() { return sku; }
+
+        @Override
+        public boolean test(Product p) {
+            return p.getSku().equalsIgnoreCase(sku);
+        }
+
+        @Override
+        public String toString() { return "sku = " + sku; }
+    }
+
+    public static final class CategoryEquals extends Condition {
+        final String category;
+
+        CategoryEquals(String category) { this.category = category; }
+
+        public String getCategory() { return category; }
+
+        @Override
+        public boolean test(Product p) {
+            return p.getCategory() != null && p.getCategory().trim().toLowerCase().equals(category);
+        }
+
+        @Override
+        public String toString() { return "category = " + category; }
+    }
+
+    public static final class PriceRange extends Condition {
+        final double min;
+        final double max;
+
+        PriceRange(double min, double max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        public double getMin() { return min; }
+        public double getMax() { return max; }
+
+        @Override
+        public boolean test(Product p) {
+            return p.getUnitPrice() >= min && p.getUnitPrice() <= max;
+        }
+
+        @Override
+        public String toString() { return "price in [" + min + ", " + max + "]"; }
+    }
+
+    public static final class QuantityRange extends Condition {
+        final int min;
+        final int max;
+
+        QuantityRange(int min, int max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        public int getMin() { return min; }
+        public int getMax() { return max; }
+
+        @Override
+        public boolean test(Product p) {
+            return p.getQuantity() >= min && p.getQuantity() <= max;
+        }
+
+        @Override
+        public String toString() { return "quantity in [" + min + ", " + max + "]"; }
+    }
+
+    public static final class LowStock extends Condition {
+        @Override
+        public boolean test(Product p) {
+            return p.isLowStock();
+        }
+
+        @Override
+        public String toString() { return "quantity <= minStockLevel"; }
+    }
+
+    public static final class NameContains extends Condition {
+        final String keyword;
+
+        NameContains(String keyword) { this.keyword = keyword; }
+
+        public String getKeyword() { return keyword; }
+
+        @Override
+        public boolean test(Product p) {
+            return p.getName() != null && p.getName().toLowerCase().contains(keyword);
+        }
+
+        @Override
+        public String toString() { return "name contains " + keyword; }
+    }
+}
@@ -0,0 +1,73 @@
+package System;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Suggested purchase order for one supplier, produced by ReorderEngine.
+ */
+public class PurchaseProposal {
+
+    /**
+     * One product to reorder.
+     */
+    public static class Line {
+        private final String sku;
+        private final String name;
+        private final int quantity;
+
+        public Line(String sku, String name, int quantity) {
+            this.sku = sku;
+            this.name = name;
+            this.quantity = quantity;
+        }
+
+        public String getSku() { return sku; }
+        public String getName() { return name; }
+        public int getQuantity() { return quantity; }
+
+        @Override
+        public String toString() {
+            return sku + " x" + quantity + " (" + name + ")";
+        }
+    }
+
+    private final String supplierCode;
+    private final String supplierName;
+    private final List<Line> lines;
+    private final Instant createdAt;
+
+    public PurchaseProposal(String supplierCode, String supplierName, List<Line> lines, Instant createdAt) {
+        this.supplierCode = supplierCode;
+        this.supplierName = supplierName;
+        this.lines = new ArrayList<>(lines);
+        this.createdAt = createdAt;
+    }
+
+    public String getSupplierCode() { return supplierCode; }
+    public String getSupplierName() { return supplierName; }
+    public Instant getCreatedAt() { return createdAt; }
+
+    public List<Line> getLines() {
+        return new ArrayList<>(lines);
+    }
+
+    public int getTotalQuantity() {
+        int total = 0;
+        for (Line l : lines) {
+            total += l.getQuantity();
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "PurchaseProposal{" +
+                "supplierCode='" + supplierCode + '\'' +
+                ", supplierName='" + supplierName + '\'' +
+                ", lines=" + lines +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,126 @@
+package System;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Products sorted by quantity, plus the set of products at or below
+ * their own minStockLevel. Both are updated on every quantity or
+ * min-level change, so low-stock and out-of-stock lists need no scan.
+ */
+public class QuantityIndex implements ProductIndex {
+
+    private final TreeMap<Integer, Set<Product>> byQuantity = new TreeMap<>();
+    private final Set<Product> lowStock = new LinkedHashSet<>();
+
+    @Override
+    public void onProductAdded(Product product) {
+        byQuantity.computeIfAbsent(product.getQuantity(), q -> new LinkedHashSet<>()).add(product);
+        refreshLowStock(product);
+    }
+
+    @Override
+    public void onProductRemoved(Product product) {
+        removeFromBucket(product.getQuantity(), product);
+        lowStock.remove(product);
+    }
+
+    @Override
+    public void onProductChanged(Product product, ProductField field, Object oldValue) {
+        if (field == ProductField.QUANTITY) {
+            removeFromBucket((Integer) oldValue, product);
+            byQuantity.computeIfAbsent(product.getQuantity(), q -> new LinkedHashSet<>()).add(product);
+            refreshLowStock(product);
+        } else if (field == ProductField.MIN_STOCK_LEVEL) {
+            refreshLowStock(product);
+        }
+    }
+
+    private void refreshLowStock(Product product) {
+        if (product.isLowStock()) lowStock.add(product);
+        else lowStock.remove(product);
+    }
+
+    private void removeFromBucket(int quantity, Product product) {
+        Set<Product> bucket = byQuantity.get(quantity);
+        if (bucket == null) return;
+        bucket.remove(product);
+        if (bucket.isEmpty()) byQuantity.remove(quantity);
+    }
+
+    /**
+     * Products with quantity <= their minStockLevel.
+     */
+    public List<Product> getLowStock() {
+        return new ArrayList<>(lowStock);
+    }
+
+    /**
+     * Products with quantity between min and max (inclusive), lowest first.
+     */
+    public List<Product> getRange(int min, int max) {
+        List<Product> result = new ArrayList<>();
+        for (Product p : range(min, max)) {
+            result.add(p);
+        }
+        return result;
+    }
+
+    private Iterable<Product> range(int min, int max) {
+        if (min > max) return new ArrayList<>();
+        Collection<Set<Product>> buckets = byQuantity.subMap(min, true, max, true).values();
+        return () -> new Iterator<Product>() {
+            private final Iterator<Set<Product>> outer = buckets.iterator();
+            private Iterator<Product> inner = null;
+
+            @Override
+            public boolean hasNext() {
+                while ((inner == null || !inner.hasNext()) && outer.hasNext()) {
+                    inner = outer.next().iterator();
+                }
+                return inner != null && inner.hasNext();
+            }
+
+            @Override
+            public Product next() {
+                if (!hasNext()) throw new java.util.NoSuchElementException();
+                return inner.next();
+            }
+        };
+    }
+
+    @Override
+    public long estimate(ProductQuery.Condition condition, long bound) {
+        if (condition instanceof ProductQuery.LowStock) {
+            return lowStock.size();
+        }
+        if (condition instanceof ProductQuery.QuantityRange) {
+            ProductQuery.QuantityRange r = (ProductQuery.QuantityRange) condition;
+            if (r.getMin() > r.getMax()) return 0;
+
+            NavigableMap<Integer, Set<Product>> sub = byQuantity.subMap(r.getMin(), true, r.getMax(), true);
+            long count = 0;
+            for (Set<Product> bucket : sub.values()) {
+                count += bucket.size();
+                if (count > bound) break; // already worse than the best plan
+            }
+            return count;
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterable<Product> candidates(ProductQuery.Condition condition) {
+        if (condition instanceof ProductQuery.LowStock) {
+            return lowStock;
+        }
+        ProductQuery.QuantityRange r = (ProductQuery.QuantityRange) condition;
+        return range(r.getMin(), r.getMax());
+    }
+}
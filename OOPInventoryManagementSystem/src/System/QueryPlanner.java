@@ -0,0 +1,106 @@
+package System;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Runs a ProductQuery against an Inventory's indexes.
+ *
+ * Every condition is offered to every index; the (index, condition) pair
+ * with the smallest estimate drives the scan, and all conditions are then
+ * re-checked on each candidate. With no usable index the planner falls
+ * back to a full scan of the catalog.
+ */
+class QueryPlanner {
+
+    private final Collection<Product> allProducts;
+    private final List<ProductIndex> indexes;
+
+    QueryPlanner(Collection<Product> allProducts, List<ProductIndex> indexes) {
+        this.allProducts = allProducts;
+        this.indexes = indexes;
+    }
+
+    /**
+     * The chosen access path for a query.
+     */
+    static final class Plan {
+        final ProductIndex index;               // null = full scan
+        final ProductQuery.Condition condition; // condition served by the index
+        final long estimate;
+
+        Plan(ProductIndex index, ProductQuery.Condition condition, long estimate) {
+            this.index = index;
+            this.condition = condition;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public String toString() {
+            if (index == null) return "FULL SCAN (" + estimate + " products)";
+            return "INDEX " + index.getName() + " on [" + condition + "] (~" + estimate + " candidates)";
+        }
+    }
+
+    Plan plan(ProductQuery query) {
+        Plan best = new Plan(null, null, allProducts.size());
+
+        for (ProductQuery.Condition c : query.getConditions()) {
+            for (ProductIndex index : indexes) {
+                long estimate = index.estimate(c, best.estimate);
+                if (estimate >= 0 && estimate < best.estimate) {
+                    best = new Plan(index, c, estimate);
+                }
+                if (best.estimate == 0) return best;
+            }
+        }
+        return best;
+    }
+
+    List<Product> execute(ProductQuery query) {
+        Plan plan = plan(query);
+        Iterable<Product> candidates = (plan.index == null) ? allProducts : plan.index.candidates(plan.condition);
+
+        int limit = query.getLimit();
+        Comparator<Product> order = query.getOrder();
+
+        if (order == null) {
+            List<Product> result = new ArrayList<>();
+            for (Product p : candidates) {
+                if (query.matches(p)) {
+                    result.add(p);
+                    if (result.size() >= limit) break;
+                }
+            }
+            return result;
+        }
+
+        if (limit == Integer.MAX_VALUE) {
+            List<Product> result = new ArrayList<>();
+            for (Product p : candidates) {
+                if (query.matches(p)) result.add(p);
+            }
+            result.sort(order);
+            return result;
+        }
+
+        // Top-k: keep the k best in a heap whose head is the worst kept
+        PriorityQueue<Product> heap = new PriorityQueue<>(Math.min(limit, 1024) + 1, order.reversed());
+        for (Product p : candidates) {
+            if (!query.matches(p)) continue;
+            if (heap.size() < limit) {
+                heap.add(p);
+            } else if (order.compare(p, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(p);
+            }
+        }
+        List<Product> result = new ArrayList<>(heap);
+        Collections.sort(result, order);
+        return result;
+    }
+}
@@ -0,0 +1,257 @@
+package System;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Turns low-stock crossings into purchase proposals, one per supplier.
+ *
+ * Register it with {@link StockManager#addStockListener(StockListener)}.
+ * When a decrement takes a product from above its minStockLevel to at or
+ * below it, the engine computes the top-up back to maxStockLevel and picks
+ * the active supplier with the highest rating for that SKU. Lines for the
+ * same supplier are coalesced for {@code batchWindow}, then emitted as one
+ * PurchaseProposal. Nothing polls or scans the catalog.
+ *
+ * A SKU is proposed once until stock is received for it (a RECEIPT
+ * movement, or {@link #markReceived}): stock bouncing around the min level
+ * before the goods arrive does not order them again.
+ *
+ * Products without a real max level (Integer.MAX_VALUE) are topped up to
+ * twice their min level. Lines with no active supplier are kept in
+ * {@link #getUnassignedLines()} and proposed by {@link #proposeUnassigned()}.
+ * Subscribed to the Inventory's event bus, the engine does that by itself
+ * whenever a supplier is linked to one of those SKUs.
+ *
+ * Batch timers run on a scheduler shared by all engines (one daemon thread
+ * per process) unless one is passed in.
+ */
+public class ReorderEngine implements StockListener, InventoryEventSubscriber {
+
+    private final Inventory inventory;
+    private final Duration batchWindow;
+    private final Consumer<PurchaseProposal> sink;
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<String, Map<String, PurchaseProposal.Line>> pendingBySupplier; // supplierCode -> sku -> line
+    private final Map<String, ScheduledFuture<?>> timers;                           // supplierCode -> batch timer
+    private final Map<String, PurchaseProposal.Line> unassigned;
+    private final Set<String> proposed; // SKUs pending or emitted, not yet received
+    private boolean shutdown;
+
+    private static final class SharedScheduler {
+        static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "reorder-engine");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public ReorderEngine(Inventory inventory, Duration batchWindow, Consumer<PurchaseProposal> sink) {
+        this(inventory, batchWindow, sink, SharedScheduler.INSTANCE);
+    }
+
+    /**
+     * @param scheduler runs the batch timers; owned by the caller (not shut down here)
+     */
+    public ReorderEngine(Inventory inventory, Duration batchWindow, Consumer<PurchaseProposal> sink,
+                         ScheduledExecutorService scheduler) {
+        if (inventory == null) throw new IllegalArgumentException("Inventory cannot be null");
+        if (batchWindow == null || batchWindow.isNegative()) throw new IllegalArgumentException("Invalid batch window");
+        if (sink == null) throw new IllegalArgumentException("Sink cannot be null");
+        if (scheduler == null) throw new IllegalArgumentException("Scheduler cannot be null");
+
+        this.inventory = inventory;
+        this.batchWindow = batchWindow;
+        this.sink = sink;
+        this.scheduler = scheduler;
+        this.pendingBySupplier = new HashMap<>();
+        this.timers = new HashMap<>();
+        this.unassigned = new LinkedHashMap<>();
+        this.proposed = new HashSet<>();
+    }
+
+    @Override
+    public void onStockChanged(Product product, int before, int after) {
+        onStockChanged(product, before, after,
+                (after > before) ? MovementReason.RECEIPT : MovementReason.ADJUSTMENT, null);
+    }
+
+    @Override
+    public void onStockChanged(Product product, int before, int after, MovementReason reason, String orderId) {
+        if (reason == MovementReason.RECEIPT && after > before) {
+            markReceived(product.getSku());
+            return;
+        }
+
+        int min = product.getMinStockLevel();
+        if (after >= before || before <= min || after > min) return; // not a downward crossing
+
+        int target = (product.getMaxStockLevel() == Integer.MAX_VALUE)
+                ? 2 * min
+                : product.getMaxStockLevel();
+        int quantity = Math.max(1, target - after);
+
+        String sku = product.getSku().trim().toUpperCase();
+        propose(new PurchaseProposal.Line(sku, product.getName(), quantity));
+    }
+
+    /**
+     * A supplier was linked to a SKU waiting without one: propose it now.
+     */
+    @Override
+    public void onEvents(List<InventoryEvent> events) {
+        for (InventoryEvent e : events) {
+            if (e.getType() == InventoryEvent.Type.SUPPLIER_LINKED && hasUnassigned(e.getSku())) {
+                proposeUnassigned();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Propose the unassigned lines that now have an active supplier.
+     *
+     * @return number of lines proposed
+     */
+    public int proposeUnassigned() {
+        int count = 0;
+        for (PurchaseProposal.Line line : getUnassignedLines()) {
+            if (chooseSupplier(line.getSku()) == null) continue;
+            synchronized (this) {
+                if (unassigned.remove(line.getSku()) == null) continue; // received meanwhile
+            }
+            if (propose(line)) count++;
+        }
+        return count;
+    }
+
+    private synchronized boolean hasUnassigned(String sku) {
+        return sku != null && unassigned.containsKey(sku.trim().toUpperCase());
+    }
+
+    // false if the line had no active supplier and was parked as unassigned
+    private boolean propose(PurchaseProposal.Line line) {
+        String sku = line.getSku();
+        Supplier supplier = chooseSupplier(sku);
+        String code;
+        synchronized (this) {
+            if (supplier == null) {
+                unassigned.put(sku, line);
+                return false;
+            }
+            if (!proposed.add(sku)) return true; // already on its way
+
+            code = supplier.getSupplierCode();
+            Map<String, PurchaseProposal.Line> batch = pendingBySupplier.get(code);
+            if (batch == null) {
+                batch = new LinkedHashMap<>();
+                pendingBySupplier.put(code, batch);
+                if (!shutdown) {
+                    timers.put(code, scheduler.schedule(() -> flush(code), batchWindow.toMillis(), TimeUnit.MILLISECONDS));
+                }
+            }
+            batch.put(sku, line);
+            if (!shutdown) return true;
+        }
+        flush(code); // no more batching after shutdown
+        return true;
+    }
+
+    /**
+     * Stock arrived for a SKU: a later crossing may propose it again.
+     *
+     * @return true if the SKU had an open proposal or unassigned line
+     */
+    public synchronized boolean markReceived(String sku) {
+        if (sku == null) return false;
+        String key = sku.trim().toUpperCase();
+        boolean hadProposal = proposed.remove(key);
+        return (unassigned.remove(key) != null) || hadProposal;
+    }
+
+    /**
+     * SKUs proposed (pending or emitted) and not yet received.
+     */
+    public synchronized Set<String> getOutstandingSkus() {
+        return new HashSet<>(proposed);
+    }
+
+    private Supplier chooseSupplier(String sku) {
+        Supplier best = null;
+        for (Supplier s : inventory.getSuppliersForProduct(sku)) {
+            if (!s.isActive()) continue;
+            if (best == null || s.getRating() > best.getRating()) {
+                best = s;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Emit the pending proposal for one supplier now.
+     *
+     * @return false if nothing was pending for that supplier
+     */
+    public boolean flush(String supplierCode) {
+        Map<String, PurchaseProposal.Line> batch;
+        synchronized (this) {
+            batch = pendingBySupplier.remove(supplierCode);
+            ScheduledFuture<?> timer = timers.remove(supplierCode);
+            if (timer != null) timer.cancel(false);
+        }
+        if (batch == null || batch.isEmpty()) return false;
+
+        Supplier s = inventory.findSupplierByCode(supplierCode);
+        String name = (s == null) ? supplierCode : s.getName();
+        sink.accept(new PurchaseProposal(supplierCode, name, new ArrayList<>(batch.values()), Instant.now()));
+        return true;
+    }
+
+    /**
+     * Emit every pending proposal now (e.g. on shutdown).
+     */
+    public void flushAll() {
+        List<String> codes;
+        synchronized (this) {
+            codes = new ArrayList<>(pendingBySupplier.keySet());
+        }
+        for (String code : codes) {
+            flush(code);
+        }
+    }
+
+    public synchronized int getPendingSupplierCount() {
+        return pendingBySupplier.size();
+    }
+
+    /**
+     * Lines that need reordering but have no active supplier.
+     */
+    public synchronized List<PurchaseProposal.Line> getUnassignedLines() {
+        return new ArrayList<>(unassigned.values());
+    }
+
+    /**
+     * Flush what is pending and stop batching: later proposals are emitted
+     * straight away. The scheduler itself is left running.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+        }
+        flushAll();
+    }
+}
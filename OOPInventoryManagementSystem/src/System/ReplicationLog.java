@@ -0,0 +1,271 @@
+package System;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordered log of product mutations of one Inventory, for replication.
+ *
+ * Installed as a ProductIndex ({@link Inventory#addIndex}), so it sees every
+ * add, remove and field change in the order the Inventory applies them,
+ * whoever makes the change. Each entry gets the next log position (1, 2, ...)
+ * and carries the whole product row after the change, which makes applying
+ * an entry idempotent: a replica can apply an entry twice, or apply entries
+ * on top of a snapshot that already contains them, and still converge.
+ *
+ * The log keeps the last {@code capacity} entries in a ring, plus the latest
+ * row of every product for snapshots. A replica that falls further behind
+ * than the ring reaches is caught up with a snapshot instead. The ring starts
+ * small and doubles up to {@code capacity} as entries arrive, so a large
+ * capacity costs nothing until the log is actually that busy.
+ */
+public class ReplicationLog implements ProductIndex {
+
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+    private static final int INITIAL_RING = 1024;
+
+    static final byte OP_UPSERT = 1;
+    static final byte OP_REMOVE = 2;
+
+    private static final long NO_EXPIRY = Long.MIN_VALUE;
+
+    private final int capacity;
+    private Entry[] ring;
+    private final Map<String, Row> latest = new LinkedHashMap<>();
+    private long position;
+
+    public ReplicationLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ReplicationLog(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        this.capacity = capacity;
+        this.ring = new Entry[Math.min(capacity, INITIAL_RING)];
+    }
+
+    /* =========================
+       ProductIndex (capture)
+       ========================= */
+
+    @Override
+    public void onProductAdded(Product product) {
+        append(OP_UPSERT, Row.of(product));
+    }
+
+    @Override
+    public void onProductRemoved(Product product) {
+        append(OP_REMOVE, Row.of(product));
+    }
+
+    @Override
+    public void onProductChanged(Product product, ProductField field, Object oldValue) {
+        append(OP_UPSERT, Row.of(product));
+    }
+
+    private synchronized void append(byte op, Row row) {
+        position++;
+        if (position > ring.length && ring.length < capacity) grow();
+        ring[(int) (position % ring.length)] = new Entry(position, System.currentTimeMillis(), op, row);
+        if (op == OP_REMOVE) {
+            latest.remove(row.key());
+        } else {
+            latest.put(row.key(), row);
+        }
+        notifyAll();
+    }
+
+    // Only called while nothing has been overwritten yet: entries 1..position-1 are all in the ring
+    private void grow() {
+        Entry[] bigger = new Entry[(int) Math.min(capacity, 2L * ring.length)];
+        for (long p = 1; p < position; p++) {
+            bigger[(int) (p % bigger.length)] = ring[(int) (p % ring.length)];
+        }
+        ring = bigger;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /* =========================
+       Reading
+       ========================= */
+
+    /**
+     * Position of the last entry (0 = empty). Use it as a read-your-writes token.
+     */
+    public synchronized long getPosition() {
+        return position;
+    }
+
+    /**
+     * Oldest position still held in the ring.
+     */
+    public synchronized long getFirstRetainedPosition() {
+        return Math.max(1, position - ring.length + 1);
+    }
+
+    /**
+     * Entries after {@code from}, at most {@code max} of them, waiting up to
+     * {@code waitMillis} if there are none yet.
+     *
+     * @return the entries (empty on timeout), or null if {@code from} has
+     *         already left the ring and the caller needs a snapshot
+     */
+    synchronized List<Entry> entriesAfter(long from, int max, long waitMillis) throws InterruptedException {
+        if (from > position) {
+            throw new IllegalArgumentException("Position " + from + " is ahead of the log (" + position + ")");
+        }
+        long deadline = System.currentTimeMillis() + waitMillis;
+        while (from == position) {
+            long left = deadline - System.currentTimeMillis();
+            if (left <= 0) return new ArrayList<>();
+            wait(left);
+        }
+        if (from + 1 < getFirstRetainedPosition()) return null;
+
+        int n = (int) Math.min(max, position - from);
+        List<Entry> result = new ArrayList<>(n);
+        for (long p = from + 1; p <= from + n; p++) {
+            result.add(ring[(int) (p % ring.length)]);
+        }
+        return result;
+    }
+
+    /**
+     * Every live product row as of the returned position.
+     */
+    synchronized Snapshot snapshot() {
+        return new Snapshot(position, System.currentTimeMillis(), new ArrayList<>(latest.values()));
+    }
+
+    /* =========================
+       Records
+       ========================= */
+
+    /**
+     * One product as it was at one point of the log (immutable).
+     */
+    static final class Row {
+        final String sku;
+        final String name;
+        final String category;
+        final double unitPrice;
+        final int quantity;
+        final int minStockLevel;
+        final int maxStockLevel;
+        final long expiryEpochDay; // NO_EXPIRY for non-perishable products
+
+        Row(String sku, String name, String category, double unitPrice,
+            int quantity, int minStockLevel, int maxStockLevel, long expiryEpochDay) {
+            this.sku = sku;
+            this.name = name;
+            this.category = category;
+            this.unitPrice = unitPrice;
+            this.quantity = quantity;
+            this.minStockLevel = minStockLevel;
+            this.maxStockLevel = maxStockLevel;
+            this.expiryEpochDay = expiryEpochDay;
+        }
+
+        static Row of(Product p) {
+            long expiry = (p instanceof PerishableProduct)
+                    ? ((PerishableProduct) p).getExpiryDate().toEpochDay()
+                    : NO_EXPIRY;
+            return new Row(p.getSku(), p.getName(), p.getCategory(), p.getUnitPrice(),
+                    p.getQuantity(), p.getMinStockLevel(), p.getMaxStockLevel(), expiry);
+        }
+
+        String key() {
+            return sku.trim().toUpperCase();
+        }
+
+        boolean isPerishable() {
+            return expiryEpochDay != NO_EXPIRY;
+        }
+
+        Product toProduct() {
+            if (isPerishable()) {
+                return new PerishableProduct(sku, name, category, unitPrice, quantity,
+                        minStockLevel, maxStockLevel, LocalDate.ofEpochDay(expiryEpochDay));
+            }
+            return new Product(sku, name, category, unitPrice, quantity, minStockLevel, maxStockLevel);
+        }
+
+        /**
+         * Overwrite every field of p with this row (p must have the same kind).
+         */
+        void copyTo(Product p) {
+            p.setName(name);
+            p.setCategory(category);
+            p.setUnitPrice(unitPrice);
+            p.setQuantity(quantity);
+            // order the two level updates so min <= max holds in between
+            if (maxStockLevel >= p.getMinStockLevel()) {
+                p.setMaxStockLevel(maxStockLevel);
+                p.setMinStockLevel(minStockLevel);
+            } else {
+                p.setMinStockLevel(minStockLevel);
+                p.setMaxStockLevel(maxStockLevel);
+            }
+            if (p instanceof PerishableProduct) {
+                ((PerishableProduct) p).setExpiryDate(LocalDate.ofEpochDay(expiryEpochDay));
+            }
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeUTF(sku);
+            out.writeUTF(name);
+            out.writeUTF(category);
+            out.writeDouble(unitPrice);
+            out.writeInt(quantity);
+            out.writeInt(minStockLevel);
+            out.writeInt(maxStockLevel);
+            out.writeLong(expiryEpochDay);
+        }
+
+        static Row read(DataInputStream in) throws IOException {
+            return new Row(in.readUTF(), in.readUTF(), in.readUTF(), in.readDouble(),
+                    in.readInt(), in.readInt(), in.readInt(), in.readLong());
+        }
+    }
+
+    /**
+     * One logged mutation.
+     */
+    static final class Entry {
+        final long position;
+        final long timestampMillis;
+        final byte op;
+        final Row row;
+
+        Entry(long position, long timestampMillis, byte op, Row row) {
+            this.position = position;
+            this.timestampMillis = timestampMillis;
+            this.op = op;
+            this.row = row;
+        }
+    }
+
+    /**
+     * All live rows at one log position.
+     */
+    static final class Snapshot {
+        final long position;
+        final long timestampMillis;
+        final List<Row> rows;
+
+        Snapshot(long position, long timestampMillis, List<Row> rows) {
+            this.position = position;
+            this.timestampMillis = timestampMillis;
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package System;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Primary side of log-shipping replication: serves the ReplicationLog of
+ * one Inventory to InventoryReplica processes over a loopback TCP socket.
+ *
+ * Protocol (DataOutputStream framing):
+ *   replica -> primary: int MAGIC, long epoch, long appliedPosition (0, 0 = fresh)
+ *   primary -> replica: a stream of frames, each starting with a type byte
+ *     SNAPSHOT:  long epoch, long position, long timestamp, int rowCount, rows
+ *     ENTRY:     long position, long timestamp, byte op, row
+ *     HEARTBEAT: long primaryPosition, long timestamp
+ *
+ * The epoch is random per primary run. A replica of the same epoch resumes
+ * from its applied position if the log still holds the entries after it;
+ * otherwise (fresh, too far behind, or from another run) it is sent a
+ * snapshot first. A heartbeat follows every batch and is sent every
+ * {@link #HEARTBEAT_MILLIS} when idle, so replicas always know how far
+ * behind they are.
+ *
+ * Writes keep going to the Inventory as usual; {@link #getPosition()} after
+ * a write is the token to pass to {@link InventoryReplica#awaitPosition}.
+ */
+public class ReplicationPrimary implements AutoCloseable {
+
+    static final int MAGIC = 0x494E5652; // "INVR"
+    static final byte FRAME_SNAPSHOT = 'S';
+    static final byte FRAME_ENTRY = 'E';
+    static final byte FRAME_HEARTBEAT = 'H';
+    static final long HEARTBEAT_MILLIS = 100;
+
+    private static final int BATCH = 4096;
+    private static final long ACCEPT_BACKOFF_MIN_MILLIS = 10;
+    private static final long ACCEPT_BACKOFF_MAX_MILLIS = 1_000;
+
+    private final ReplicationLog log;
+    private final long epoch = new Random().nextLong() | 1; // never 0 (= fresh replica)
+    private final List<Socket> connections = new CopyOnWriteArrayList<>();
+    private final AtomicLong snapshotsSent = new AtomicLong();
+    private final AtomicLong acceptFailures = new AtomicLong();
+    private ServerSocket server;
+    private Thread acceptor;
+    private volatile boolean closed;
+
+    public ReplicationPrimary(Inventory inventory) {
+        this(inventory, new ReplicationLog());
+    }
+
+    /**
+     * @param logCapacity entries kept for replicas to catch up from before they need a snapshot
+     */
+    public ReplicationPrimary(Inventory inventory, int logCapacity) {
+        this(inventory, new ReplicationLog(logCapacity));
+    }
+
+    /**
+     * Installs the log on the inventory; existing products become its first entries.
+     */
+    public ReplicationPrimary(Inventory inventory, ReplicationLog log) {
+        if (inventory == null) throw new IllegalArgumentException("Inventory cannot be null");
+        if (log == null) throw new IllegalArgumentException("Replication log cannot be null");
+        this.log = log;
+        inventory.addIndex(log);
+    }
+
+    /**
+     * Listen on the loopback interface (port 0 = any free port).
+     */
+    public synchronized void start(int port) {
+        if (server != null) throw new IllegalStateException("Primary is already started");
+        try {
+            server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to listen on port " + port, e);
+        }
+        acceptor = new Thread(this::acceptLoop, "replication-primary");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public synchronized int getPort() {
+        if (server == null) throw new IllegalStateException("Primary is not started");
+        return server.getLocalPort();
+    }
+
+    /**
+     * Log position of the latest write (read-your-writes token).
+     */
+    public long getPosition() {
+        return log.getPosition();
+    }
+
+    public ReplicationLog getLog() {
+        return log;
+    }
+
+    public int getReplicaCount() {
+        return connections.size();
+    }
+
+    public long getSnapshotsSent() {
+        return snapshotsSent.get();
+    }
+
+    /**
+     * Failed accepts of replica connections (the primary backs off and keeps listening).
+     */
+    public long getAcceptFailureCount() {
+        return acceptFailures.get();
+    }
+
+    private void acceptLoop() {
+        long backoff = ACCEPT_BACKOFF_MIN_MILLIS;
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                Thread t = new Thread(() -> serve(socket), "replication-sender-" + socket.getPort());
+                t.setDaemon(true);
+                t.start();
+                backoff = ACCEPT_BACKOFF_MIN_MILLIS;
+            } catch (IOException e) {
+                if (closed) return;
+                // e.g. out of file descriptors: retrying at once would only spin
+                acceptFailures.incrementAndGet();
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                backoff = Math.min(2 * backoff, ACCEPT_BACKOFF_MAX_MILLIS);
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024))) {
+
+            if (in.readInt() != MAGIC) return;
+            long replicaEpoch = in.readLong();
+            long sent = in.readLong();
+            if (replicaEpoch != epoch || sent < 0 || sent > log.getPosition()) {
+                sent = sendSnapshot(out);
+            }
+
+            while (!closed) {
+                List<ReplicationLog.Entry> entries = log.entriesAfter(sent, BATCH, HEARTBEAT_MILLIS);
+                if (entries == null) {
+                    sent = sendSnapshot(out);
+                    continue;
+                }
+                for (ReplicationLog.Entry e : entries) {
+                    out.writeByte(FRAME_ENTRY);
+                    out.writeLong(e.position);
+                    out.writeLong(e.timestampMillis);
+                    out.writeByte(e.op);
+                    e.row.write(out);
+                    sent = e.position;
+                }
+                out.writeByte(FRAME_HEARTBEAT);
+                out.writeLong(log.getPosition());
+                out.writeLong(System.currentTimeMillis());
+                out.flush();
+            }
+        } catch (IOException e) {
+            // replica went away; it reconnects with its own position
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connections.remove(socket);
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private long sendSnapshot(DataOutputStream out) throws IOException {
+        ReplicationLog.Snapshot snapshot = log.snapshot();
+        out.writeByte(FRAME_SNAPSHOT);
+        out.writeLong(epoch);
+        out.writeLong(snapshot.position);
+        out.writeLong(snapshot.timestampMillis);
+        out.writeInt(snapshot.rows.size());
+        for (ReplicationLog.Row row : snapshot.rows) {
+            row.write(out);
+        }
+        out.flush();
+        snapshotsSent.incrementAndGet();
+        return snapshot.position;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        try {
+            if (server != null) server.close();
+        } catch (IOException ignored) {
+        }
+        for (Socket s : connections) {
+            try {
+                s.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Stand-alone primary for multi-process testing:
+     * {@code java System.ReplicationPrimary <port> [products] [writesPerSecond]}
+     * Generates a catalog, then applies random stock changes at the given rate.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 1) {
+            System.out.println("Usage: ReplicationPrimary <port> [products] [writesPerSecond]");
+            return;
+        }
+        int port = Integer.parseInt(args[0]);
+        int products = (args.length > 1) ? Integer.parseInt(args[1]) : 10_000;
+        int rate = (args.length > 2) ? Integer.parseInt(args[2]) : 1_000;
+
+        Inventory inventory = new Inventory();
+        new CatalogGenerator(42, products).populate(inventory);
+        StockManager stock = new StockManager(inventory);
+
+        ReplicationPrimary primary = new ReplicationPrimary(inventory);
+        primary.start(port);
+        System.out.println("Primary listening on 127.0.0.1:" + primary.getPort() + ", " + products + " products");
+
+        Random rnd = new Random();
+        long next = System.nanoTime();
+        long lastReport = System.currentTimeMillis();
+        while (true) {
+            String sku = CatalogGenerator.skuOf(rnd.nextInt(products));
+            if (rnd.nextBoolean()) {
+                stock.increaseStock(sku, 1 + rnd.nextInt(10));
+            } else if (stock.getStock(sku) > 0) {
+                stock.decreaseStock(sku, 1);
+            }
+
+            next += 1_000_000_000L / Math.max(1, rate);
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000));
+
+            if (System.currentTimeMillis() - lastReport >= 1000) {
+                lastReport = System.currentTimeMillis();
+                System.out.println("position=" + primary.getPosition() + " replicas=" + primary.getReplicaCount());
+            }
+        }
+    }
+}
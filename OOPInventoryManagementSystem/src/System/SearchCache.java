@@ -0,0 +1,230 @@
+package System;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of keyword search results (Inventory.searchByName / searchByCategory).
+ *
+ * Eviction is size-aware LRU: each entry weighs 1 + its result size, and the
+ * least recently used entries go once the total passes maxWeight.
+ *
+ * Invalidation is precise. When a product is added or removed, only the
+ * entries whose keyword matches that product are dropped; a rename or
+ * category change drops the entries matching the old or the new value.
+ * Every other entry stays valid, because its result could not have changed.
+ * A keyword matches when it is a substring of the value, so the affected
+ * entries are found by looking up the value's substrings (up to the longest
+ * cached keyword) rather than by walking the cache: the cost depends on the
+ * length of the name, not on the number of entries.
+ *
+ * Thread-safe: all methods lock the cache, but a miss runs its loader
+ * outside the lock. A loaded result is only kept if no invalidation
+ * happened while it was being computed.
+ */
+public class SearchCache implements ProductIndex {
+
+    public enum Kind { NAME, CATEGORY }
+
+    private static final class Entry {
+        final Kind kind;
+        final String keyword; // trimmed, lower case
+        final List<Product> result;
+        final long weight;
+
+        Entry(Kind kind, String keyword, List<Product> result) {
+            this.kind = kind;
+            this.keyword = keyword;
+            this.result = Collections.unmodifiableList(result);
+            this.weight = 1L + result.size();
+        }
+    }
+
+    private final long maxWeight;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // access order
+    private long weight;
+    private long generation; // bumped by every invalidation
+
+    // cached keywords per kind by length, to bound the substring lookups
+    private final int[][] keywordLengths = new int[Kind.values().length][16];
+    private final int[] maxKeywordLength = new int[Kind.values().length];
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * @param maxWeight upper bound on the sum of (1 + result size) over all entries
+     */
+    public SearchCache(long maxWeight) {
+        if (maxWeight <= 0) throw new IllegalArgumentException("Max weight must be positive");
+        this.maxWeight = maxWeight;
+    }
+
+    private static String key(Kind kind, String keyword) {
+        return kind.name() + ':' + keyword;
+    }
+
+    /**
+     * Cached result for the keyword, or the loader's result (which is then cached).
+     * The returned list is read-only.
+     *
+     * @param keyword trimmed, lower-case search keyword
+     */
+    public List<Product> get(Kind kind, String keyword, Supplier<List<Product>> loader) {
+        String key = key(kind, keyword);
+        long seen;
+        synchronized (this) {
+            Entry e = entries.get(key);
+            if (e != null) {
+                hits++;
+                return e.result;
+            }
+            misses++;
+            seen = generation;
+        }
+
+        Entry loaded = new Entry(kind, keyword, loader.get());
+        if (loaded.weight > maxWeight) {
+            return loaded.result; // too large to keep
+        }
+        synchronized (this) {
+            // skip it if a product changed meanwhile (it may be stale) or another thread got there first
+            if (generation == seen && !entries.containsKey(key)) {
+                entries.put(key, loaded);
+                weight += loaded.weight;
+                countKeyword(kind, keyword.length(), 1);
+                evictIfNeeded();
+            }
+        }
+        return loaded.result;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (weight > maxWeight && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            forget(eldest);
+            evictions++;
+        }
+    }
+
+    private void forget(Entry e) {
+        weight -= e.weight;
+        countKeyword(e.kind, e.keyword.length(), -1);
+    }
+
+    private void countKeyword(Kind kind, int length, int delta) {
+        int k = kind.ordinal();
+        int[] counts = keywordLengths[k];
+        if (length >= counts.length) {
+            counts = keywordLengths[k] = Arrays.copyOf(counts, Math.max(length + 1, counts.length * 2));
+        }
+        counts[length] += delta;
+        if (delta > 0) {
+            maxKeywordLength[k] = Math.max(maxKeywordLength[k], length);
+        } else {
+            while (maxKeywordLength[k] > 0 && counts[maxKeywordLength[k]] == 0) maxKeywordLength[k]--;
+        }
+    }
+
+    /* =========================
+       Invalidation
+       ========================= */
+
+    @Override
+    public void onProductAdded(Product product) {
+        invalidate(product.getName(), product.getCategory());
+    }
+
+    @Override
+    public void onProductRemoved(Product product) {
+        invalidate(product.getName(), product.getCategory());
+    }
+
+    @Override
+    public void onProductChanged(Product product, ProductField field, Object oldValue) {
+        if (field == ProductField.NAME) {
+            invalidate(Kind.NAME, (String) oldValue, product.getName());
+        } else if (field == ProductField.CATEGORY) {
+            invalidate(Kind.CATEGORY, (String) oldValue, product.getCategory());
+        }
+    }
+
+    private synchronized void invalidate(String name, String category) {
+        generation++;
+        invalidate(Kind.NAME, name);
+        invalidate(Kind.CATEGORY, category);
+    }
+
+    private synchronized void invalidate(Kind kind, String oldValue, String newValue) {
+        generation++;
+        invalidate(kind, oldValue);
+        invalidate(kind, newValue);
+    }
+
+    /**
+     * Drop the entries of this kind whose keyword occurs in the value.
+     */
+    private void invalidate(Kind kind, String value) {
+        if (value == null || entries.isEmpty()) return;
+        String v = value.toLowerCase();
+        int maxLength = Math.min(maxKeywordLength[kind.ordinal()], v.length());
+        for (int length = 1; length <= maxLength; length++) {
+            if (keywordLengths[kind.ordinal()][length] == 0) continue;
+            for (int start = 0; start + length <= v.length(); start++) {
+                // remove() does not count as an access, so LRU order is untouched
+                Entry e = entries.remove(key(kind, v.substring(start, start + length)));
+                if (e != null) {
+                    forget(e);
+                    invalidations++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop every entry (statistics are kept).
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+        generation++;
+        for (int k = 0; k < keywordLengths.length; k++) {
+            Arrays.fill(keywordLengths[k], 0);
+            maxKeywordLength[k] = 0;
+        }
+    }
+
+    /* =========================
+       Statistics
+       ========================= */
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getWeight() { return weight; }
+    public long getMaxWeight() { return maxWeight; }
+    public synchronized long getHitCount() { return hits; }
+    public synchronized long getMissCount() { return misses; }
+    public synchronized long getEvictionCount() { return evictions; }
+    public synchronized long getInvalidationCount() { return invalidations; }
+
+    /**
+     * Hits / (hits + misses), or 0 before the first lookup.
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return (total == 0) ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("SearchCache{entries=%d, weight=%d/%d, hitRate=%.1f%%, evictions=%d, invalidations=%d}",
+                entries.size(), weight, maxWeight, getHitRate() * 100, evictions, invalidations);
+    }
+}
@@ -0,0 +1,337 @@
+package System;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Inventory partitioned across N shards by hash of the normalized SKU.
+ *
+ * Each shard is a plain {@link Inventory} (its own product map, indexes,
+ * search cache and value aggregates) owned by one single-threaded executor.
+ * Every operation on a shard runs on that thread, so shards need no locks
+ * and never contend with each other:
+ *
+ * - single-SKU operations are routed to one shard;
+ * - catalog-wide reads (low stock, totals, search, queries) are sent to
+ *   every shard in parallel and the partial results merged.
+ *
+ * The *Async variants return as soon as the operation is queued, which lets
+ * a caller keep every shard busy at once.
+ *
+ * Products handed out by this class still belong to their shard: change them
+ * through this class, not through the Product setters.
+ * Suppliers are not sharded; keep them in a separate Inventory if needed.
+ */
+public class ShardedInventory implements StockOperations, AutoCloseable {
+
+    private final Shard[] shards;
+    private volatile boolean closed;
+
+    /**
+     * One shard per available processor.
+     */
+    public ShardedInventory() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ShardedInventory(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Index of the shard that owns the SKU.
+     */
+    public int shardOf(String sku) {
+        if (sku == null || sku.isBlank()) {
+            throw new IllegalArgumentException("SKU cannot be null or empty");
+        }
+        int h = sku.trim().toUpperCase().hashCode();
+        h ^= (h >>> 16); // spread the high bits, as HashMap does
+        return Math.floorMod(h, shards.length);
+    }
+
+    private Shard shardFor(String sku) {
+        return shards[shardOf(sku)];
+    }
+
+    /* =========================
+       Single-SKU operations
+       ========================= */
+
+    /**
+     * @return true if added, false if null or duplicate SKU
+     */
+    public boolean addProduct(Product product) {
+        if (product == null || product.getSku() == null || product.getSku().isBlank()) return false;
+        return shardFor(product.getSku()).call(inv -> inv.addProduct(product));
+    }
+
+    public Product findBySku(String sku) {
+        if (sku == null || sku.isBlank()) return null;
+        return shardFor(sku).call(inv -> inv.findBySku(sku));
+    }
+
+    public boolean removeBySku(String sku) {
+        if (sku == null || sku.isBlank()) return false;
+        return shardFor(sku).call(inv -> inv.removeBySku(sku));
+    }
+
+    public boolean hasProductBySku(String sku) {
+        if (sku == null || sku.isBlank()) return false;
+        return shardFor(sku).call(inv -> inv.hasProductBySku(sku));
+    }
+
+    public boolean updateProductPrice(String sku, double newPrice) {
+        if (sku == null || sku.isBlank()) return false;
+        return shardFor(sku).call(inv -> inv.updateProductPrice(sku, newPrice));
+    }
+
+    public CompletableFuture<Boolean> increaseStockAsync(String sku, int amount) {
+        return shardFor(sku).submit(inv -> inv.increaseStock(sku, amount));
+    }
+
+    public CompletableFuture<Boolean> decreaseStockAsync(String sku, int amount) {
+        return shardFor(sku).submit(inv -> inv.decreaseStock(sku, amount));
+    }
+
+    /**
+     * Run any operation against the shard that owns the SKU, on that shard's thread.
+     */
+    public <T> CompletableFuture<T> submit(String sku, Function<Inventory, T> operation) {
+        if (operation == null) throw new IllegalArgumentException("Operation cannot be null");
+        return shardFor(sku).submit(operation);
+    }
+
+    /* =========================
+       StockOperations
+       ========================= */
+
+    @Override
+    public void addProduct(String sku, int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity cannot be negative");
+        }
+        Boolean ok = shardFor(sku).call(inv -> {
+            Product p = inv.findBySku(sku);
+            if (p == null) return false;
+            p.increaseQuantity(quantity);
+            return true;
+        });
+        if (!ok) {
+            throw new IllegalStateException("Product not found in inventory: " + sku.trim().toUpperCase());
+        }
+    }
+
+    @Override
+    public void increaseStock(String sku, int quantity) {
+        if (!shardFor(sku).call(inv -> inv.increaseStock(sku, quantity))) {
+            throw new IllegalStateException("Failed to increase stock for: " + sku.trim().toUpperCase());
+        }
+    }
+
+    @Override
+    public void decreaseStock(String sku, int quantity) {
+        if (!shardFor(sku).call(inv -> inv.decreaseStock(sku, quantity))) {
+            throw new IllegalStateException("Insufficient stock for product: " + sku.trim().toUpperCase());
+        }
+    }
+
+    @Override
+    public int getStock(String sku) {
+        Integer qty = shardFor(sku).call(inv -> {
+            Product p = inv.findBySku(sku);
+            return (p == null) ? null : p.getQuantity();
+        });
+        if (qty == null) {
+            throw new IllegalStateException("Product not found in inventory: " + sku.trim().toUpperCase());
+        }
+        return qty;
+    }
+
+    @Override
+    public boolean hasProduct(String sku) {
+        return hasProductBySku(sku);
+    }
+
+    /* =========================
+       Catalog-wide (scatter/gather)
+       ========================= */
+
+    public List<Product> getLowStockProducts() {
+        return gatherLists(Inventory::getLowStockProducts);
+    }
+
+    public List<Product> getOutOfStockProducts() {
+        return gatherLists(Inventory::getOutOfStockProducts);
+    }
+
+    public double getTotalInventoryValue() {
+        double total = 0;
+        for (Double v : scatter(Inventory::getTotalInventoryValue)) {
+            total += v;
+        }
+        return total;
+    }
+
+    public double getCategoryValue(String category) {
+        double total = 0;
+        for (Double v : scatter(inv -> inv.getCategoryValue(category))) {
+            total += v;
+        }
+        return total;
+    }
+
+    public List<Product> searchByName(String keyword) {
+        return gatherLists(inv -> inv.searchByName(keyword));
+    }
+
+    public List<Product> searchByCategory(String category) {
+        return gatherLists(inv -> inv.searchByCategory(category));
+    }
+
+    /**
+     * Runs the query on every shard; ordering and limit are re-applied to the merged result.
+     */
+    public List<Product> query(ProductQuery query) {
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+
+        List<Product> result = gatherLists(inv -> inv.query(query));
+        if (query.getOrder() != null) {
+            result.sort(query.getOrder());
+        }
+        if (result.size() > query.getLimit()) {
+            return new ArrayList<>(result.subList(0, query.getLimit()));
+        }
+        return result;
+    }
+
+    public List<Product> getAllProducts() {
+        return gatherLists(Inventory::getAllProducts);
+    }
+
+    public int size() {
+        int total = 0;
+        for (Integer n : scatter(Inventory::size)) {
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * Products per shard (to check the SKU hash spreads evenly).
+     */
+    public int[] getShardSizes() {
+        List<Integer> sizes = scatter(Inventory::size);
+        int[] result = new int[sizes.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = sizes.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Run the operation on every shard in parallel; results in shard order.
+     */
+    public <T> List<T> scatter(Function<Inventory, T> operation) {
+        List<CompletableFuture<T>> pending = new ArrayList<>(shards.length);
+        for (Shard s : shards) {
+            pending.add(s.submit(operation));
+        }
+        List<T> results = new ArrayList<>(shards.length);
+        for (CompletableFuture<T> f : pending) {
+            results.add(join(f));
+        }
+        return results;
+    }
+
+    private List<Product> gatherLists(Function<Inventory, List<Product>> operation) {
+        // Copy on the shard thread: the shard may change its own lists afterwards
+        List<List<Product>> parts = scatter(inv -> new ArrayList<>(operation.apply(inv)));
+        int n = 0;
+        for (List<Product> part : parts) n += part.size();
+
+        List<Product> result = new ArrayList<>(n);
+        for (List<Product> part : parts) {
+            result.addAll(part);
+        }
+        return result;
+    }
+
+    /**
+     * Stop the shard threads after already queued operations have run.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        for (Shard s : shards) {
+            s.executor.shutdown();
+        }
+        for (Shard s : shards) {
+            try {
+                s.executor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RuntimeException("Shard operation failed", cause);
+        }
+    }
+
+    /* =========================
+       Shard
+       ========================= */
+
+    private final class Shard {
+
+        private final Inventory inventory = new Inventory();
+        private final ExecutorService executor;
+
+        Shard(int index) {
+            this.executor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "inventory-shard-" + index);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        <T> CompletableFuture<T> submit(Function<Inventory, T> operation) {
+            if (closed) throw new IllegalStateException("Sharded inventory is closed");
+            return CompletableFuture.supplyAsync(() -> operation.apply(inventory), executor);
+        }
+
+        <T> T call(Function<Inventory, T> operation) {
+            return join(submit(operation));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package System;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy-hitter summary with a fixed number of counters.
+ *
+ * Keeps at most {@code capacity} SKUs. A new SKU arriving when the summary
+ * is full replaces the smallest counter and inherits its count as error
+ * bound, so any SKU whose true count exceeds total/capacity is guaranteed
+ * to be present. Counters are kept sorted, so updates are O(log capacity)
+ * and reading the top K is O(K).
+ *
+ * Not thread-safe; HeavyHitterTracker guards it.
+ */
+public class SpaceSavingSummary {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final TreeSet<Counter> ordered; // ascending by count, then SKU
+    private long total;
+
+    public SpaceSavingSummary(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        this.capacity = capacity;
+        this.counters = new HashMap<>();
+        this.ordered = new TreeSet<>((a, b) -> {
+            int c = Long.compare(a.count, b.count);
+            return (c != 0) ? c : a.sku.compareTo(b.sku);
+        });
+    }
+
+    public void offer(String sku, long amount) {
+        if (sku == null || amount <= 0) return;
+        total += amount;
+
+        Counter c = counters.get(sku);
+        if (c != null) {
+            ordered.remove(c);
+            c.count += amount;
+            ordered.add(c);
+            return;
+        }
+
+        if (counters.size() < capacity) {
+            c = new Counter(sku, amount, 0);
+        } else {
+            Counter min = ordered.pollFirst();
+            counters.remove(min.sku);
+            c = new Counter(sku, min.count + amount, min.count);
+        }
+        counters.put(sku, c);
+        ordered.add(c);
+    }
+
+    /**
+     * Add another summary's counters into this one, keeping the largest.
+     *
+     * A SKU missing from a full summary may still have been counted there up
+     * to that summary's smallest counter, so it is credited that minimum as
+     * both count and error. This keeps every merged count an upper bound
+     * with {@code count - error} a lower bound, as for a single summary.
+     */
+    public void merge(SpaceSavingSummary other) {
+        long minThis = minCount();
+        long minOther = other.minCount();
+
+        for (Counter c : counters.values()) {
+            if (!other.counters.containsKey(c.sku)) {
+                c.count += minOther;
+                c.error += minOther;
+            }
+        }
+        for (Counter o : other.counters.values()) {
+            Counter c = counters.get(o.sku);
+            if (c != null) {
+                c.count += o.count;
+                c.error += o.error;
+            } else {
+                counters.put(o.sku, new Counter(o.sku, o.count + minThis, o.error + minThis));
+            }
+        }
+        total += other.total;
+
+        // counts changed in place: re-sort once
+        ordered.clear();
+        ordered.addAll(counters.values());
+
+        while (counters.size() > capacity) {
+            counters.remove(ordered.pollFirst().sku);
+        }
+    }
+
+    /**
+     * The {@code k} largest counters, largest first.
+     */
+    public List<Entry> top(int k) {
+        List<Entry> result = new ArrayList<>(Math.min(k, counters.size()));
+        Iterator<Counter> it = ordered.descendingIterator();
+        while (it.hasNext() && result.size() < k) {
+            Counter c = it.next();
+            result.add(new Entry(c.sku, c.count, c.error));
+        }
+        return result;
+    }
+
+    // Most a SKU without a counter can have been seen (0 until the summary is full)
+    private long minCount() {
+        return (counters.size() < capacity) ? 0 : ordered.first().count;
+    }
+
+    public void clear() {
+        counters.clear();
+        ordered.clear();
+        total = 0;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private static final class Counter {
+        final String sku;
+        long count;
+        long error;
+
+        Counter(String sku, long count, long error) {
+            this.sku = sku;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    /**
+     * One heavy hitter: estimated count and maximum over-estimation.
+     */
+    public static final class Entry {
+        private final String sku;
+        private final long count;
+        private final long error;
+
+        Entry(String sku, long count, long error) {
+            this.sku = sku;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getSku() { return sku; }
+        public long getCount() { return count; }
+        public long getError() { return error; }
+
+        /**
+         * Lower bound of the true count.
+         */
+        public long getGuaranteedCount() { return count - error; }
+
+        @Override
+        public String toString() {
+            return sku + "=" + count + (error > 0 ? " (+/-" + error + ")" : "");
+        }
+    }
+}
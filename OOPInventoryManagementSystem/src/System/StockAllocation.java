@@ -0,0 +1,26 @@
+package System;
+
+/**
+ * Units of one order line taken from one location.
+ */
+public final class StockAllocation {
+
+    private final String sku;
+    private final String location;
+    private final int quantity;
+
+    public StockAllocation(String sku, String location, int quantity) {
+        this.sku = sku;
+        this.location = location;
+        this.quantity = quantity;
+    }
+
+    public String getSku() { return sku; }
+    public String getLocation() { return location; }
+    public int getQuantity() { return quantity; }
+
+    @Override
+    public String toString() {
+        return sku + " x" + quantity + " from " + location;
+    }
+}
@@ -0,0 +1,60 @@
+package System;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for one StockManager increase or decrease.
+ *
+ * Only calls slower than the threshold are committed (override with
+ * {@code -XX:StartFlightRecording:settings=...} or in JMC). When the event
+ * is disabled, begin/end/shouldCommit are intrinsics that the JIT reduces
+ * to a flag check, and the event object is never escaped.
+ */
+@Name("oopinventory.StockChange")
+@Label("Stock Change")
+@Category({"Inventory", "Stock"})
+@Description("Stock increase or decrease on one SKU")
+@Threshold("1 ms")
+@StackTrace(false)
+class StockChangeEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("SKU")
+    String sku;
+
+    @Label("Amount")
+    int amount;
+
+    @Label("Quantity Before")
+    int before;
+
+    @Label("Quantity After")
+    int after;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * End the event and commit it if enabled and over the threshold.
+     */
+    void finish(String operation, String sku, int amount, int before, int after, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.sku = sku;
+            this.amount = amount;
+            this.before = before;
+            this.after = after;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package System;
+
+/**
+ * Notified by StockManager after a product's quantity changed.
+ * Called inside StockManager's lock, so implementations should be quick.
+ *
+ * One operation may report several movements: a restock that also fills
+ * backorders reports the receipt and then one ORDER movement per filled
+ * line; expired lots are reported as EXPIRY before the change that found them.
+ */
+public interface StockListener {
+
+    /**
+     * @param product the product whose stock changed
+     * @param before  quantity before the change
+     * @param after   quantity after the change
+     */
+    void onStockChanged(Product product, int before, int after);
+
+    /**
+     * Same change with its cause. StockManager calls this one; the default
+     * forwards to {@link #onStockChanged(Product, int, int)}.
+     *
+     * @param reason  why the quantity changed
+     * @param orderId the order behind an ORDER movement, otherwise null
+     */
+    default void onStockChanged(Product product, int before, int after, MovementReason reason, String orderId) {
+        onStockChanged(product, before, after);
+    }
+}
@@ -0,0 +1,59 @@
+package System;
+
+import java.time.LocalDate;
+
+/**
+ * A received batch of one SKU sharing a single expiry date.
+ */
+public class StockLot {
+
+    private final String lotId;
+    private final String sku;
+    private final LocalDate expiryDate;
+    private final int receivedQuantity;
+    private int quantity;
+
+    public StockLot(String lotId, String sku, LocalDate expiryDate, int quantity) {
+        if (lotId == null || lotId.isBlank()) throw new IllegalArgumentException("Lot ID cannot be empty");
+        if (sku == null || sku.isBlank()) throw new IllegalArgumentException("SKU cannot be empty");
+        if (expiryDate == null) throw new IllegalArgumentException("Expiry date cannot be null");
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be positive");
+
+        this.lotId = lotId.trim();
+        this.sku = sku.trim().toUpperCase();
+        this.expiryDate = expiryDate;
+        this.receivedQuantity = quantity;
+        this.quantity = quantity;
+    }
+
+    public String getLotId() { return lotId; }
+    public String getSku() { return sku; }
+    public LocalDate getExpiryDate() { return expiryDate; }
+    public int getReceivedQuantity() { return receivedQuantity; }
+    public int getQuantity() { return quantity; }
+
+    public boolean isExpired(LocalDate today) {
+        return expiryDate.isBefore(today);
+    }
+
+    /**
+     * Take up to {@code amount} units from this lot.
+     *
+     * @return units actually taken
+     */
+    int take(int amount) {
+        int taken = Math.min(amount, quantity);
+        quantity -= taken;
+        return taken;
+    }
+
+    @Override
+    public String toString() {
+        return "StockLot{" +
+                "lotId='" + lotId + '\'' +
+                ", sku='" + sku + '\'' +
+                ", expiryDate=" + expiryDate +
+                ", quantity=" + quantity +
+                '}';
+    }
+}
@@ -1,8 +1,15 @@
 package System;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public class StockManager implements StockOperations {
 
     private final Inventory inventory;
+    private BackorderBook backorderBook; // optional, enables backorder mode
+    private LotTracker lotTracker;       // optional, enables FEFO lot allocation
+    private final List<StockListener> listeners = new CopyOnWriteArrayList<>();
 
     public StockManager(Inventory inventory) {
         if (inventory == null) {
@@ -18,8 +25,62 @@ public class StockManager implements StockOperations {
         return sku.trim().toUpperCase();
     }
 
+    public void addStockListener(StockListener listener) {
+        if (listener != null) listeners.add(listener);
+    }
+
+    public void removeStockListener(StockListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Enable backorder mode: restocks will serve waiting lines first.
+     */
+    public synchronized void setBackorderBook(BackorderBook backorderBook) {
+        this.backorderBook = backorderBook;
+    }
+
+    public synchronized BackorderBook getBackorderBook() {
+        return backorderBook;
+    }
+
+    /**
+     * Enable lot tracking: decreases consume lots first-expiring-first-out
+     * and expired lots are written off from available stock.
+     */
+    public synchronized void setLotTracker(LotTracker lotTracker) {
+        this.lotTracker = lotTracker;
+    }
+
+    public synchronized LotTracker getLotTracker() {
+        return lotTracker;
+    }
+
+    /**
+     * Receive a lot of a product with its own expiry date.
+     * Adds the units to the product's stock (then serves backorders).
+     */
+    public synchronized StockLot receiveLot(String sku, String lotId, LocalDate expiryDate, int quantity) {
+        String key = normSku(sku);
+        if (lotTracker == null) {
+            throw new IllegalStateException("Lot tracking is not enabled");
+        }
+
+        Product p = inventory.findBySku(key);
+        if (p == null) {
+            throw new IllegalStateException("Product not found in inventory: " + key);
+        }
+
+        int before = p.getQuantity();
+        StockLot lot = lotTracker.receive(key, lotId, expiryDate, quantity);
+        p.increaseQuantity(quantity);
+        fireStockChanged(p, before, MovementReason.RECEIPT, null);
+        drainBackorders(key, p);
+        return lot;
+    }
+
     @Override
-    public void addProduct(String sku, int quantity) {
+    public synchronized void addProduct(String sku, int quantity) {
         String key = normSku(sku);
         if (quantity < 0) {
             throw new IllegalArgumentException("Quantity cannot be negative");
@@ -30,6 +91,8 @@ public class StockManager implements StockOperations {
             throw new IllegalStateException("Product not found in inventory: " + key);
         }
 
+        int before = p.getQuantity();
+
         // Safer: initialize by setting only if current is 0, otherwise increase
         // (prevents accidental overwrite)
         if (p.getQuantity() == 0) {
@@ -37,50 +100,209 @@ public class StockManager implements StockOperations {
         } else {
             p.increaseQuantity(quantity);
         }
+        fireStockChanged(p, before, MovementReason.RECEIPT, null);
+        drainBackorders(key, p);
     }
 
     /**
      * Optional helper: explicitly overwrite stock quantity (use carefully).
      */
-    public void setStock(String sku, int quantity) {
+    public synchronized void setStock(String sku, int quantity) {
         String key = normSku(sku);
         if (quantity < 0) throw new IllegalArgumentException("Quantity cannot be negative");
 
         Product p = inventory.findBySku(key);
         if (p == null) throw new IllegalStateException("Product not found in inventory: " + key);
 
+        int before = p.getQuantity();
         p.setQuantity(quantity);
+        trimLots(key, p);
+        fireStockChanged(p, before, MovementReason.ADJUSTMENT, null);
     }
 
     @Override
-    public void increaseStock(String sku, int quantity) {
+    public synchronized void increaseStock(String sku, int quantity) {
+        StockChangeEvent event = new StockChangeEvent();
+        event.begin();
         String key = normSku(sku);
+        Product p = inventory.findBySku(key);
+        int before = (p == null) ? 0 : p.getQuantity();
         if (!inventory.increaseStock(key, quantity)) {
+            event.finish("increase", key, quantity, before, before, false);
             throw new IllegalStateException("Failed to increase stock for: " + key);
         }
+        fireStockChanged(p, before, MovementReason.RECEIPT, null);
+        drainBackorders(key, p);
+        event.finish("increase", key, quantity, before, p.getQuantity(), true);
     }
 
     @Override
-    public void decreaseStock(String sku, int quantity) {
+    public synchronized void decreaseStock(String sku, int quantity) {
+        decreaseStock(sku, quantity, null);
+    }
+
+    /**
+     * Decrease stock. With an order id this is an order line and is reported
+     * as an ORDER movement; without one it is a manual ADJUSTMENT.
+     */
+    @Override
+    public synchronized void decreaseStock(String sku, int quantity, String orderId) {
+        StockChangeEvent event = new StockChangeEvent();
+        event.begin();
         String key = normSku(sku);
-        boolean ok = inventory.decreaseStock(key, quantity);
-        if (!ok) {
+        Product p = inventory.findBySku(key);
+        int before = (p == null) ? 0 : p.getQuantity();
+        MovementReason reason = (orderId == null) ? MovementReason.ADJUSTMENT : MovementReason.ORDER;
+        if (p == null || !deduct(key, p, quantity, reason, orderId)) {
+            event.finish("decrease", key, quantity, before, (p == null) ? 0 : p.getQuantity(), false);
             throw new IllegalStateException("Insufficient stock for product: " + key);
         }
+        event.finish("decrease", key, quantity, before, p.getQuantity(), true);
+    }
+
+    /**
+     * Take what is available for an order line and backorder the rest.
+     * If other lines are already waiting for this SKU, the whole line
+     * queues behind them so earlier demand is served first.
+     *
+     * @return the parked backorder, or null if the line was served in full
+     */
+    public synchronized Backorder reserveOrBackorder(String sku, int quantity, String orderId) {
+        String key = normSku(sku);
+        if (backorderBook == null) {
+            throw new IllegalStateException("Backorder mode is not enabled");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+
+        Product p = inventory.findBySku(key);
+        if (p == null) {
+            throw new IllegalStateException("Product not found in inventory: " + key);
+        }
+
+        expireLots(key, p);
+
+        int allocated = 0;
+        if (!backorderBook.hasWaiting(key)) {
+            allocated = Math.min(quantity, p.getQuantity());
+            if (allocated > 0) {
+                deduct(key, p, allocated, MovementReason.ORDER, orderId);
+            }
+        }
+        if (allocated < quantity) {
+            return backorderBook.park(orderId, key, quantity - allocated);
+        }
+        return null;
+    }
+
+    // Runs inside the caller's lock so restock and allocation are one step
+    private void drainBackorders(String key, Product p) {
+        if (backorderBook != null && p != null) {
+            expireLots(key, p);
+            // each filled line is deducted (and reported) under its own order id
+            backorderBook.fulfil(key, p.getQuantity(), (backorder, units) -> {
+                if (!deduct(key, p, units, MovementReason.ORDER, backorder.getOrderId())) {
+                    throw new IllegalStateException("Backorder fill exceeds stock for product: " + key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Single path for taking units out of stock (lots first, if tracked),
+     * reported to listeners with the given reason.
+     */
+    private boolean deduct(String key, Product p, int quantity, MovementReason reason, String orderId) {
+        expireLots(key, p);
+        if (quantity <= 0 || quantity > p.getQuantity()) return false;
+
+        int before = p.getQuantity();
+        if (lotTracker != null) {
+            // Trimmed lots never hold more than is on hand, so whatever they
+            // cannot cover is stock received without a lot.
+            trimLots(key, p);
+            lotTracker.allocate(key, quantity);
+        }
+        if (!p.decreaseQuantity(quantity)) {
+            throw new IllegalStateException("Cannot decrease stock for product: " + key);
+        }
+        trimLots(key, p);
+        fireStockChanged(p, before, reason, orderId);
+        return true;
+    }
+
+    /**
+     * Lots never hold more than is on hand: after a manual adjustment took
+     * units away without naming lots, take them from the lots FEFO too.
+     */
+    private void trimLots(String key, Product p) {
+        if (lotTracker == null) return;
+
+        int excess = lotTracker.getLotQuantity(key) - p.getQuantity();
+        if (excess > 0 && lotTracker.allocate(key, excess) != excess) {
+            throw new IllegalStateException("Cannot line up lots with stock for product: " + key);
+        }
+    }
+
+    /**
+     * Write off expired lots of every lot-tracked product now, instead of
+     * waiting for each SKU to be touched again (ExpirySweeper calls this).
+     *
+     * @return units written off
+     */
+    public synchronized int writeOffExpiredLots() {
+        if (lotTracker == null) return 0;
+
+        int units = 0;
+        for (String key : lotTracker.getTrackedSkus()) {
+            Product p = inventory.findBySku(key);
+            if (p != null) units += expireLots(key, p);
+        }
+        return units;
+    }
+
+    private void fireStockChanged(Product p, int before, MovementReason reason, String orderId) {
+        if (p == null || listeners.isEmpty()) return;
+
+        int after = p.getQuantity();
+        if (after == before) return;
+        for (StockListener l : listeners) {
+            l.onStockChanged(p, before, after, reason, orderId);
+        }
+    }
+
+    /**
+     * Write off lots that expired, so they no longer count as stock.
+     */
+    private int expireLots(String key, Product p) {
+        if (lotTracker == null) return 0;
+
+        int expiredUnits = 0;
+        for (StockLot lot : lotTracker.removeExpired(key)) {
+            expiredUnits += lot.getQuantity();
+        }
+        if (expiredUnits > 0) {
+            int before = p.getQuantity();
+            p.setQuantity(Math.max(0, before - expiredUnits));
+            fireStockChanged(p, before, MovementReason.EXPIRY, null);
+        }
+        return expiredUnits;
     }
 
     @Override
-    public int getStock(String sku) {
+    public synchronized int getStock(String sku) {
         String key = normSku(sku);
         Product p = inventory.findBySku(key);
         if (p == null) {
             throw new IllegalStateException("Product not found in inventory: " + key);
         }
+        expireLots(key, p);
         return p.getQuantity();
     }
 
     @Override
-    public boolean hasProduct(String sku) {
+    public synchronized boolean hasProduct(String sku) {
         String key = normSku(sku);
         return inventory.hasProductBySku(key);
     }
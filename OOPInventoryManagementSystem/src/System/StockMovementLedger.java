@@ -0,0 +1,291 @@
+package System;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only history of stock movements, fed by StockManager
+ * (register it with {@link StockManager#addStockListener}).
+ *
+ * Rows are stored column-wise in primitive arrays: timestamp, SKU id,
+ * delta, resulting quantity, reason and order id (SKUs and order ids are
+ * dictionary-encoded). Timestamps never go backwards, so rows are in time
+ * order and a time range is a binary search on the timestamp column. Each
+ * SKU also keeps the row numbers of its own movements, so "movements of X
+ * between T1 and T2" and "stock of X at T" are a binary search in that
+ * SKU's rows, without looking at the rest of the history.
+ */
+public class StockMovementLedger implements StockListener {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_ORDER = -1;
+    private static final MovementReason[] REASONS = MovementReason.values();
+
+    private final Clock clock;
+
+    // Columns (row i of each array is one movement)
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private int[] skuIds = new int[INITIAL_CAPACITY];
+    private int[] deltas = new int[INITIAL_CAPACITY];
+    private int[] resulting = new int[INITIAL_CAPACITY];
+    private byte[] reasons = new byte[INITIAL_CAPACITY];
+    private int[] orderIds = new int[INITIAL_CAPACITY];
+    private int size;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    // Dictionaries and the per-SKU row index
+    private final Map<String, Integer> skuDictionary = new HashMap<>();
+    private final List<String> skus = new ArrayList<>();
+    private final List<RowList> rowsBySku = new ArrayList<>();
+    private final Map<String, Integer> orderDictionary = new HashMap<>();
+    private final List<String> orders = new ArrayList<>();
+
+    public StockMovementLedger() {
+        this(Clock.systemUTC());
+    }
+
+    public StockMovementLedger(Clock clock) {
+        if (clock == null) throw new IllegalArgumentException("Clock cannot be null");
+        this.clock = clock;
+    }
+
+    /* =========================
+       Recording
+       ========================= */
+
+    @Override
+    public void onStockChanged(Product product, int before, int after) {
+        record(product.getSku(), after - before, after, after < before ? MovementReason.ADJUSTMENT : MovementReason.RECEIPT, null);
+    }
+
+    @Override
+    public void onStockChanged(Product product, int before, int after, MovementReason reason, String orderId) {
+        record(product.getSku(), after - before, after, reason, orderId);
+    }
+
+    /**
+     * Append one movement, timestamped now.
+     */
+    public synchronized void record(String sku, int delta, int resultingQuantity, MovementReason reason, String orderId) {
+        if (sku == null || sku.isBlank()) throw new IllegalArgumentException("SKU cannot be null or empty");
+        if (reason == null) throw new IllegalArgumentException("Reason cannot be null");
+
+        // keep the timestamp column sorted even if the clock steps back
+        long now = Math.max(clock.millis(), lastTimestamp);
+        lastTimestamp = now;
+
+        if (size == timestamps.length) grow();
+        int skuId = skuId(normSku(sku));
+        timestamps[size] = now;
+        skuIds[size] = skuId;
+        deltas[size] = delta;
+        resulting[size] = resultingQuantity;
+        reasons[size] = (byte) reason.ordinal();
+        orderIds[size] = orderId(orderId);
+        rowsBySku.get(skuId).add(size);
+        size++;
+    }
+
+    private void grow() {
+        int capacity = timestamps.length * 2;
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        skuIds = Arrays.copyOf(skuIds, capacity);
+        deltas = Arrays.copyOf(deltas, capacity);
+        resulting = Arrays.copyOf(resulting, capacity);
+        reasons = Arrays.copyOf(reasons, capacity);
+        orderIds = Arrays.copyOf(orderIds, capacity);
+    }
+
+    private int skuId(String sku) {
+        Integer id = skuDictionary.get(sku);
+        if (id == null) {
+            id = skus.size();
+            skuDictionary.put(sku, id);
+            skus.add(sku);
+            rowsBySku.add(new RowList());
+        }
+        return id;
+    }
+
+    private int orderId(String orderId) {
+        if (orderId == null || orderId.isBlank()) return NO_ORDER;
+        String id = orderId.trim();
+        Integer code = orderDictionary.get(id);
+        if (code == null) {
+            code = orders.size();
+            orderDictionary.put(id, code);
+            orders.add(id);
+        }
+        return code;
+    }
+
+    private static String normSku(String sku) {
+        return (sku == null) ? "" : sku.trim().toUpperCase();
+    }
+
+    /* =========================
+       Queries
+       ========================= */
+
+    /**
+     * Movements of one SKU with fromMillis <= timestamp < toMillis, oldest first.
+     */
+    public synchronized List<Movement> getMovements(String sku, long fromMillis, long toMillis) {
+        RowList rows = rowsOf(sku);
+        List<Movement> result = new ArrayList<>();
+        if (rows == null) return result;
+
+        for (int i = rows.lowerBound(timestamps, fromMillis); i < rows.size; i++) {
+            int row = rows.rows[i];
+            if (timestamps[row] >= toMillis) break;
+            result.add(movement(row));
+        }
+        return result;
+    }
+
+    /**
+     * Movements of every SKU with fromMillis <= timestamp < toMillis, oldest first.
+     */
+    public synchronized List<Movement> getMovements(long fromMillis, long toMillis) {
+        List<Movement> result = new ArrayList<>();
+        for (int row = lowerBound(fromMillis); row < size && timestamps[row] < toMillis; row++) {
+            result.add(movement(row));
+        }
+        return result;
+    }
+
+    /**
+     * Stock level of a SKU at the given time, as recorded by the ledger.
+     * Before its first movement this is the quantity that movement started from.
+     *
+     * @return the quantity, or -1 if the ledger has no movement for the SKU
+     */
+    public synchronized int getQuantityAt(String sku, long atMillis) {
+        RowList rows = rowsOf(sku);
+        if (rows == null) return -1;
+
+        int i = rows.lowerBound(timestamps, atMillis + 1) - 1; // last row with timestamp <= at
+        if (i < 0) {
+            int first = rows.rows[0];
+            return resulting[first] - deltas[first];
+        }
+        return resulting[rows.rows[i]];
+    }
+
+    /**
+     * Net units moved per reason for one SKU in [fromMillis, toMillis)
+     * (negative = units left stock). Handy for shrinkage checks.
+     */
+    public synchronized Map<MovementReason, Long> getNetByReason(String sku, long fromMillis, long toMillis) {
+        Map<MovementReason, Long> result = new EnumMap<>(MovementReason.class);
+        RowList rows = rowsOf(sku);
+        if (rows == null) return result;
+
+        for (int i = rows.lowerBound(timestamps, fromMillis); i < rows.size; i++) {
+            int row = rows.rows[i];
+            if (timestamps[row] >= toMillis) break;
+            result.merge(REASONS[reasons[row]], (long) deltas[row], Long::sum);
+        }
+        return result;
+    }
+
+    /**
+     * Number of recorded movements.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized int getMovementCount(String sku) {
+        RowList rows = rowsOf(sku);
+        return (rows == null) ? 0 : rows.size;
+    }
+
+    private RowList rowsOf(String sku) {
+        Integer id = skuDictionary.get(normSku(sku));
+        return (id == null) ? null : rowsBySku.get(id);
+    }
+
+    // First row with timestamp >= t
+    private int lowerBound(long t) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (timestamps[mid] < t) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private Movement movement(int row) {
+        int order = orderIds[row];
+        return new Movement(skus.get(skuIds[row]), deltas[row], resulting[row], REASONS[reasons[row]],
+                (order == NO_ORDER) ? null : orders.get(order), timestamps[row]);
+    }
+
+    /**
+     * Growable list of row numbers (ascending, so also in time order).
+     */
+    private static final class RowList {
+        int[] rows = new int[4];
+        int size;
+
+        void add(int row) {
+            if (size == rows.length) rows = Arrays.copyOf(rows, size * 2);
+            rows[size++] = row;
+        }
+
+        // First position whose row has timestamp >= t
+        int lowerBound(long[] timestamps, long t) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (timestamps[rows[mid]] < t) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * One recorded movement.
+     */
+    public static final class Movement {
+        private final String sku;
+        private final int delta;
+        private final int resultingQuantity;
+        private final MovementReason reason;
+        private final String orderId;
+        private final long timestampMillis;
+
+        Movement(String sku, int delta, int resultingQuantity, MovementReason reason,
+                 String orderId, long timestampMillis) {
+            this.sku = sku;
+            this.delta = delta;
+            this.resultingQuantity = resultingQuantity;
+            this.reason = reason;
+            this.orderId = orderId;
+            this.timestampMillis = timestampMillis;
+        }
+
+        public String getSku() { return sku; }
+        public int getDelta() { return delta; }
+        public int getResultingQuantity() { return resultingQuantity; }
+        public MovementReason getReason() { return reason; }
+        public String getOrderId() { return orderId; }
+        public long getTimestampMillis() { return timestampMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("%s %+d -> %d (%s%s) at %d", sku, delta, resultingQuantity, reason,
+                    (orderId == null) ? "" : " " + orderId, timestampMillis);
+        }
+    }
+}
@@ -12,6 +12,13 @@ public interface StockOperations {
 
     void decreaseStock(String sku, int quantity);
 
+    /**
+     * Decrease stock for an order line, so the movement can be traced to the order.
+     */
+    default void decreaseStock(String sku, int quantity, String orderId) {
+        decreaseStock(sku, quantity);
+    }
+
     int getStock(String sku);
 
     boolean hasProduct(String sku);
@@ -2,7 +2,9 @@ package System;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Represents a supplier in the inventory system.
@@ -21,7 +23,7 @@ public class Supplier implements Storable {
     private String address;
     private double rating;                           // 0.0  5.0
     private boolean active;
-    private final List<String> suppliedProductSkus;  // Stored as normalized SKUs
+    private final Set<String> suppliedProductSkus;   // Stored as normalized SKUs, in link order
 
     // Constructors
 
@@ -41,7 +43,7 @@ public class Supplier implements Storable {
         }
 
         this.supplierCode = supplierCode.trim();
-        this.suppliedProductSkus = new ArrayList<>();
+        this.suppliedProductSkus = new LinkedHashSet<>();
 
         setName(name);
         setPhone(phone);
@@ -161,9 +163,7 @@ public class Supplier implements Storable {
         if (sku == null || sku.isBlank()) return;
 
         String normalized = normalizeSku(sku);
-        if (!suppliedProductSkus.contains(normalized)) {
-            suppliedProductSkus.add(normalized);
-        }
+        suppliedProductSkus.add(normalized);
     }
 
     /**
@@ -176,6 +176,14 @@ public class Supplier implements Storable {
         return suppliedProductSkus.remove(normalizeSku(sku));
     }
 
+    /**
+     * @return true if this supplier provides the given SKU
+     */
+    public boolean suppliesProduct(String sku) {
+        if (sku == null || sku.isBlank()) return false;
+        return suppliedProductSkus.contains(normalizeSku(sku));
+    }
+
     /**
      * Updates contact information.
      */